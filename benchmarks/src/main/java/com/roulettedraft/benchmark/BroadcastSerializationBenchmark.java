@@ -0,0 +1,105 @@
+package com.roulettedraft.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roulettedraft.config.ObjectMapperConfig;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.dto.RoomDto;
+import com.roulettedraft.dto.websocket.PickMadeEvent;
+import com.roulettedraft.dto.websocket.RoomUpdatedEvent;
+import com.roulettedraft.dto.websocket.TimerTickEvent;
+import com.roulettedraft.mapper.DtoMapper;
+import com.roulettedraft.websocket.EncodedFrame;
+import com.roulettedraft.websocket.FrameEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-event work of a broadcast in WebSocketService: serialize once with the application's
+ * ObjectMapper, wrap it in an {@link EncodedFrame} and hand one message per session of the room
+ * to the outbound buffers. Room size drives both the snapshot payload and the fan-out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BroadcastSerializationBenchmark {
+    @Param({"2", "5"})
+    int roomSize;
+
+    @Param({"JSON", "CBOR"})
+    FrameEncoding encoding;
+
+    private ObjectMapper objectMapper;
+    private PickMadeEvent pickMade;
+    private TimerTickEvent timerTick;
+    private RoomUpdatedEvent roomUpdated;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+
+        String roomId = "room-1";
+        pickMade = PickMadeEvent.builder()
+                .seq(42L)
+                .roomId(roomId)
+                .userId(Fixtures.userId(0))
+                .playerId("player-123")
+                .pickNo(17)
+                .currentPickIndex(17)
+                .nextUserId(Fixtures.userId(1))
+                .build();
+        timerTick = TimerTickEvent.builder()
+                .roomId(roomId)
+                .remainingSeconds(12)
+                .currentUserId(Fixtures.userId(0))
+                .build();
+
+        // Draft ortasındaki bir oda: her kadro yarı dolu
+        Room room = Fixtures.draftingRoom(roomId, roomSize);
+        List<RoomParticipant> participants = Fixtures.participants(roomId, roomSize, Fixtures.ROSTER_SIZE / 2);
+        RoomDto dto = DtoMapper.INSTANCE.toRoomDto(room);
+        dto.setParticipants(DtoMapper.INSTANCE.toRoomParticipantDtoList(participants));
+        roomUpdated = RoomUpdatedEvent.builder()
+                .seq(42L)
+                .room(dto)
+                .build();
+    }
+
+    @Benchmark
+    public void pickMade(Blackhole bh) throws Exception {
+        broadcast(pickMade, bh);
+    }
+
+    @Benchmark
+    public void timerTick(Blackhole bh) throws Exception {
+        broadcast(timerTick, bh);
+    }
+
+    @Benchmark
+    public void roomUpdated(Blackhole bh) throws Exception {
+        broadcast(roomUpdated, bh);
+    }
+
+    private void broadcast(Object event, Blackhole bh) throws Exception {
+        EncodedFrame frame = new EncodedFrame(event.getClass().getSimpleName(), objectMapper.writeValueAsString(event));
+        for (int i = 0; i < roomSize; i++) {
+            bh.consume(frame.messageFor(encoding));
+        }
+    }
+}
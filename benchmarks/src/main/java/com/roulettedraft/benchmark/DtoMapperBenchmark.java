@@ -0,0 +1,64 @@
+package com.roulettedraft.benchmark;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.dto.RoomDto;
+import com.roulettedraft.dto.RoomParticipantDto;
+import com.roulettedraft.mapper.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// MapStruct'ın ürettiği room/participant mapping'i
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMapperBenchmark {
+    @Param({"2", "5"})
+    int roomSize;
+
+    @Param({"0", "11"})
+    int picksEach;
+
+    private final DtoMapper mapper = DtoMapper.INSTANCE;
+    private Room room;
+    private List<RoomParticipant> participants;
+
+    @Setup
+    public void setUp() {
+        room = Fixtures.draftingRoom("room-1", roomSize);
+        participants = Fixtures.participants("room-1", roomSize, picksEach);
+    }
+
+    @Benchmark
+    public RoomDto room() {
+        return mapper.toRoomDto(room);
+    }
+
+    @Benchmark
+    public List<RoomParticipantDto> participants() {
+        return mapper.toRoomParticipantDtoList(participants);
+    }
+
+    // RoomService'in snapshot için yaptığı: oda + katılımcılar
+    @Benchmark
+    public RoomDto roomWithParticipants() {
+        RoomDto dto = mapper.toRoomDto(room);
+        dto.setParticipants(mapper.toRoomParticipantDtoList(participants));
+        return dto;
+    }
+}
@@ -0,0 +1,95 @@
+package com.roulettedraft.benchmark;
+
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.domain.model.RoomStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministik test verisi: aynı parametrelerle her çalıştırmada aynı oda ve oyuncu havuzu
+final class Fixtures {
+    static final int PLAYERS_PER_TEAM = 25;
+    static final int ROSTER_SIZE = 11;
+    static final String FORMATION = "4-3-3";
+
+    // Gerçek veritabanındaki karışık uzun/kısa pozisyon isimleri
+    private static final String[] POSITIONS = {
+            "Goalkeeper", "Centre-Back", "Centre-Back", "Left-Back", "Right-Back",
+            "Defensive Midfield", "Central Midfield", "Attacking Midfield",
+            "Left Winger", "Right Winger", "Centre-Forward", "CB", "CM", "ST", "LWB"
+    };
+
+    private Fixtures() {
+    }
+
+    static List<Player> players(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(Player.builder()
+                    .id("player-" + i)
+                    .team(teamOf(i))
+                    .name("Player " + i)
+                    .position(POSITIONS[random.nextInt(POSITIONS.length)])
+                    .nationality("Nation " + random.nextInt(40))
+                    .marketValue("€" + random.nextInt(1, 90) + "m")
+                    .league("league-" + (i / (PLAYERS_PER_TEAM * 18)))
+                    .build());
+        }
+        return players;
+    }
+
+    static String teamOf(int playerIndex) {
+        return "Team " + playerIndex / PLAYERS_PER_TEAM;
+    }
+
+    static int teamCount(int playerCount) {
+        return (playerCount + PLAYERS_PER_TEAM - 1) / PLAYERS_PER_TEAM;
+    }
+
+    static Room draftingRoom(String roomId, int participants) {
+        List<String> pickOrder = new ArrayList<>();
+        for (int i = 0; i < participants; i++) {
+            pickOrder.add(userId(i));
+        }
+        return Room.builder()
+                .id(roomId)
+                .name("Benchmark room")
+                .status(RoomStatus.DRAFTING)
+                .formation(FORMATION)
+                .maxParticipants(5)
+                .pickOrder(pickOrder)
+                .currentPickIndex(0)
+                .version(0L)
+                .build();
+    }
+
+    // picksEach: her katılımcının kadrosunda hazır bulunan oyuncu sayısı
+    static List<RoomParticipant> participants(String roomId, int participants, int picksEach) {
+        List<RoomParticipant> result = new ArrayList<>(participants);
+        int playerNo = 0;
+        for (int i = 0; i < participants; i++) {
+            List<String> roster = new ArrayList<>();
+            for (int p = 0; p < picksEach; p++) {
+                roster.add("player-" + playerNo++);
+            }
+            result.add(RoomParticipant.builder()
+                    .id(roomId + "-participant-" + i)
+                    .roomId(roomId)
+                    .userId(userId(i))
+                    .displayName("User " + i)
+                    .selectedPlayerIds(roster)
+                    .selectedTeams(new ArrayList<>(List.of("Team " + i, "Team " + (i + 1))))
+                    .rosterSizeLimit(ROSTER_SIZE)
+                    .build());
+        }
+        return result;
+    }
+
+    static String userId(int index) {
+        return "user-" + index;
+    }
+}
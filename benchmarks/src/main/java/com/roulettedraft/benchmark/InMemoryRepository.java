@@ -0,0 +1,48 @@
+package com.roulettedraft.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stand-in for a Spring Data repository interface: only the methods a benchmark registers
+ * are implemented, everything else throws. Keeps MongoDB out of the measured code paths.
+ */
+final class InMemoryRepository<R> {
+    private final Class<R> type;
+    private final Map<String, Function<Object[], Object>> methods = new HashMap<>();
+
+    private InMemoryRepository(Class<R> type) {
+        this.type = type;
+    }
+
+    static <R> InMemoryRepository<R> of(Class<R> type) {
+        return new InMemoryRepository<>(type);
+    }
+
+    InMemoryRepository<R> on(String methodName, Function<Object[], Object> body) {
+        methods.put(methodName, body);
+        return this;
+    }
+
+    R build() {
+        InvocationHandler handler = this::invoke;
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args) {
+        Function<Object[], Object> body = methods.get(method.getName());
+        if (body != null) {
+            return body.apply(args);
+        }
+        return switch (method.getName()) {
+            case "toString" -> "InMemory" + type.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.roulettedraft.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roulettedraft.bus.InProcessRoomEventBus;
+import com.roulettedraft.config.ObjectMapperConfig;
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.repository.PlayerRepository;
+import com.roulettedraft.repository.RoomParticipantRepository;
+import com.roulettedraft.repository.RoomRepository;
+import com.roulettedraft.service.AutoPickSelector;
+import com.roulettedraft.service.DraftEngine;
+import com.roulettedraft.service.DraftPickWriter;
+import com.roulettedraft.service.DraftService;
+import com.roulettedraft.service.PickRecord;
+import com.roulettedraft.service.PlayerCatalog;
+import com.roulettedraft.service.RoomCommandExecutor;
+import com.roulettedraft.service.RoomSnapshotCache;
+import com.roulettedraft.service.TimerService;
+import com.roulettedraft.service.WebSocketService;
+import com.roulettedraft.store.CollectionRoomStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A complete draft through {@link DraftService#makePick}: every participant picks until all
+ * rosters are full. The real engine, room lanes, timer and broadcast path run; MongoDB is
+ * replaced by in-memory repositories and a pick writer that acknowledges immediately, so the
+ * score is the server-side cost of the draft without database latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MakePickBenchmark {
+    private static final String ROOM_ID = "room-1";
+
+    @Param({"2", "5"})
+    int roomSize;
+
+    private Map<String, Player> playersById;
+    private Room room;
+    private List<RoomParticipant> participants;
+
+    private RoomCommandExecutor roomCommands;
+    private DraftPickWriter pickWriter;
+    private WebSocketService webSocketService;
+    private TimerService timerService;
+    private DraftEngine draftEngine;
+    private DraftService draftService;
+
+    @Setup
+    public void setUp() {
+        playersById = Fixtures.players(roomSize * Fixtures.ROSTER_SIZE).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        room = Fixtures.draftingRoom(ROOM_ID, roomSize);
+        participants = Fixtures.participants(ROOM_ID, roomSize, 0);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RoomRepository rooms = InMemoryRepository.of(RoomRepository.class)
+                .on("findById", args -> Optional.of(room))
+                .build();
+        RoomParticipantRepository roomParticipants = InMemoryRepository.of(RoomParticipantRepository.class)
+                .on("findByRoomId", args -> participants)
+                .build();
+        PlayerRepository players = InMemoryRepository.of(PlayerRepository.class)
+                .on("existsById", args -> playersById.containsKey((String) args[0]))
+                .build();
+        PlayerCatalog catalog = new PlayerCatalog(null, null) {
+            @Override
+            public Optional<Player> findById(String id) {
+                return Optional.ofNullable(playersById.get(id));
+            }
+        };
+        pickWriter = new DraftPickWriter(null, 1, 1, 1) {
+            @Override
+            public CompletableFuture<Void> append(PickRecord record) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public void advanceTurn(String roomId, String userId, Integer rosterSizeLimit,
+                                    int nextPickIndex, boolean draftComplete) {
+            }
+        };
+
+        roomCommands = new RoomCommandExecutor(meterRegistry, true, 0);
+        ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+        webSocketService = new WebSocketService(objectMapper,
+                new InProcessRoomEventBus(), roomCommands, meterRegistry, 0, 0, 524288, 5000, 256, 600000);
+        timerService = new TimerService(webSocketService, event -> { }, meterRegistry, 30, 20, 1, false);
+        draftEngine = new DraftEngine(new CollectionRoomStore(rooms, roomParticipants, null), roomCommands);
+        draftService = new DraftService(players, catalog, draftEngine, pickWriter,
+                webSocketService, timerService, new AutoPickSelector(catalog),
+                new RoomSnapshotCache(objectMapper, meterRegistry, 1000, 30), meterRegistry);
+    }
+
+    @Benchmark
+    public void fullDraft() {
+        draftEngine.prime(room, participants);
+        int picks = roomSize * Fixtures.ROSTER_SIZE;
+        for (int i = 0; i < picks; i++) {
+            draftService.makePick(ROOM_ID, Fixtures.userId(i % roomSize), "player-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        timerService.shutdown();
+        webSocketService.shutdown();
+        roomCommands.shutdown();
+        pickWriter.shutdown();
+    }
+}
@@ -0,0 +1,141 @@
+package com.roulettedraft.benchmark;
+
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.dto.RandomFillRequest;
+import com.roulettedraft.dto.RandomFillResponse;
+import com.roulettedraft.service.MarketValue;
+import com.roulettedraft.service.PlayerCatalog;
+import com.roulettedraft.service.PositionRules;
+import com.roulettedraft.service.RandomFillMode;
+import com.roulettedraft.service.RandomFillService;
+import com.roulettedraft.service.TeamPoolCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Random fill over a pool of {@code poolSize} players spread across teams of 25, with players
+ * served from a warm team pool cache instead of MongoDB. A {@code budget} of 0 fills without a
+ * budget; otherwise every squad gets that many euros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomFillBenchmark {
+    @Param({"100", "1000", "10000"})
+    int poolSize;
+
+    @Param({"1", "5"})
+    int squads;
+
+    @Param({"RANDOM", "OPTIMAL"})
+    RandomFillMode mode;
+
+    @Param({"0", "150000000"})
+    long budget;
+
+    private RandomFillService randomFillService;
+    private RandomFillRequest request;
+    private List<Player> pool;
+    private List<String> slots;
+    private String[] normalizedPositions;
+
+    @Setup
+    public void setUp() {
+        pool = Fixtures.players(poolSize);
+        Map<String, List<Player>> byTeam = pool.stream().collect(Collectors.groupingBy(Player::getTeam));
+        // Sıcak cache: tüm takımların havuzu bellekte
+        TeamPoolCache teamPools = new TeamPoolCache(null, new SimpleMeterRegistry(), 256) {
+            @Override
+            public Map<String, List<Player>> poolsFor(List<String> teams) {
+                Map<String, List<Player>> result = new LinkedHashMap<>();
+                teams.forEach(team -> result.put(team, byTeam.getOrDefault(team, List.of())));
+                return result;
+            }
+        };
+        // Piyasa değerleri catalog yüklemesindeki gibi önceden parse edilir
+        Map<String, Long> values = pool.stream()
+                .collect(Collectors.toMap(Player::getId, p -> MarketValue.toCents(p.getMarketValue())));
+        PlayerCatalog catalog = new PlayerCatalog(null, null) {
+            @Override
+            public long marketValueCents(String playerId) {
+                return values.getOrDefault(playerId, MarketValue.UNKNOWN);
+            }
+
+            @Override
+            public long totalMarketValueCents(Collection<String> playerIds) {
+                return playerIds.stream().mapToLong(this::marketValueCents).sum();
+            }
+        };
+        randomFillService = new RandomFillService(teamPools, catalog, 20);
+
+        List<RandomFillRequest.SquadConfig> configs = new ArrayList<>();
+        for (int i = 0; i < squads; i++) {
+            configs.add(RandomFillRequest.SquadConfig.builder()
+                    .id("squad-" + i)
+                    .name("Squad " + i)
+                    .formation(Fixtures.FORMATION)
+                    .budget(budget > 0 ? budget : null)
+                    .build());
+        }
+        request = RandomFillRequest.builder()
+                .selectedTeams(new ArrayList<>(byTeam.keySet()))
+                .squads(configs)
+                .build();
+        slots = PositionRules.slotsFor(Fixtures.FORMATION);
+        normalizedPositions = pool.stream().map(p -> PositionRules.normalize(p.getPosition())).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public RandomFillResponse randomFillSquads() {
+        return randomFillService.randomFillSquads(request, mode, 42L);
+    }
+
+    // Her slot için havuzun tamamı taranır (random fill'in iç döngüsü)
+    @Benchmark
+    public int positionMatches() {
+        int matches = 0;
+        for (String slot : slots) {
+            for (Player player : pool) {
+                if (PositionRules.positionMatches(slot, player.getPosition())) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Aynı tarama, önceden hesaplanmış slot tablosu üzerinden
+    @Benchmark
+    public int slotAccepts() {
+        int matches = 0;
+        for (String slot : slots) {
+            for (String position : normalizedPositions) {
+                if (PositionRules.slotAccepts(slot, position)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,190 @@
+package com.roulettedraft.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One simulated participant: a WebSocket subscribed to its room that picks the first player
+ * nobody in the room has taken yet whenever the turn comes to it, after the think time.
+ * Pick latency is measured from sending PICK_PLAYER to receiving the matching PICK_MADE.
+ */
+final class DraftClient implements WebSocket.Listener {
+    private final ObjectMapper objectMapper;
+    private final String roomId;
+    private final String userId;
+    private final List<String> playerPool;
+    private final ScheduledExecutorService scheduler;
+    private final long thinkMillis;
+    private final LatencyRecorder latencies;
+    private final AtomicInteger errors;
+    private final CountDownLatch draftsDone;
+
+    private final Set<String> picked = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch subscribed = new CountDownLatch(1);
+    private final AtomicInteger lastScheduledTurn = new AtomicInteger(-1);
+    private final AtomicLong pickSentAt = new AtomicLong(); // 0: bekleyen pick yok
+    private final AtomicReference<String> pendingPlayer = new AtomicReference<>();
+    private final StringBuilder partial = new StringBuilder();
+    private final AtomicBoolean done = new AtomicBoolean();
+    private WebSocket webSocket;
+
+    DraftClient(ObjectMapper objectMapper, String roomId, String userId, List<String> playerPool,
+                ScheduledExecutorService scheduler, long thinkMillis, LatencyRecorder latencies,
+                AtomicInteger errors, CountDownLatch draftsDone) {
+        this.objectMapper = objectMapper;
+        this.roomId = roomId;
+        this.userId = userId;
+        this.playerPool = playerPool;
+        this.scheduler = scheduler;
+        this.thinkMillis = thinkMillis;
+        this.latencies = latencies;
+        this.errors = errors;
+        this.draftsDone = draftsDone;
+    }
+
+    // Bağlan, odaya abone ol ve ilk snapshot'ı bekle
+    void connect(HttpClient http, URI wsUri, long timeoutSeconds) throws Exception {
+        webSocket = http.newWebSocketBuilder().buildAsync(wsUri, this).get(timeoutSeconds, TimeUnit.SECONDS);
+        ObjectNode subscribe = objectMapper.createObjectNode()
+                .put("type", "SUBSCRIBE_ROOM")
+                .put("roomId", roomId)
+                .put("userId", userId);
+        send(subscribe);
+        if (!subscribed.await(timeoutSeconds, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("No snapshot for " + userId + " in room " + roomId);
+        }
+    }
+
+    void close() {
+        if (webSocket != null) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+        partial.append(data);
+        if (last) {
+            String text = partial.toString();
+            partial.setLength(0);
+            try {
+                handle(objectMapper.readTree(text));
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+        ws.request(1);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket ws, Throwable error) {
+        errors.incrementAndGet();
+        finish();
+    }
+
+    private void handle(JsonNode event) {
+        switch (event.path("type").asText()) {
+            case "ROOM_UPDATED" -> {
+                event.path("room").path("participants").forEach(p ->
+                        p.path("selectedPlayerIds").forEach(id -> picked.add(id.asText())));
+                subscribed.countDown();
+            }
+            case "STATUS_CHANGED" -> {
+                String status = event.path("status").asText();
+                if ("DONE".equals(status)) {
+                    finish();
+                } else if ("DRAFTING".equals(status)) {
+                    JsonNode order = event.path("pickOrder");
+                    int index = event.path("currentPickIndex").asInt();
+                    if (order.size() > 0 && userId.equals(order.get(index % order.size()).asText())) {
+                        scheduleTurn(index);
+                    }
+                }
+            }
+            case "PICK_MADE" -> {
+                String playerId = event.path("playerId").asText();
+                picked.add(playerId);
+                long sentAt = pickSentAt.get();
+                if (userId.equals(event.path("userId").asText()) && playerId.equals(pendingPlayer.get())
+                        && sentAt != 0 && pickSentAt.compareAndSet(sentAt, 0)) {
+                    latencies.record(System.nanoTime() - sentAt);
+                }
+                if (userId.equals(event.path("nextUserId").asText(null))) {
+                    scheduleTurn(event.path("currentPickIndex").asInt());
+                }
+            }
+            case "TURN_SKIPPED" -> {
+                if (userId.equals(event.path("nextUserId").asText(null))) {
+                    scheduleTurn(event.path("currentPickIndex").asInt());
+                }
+            }
+            case "ERROR" -> {
+                // Bu client'ın pick'i reddedildi; sıra pick timer'ı ile ilerler
+                if (pickSentAt.getAndSet(0) != 0) {
+                    errors.incrementAndGet();
+                }
+            }
+            default -> {
+                // PICK_DEADLINE, PARTICIPANT_JOINED, ... ölçüme katılmaz
+            }
+        }
+    }
+
+    // Her tur için bir kez; aynı turu hem STATUS_CHANGED hem PICK_MADE tetikleyebilir
+    private void scheduleTurn(int turnIndex) {
+        int previous = lastScheduledTurn.get();
+        if (done.get() || turnIndex <= previous || !lastScheduledTurn.compareAndSet(previous, turnIndex)) {
+            return;
+        }
+        scheduler.schedule(this::pick, thinkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void pick() {
+        String playerId = playerPool.stream().filter(id -> !picked.contains(id)).findFirst().orElse(null);
+        if (playerId == null || done.get()) {
+            return;
+        }
+        pendingPlayer.set(playerId);
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("type", "PICK_PLAYER")
+                .put("roomId", roomId)
+                .put("userId", userId)
+                .put("playerId", playerId);
+        pickSentAt.set(System.nanoTime());
+        send(request);
+    }
+
+    // JDK WebSocket aynı anda tek gönderime izin verir
+    private synchronized void send(JsonNode message) {
+        try {
+            CompletableFuture<WebSocket> sent = webSocket.sendText(objectMapper.writeValueAsString(message), true);
+            sent.join();
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private void finish() {
+        if (done.compareAndSet(false, true)) {
+            draftsDone.countDown();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.roulettedraft.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps every sample; a run produces at most rooms × clients × roster values, so exact
+ * percentiles from a sorted copy are cheap.
+ */
+final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    // Mikrosaniye cinsinden özet
+    synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("p50Us", percentile(sorted, 0.50));
+        summary.put("p99Us", percentile(sorted, 0.99));
+        summary.put("p999Us", percentile(sorted, 0.999));
+        summary.put("maxUs", count > 0 ? sorted[count - 1] / 1_000 : 0);
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000;
+    }
+}
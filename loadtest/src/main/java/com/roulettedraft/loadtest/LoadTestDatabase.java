@@ -0,0 +1,83 @@
+package com.roulettedraft.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MongoDB for a run: an in-memory wire-protocol server on the loopback interface, or an
+ * existing database given by URI. Players are upserted with fixed ids, so seeding an
+ * external database twice does not duplicate them.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+    private static final String DATABASE = "roulette-loadtest";
+    private static final String PLAYER_COLLECTION = "roulette-draft"; // Player entity'sinin collection'ı
+    private static final String[] POSITIONS = {
+            "Goalkeeper", "Centre-Back", "Centre-Back", "Left-Back", "Right-Back",
+            "Defensive Midfield", "Central Midfield", "Attacking Midfield",
+            "Left Winger", "Right Winger", "Centre-Forward"
+    };
+    private static final int PLAYERS_PER_TEAM = 25;
+
+    private final MongoServer server;
+    private final String uri;
+
+    private LoadTestDatabase(MongoServer server, String uri) {
+        this.server = server;
+        this.uri = uri;
+    }
+
+    static LoadTestDatabase inMemory() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        return new LoadTestDatabase(server, server.bindAndGetConnectionString() + "/" + DATABASE);
+    }
+
+    static LoadTestDatabase external(String uri) {
+        return new LoadTestDatabase(null, uri);
+    }
+
+    String uri() {
+        return uri;
+    }
+
+    // Uygulama başlamadan önce: catalog ilk yüklemede oyuncuları görsün
+    List<String> seedPlayers(int count) {
+        String database = new ConnectionString(uri).getDatabase();
+        List<String> ids = new ArrayList<>(count);
+        List<WriteModel<Document>> writes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = "lt-player-" + i;
+            ids.add(id);
+            writes.add(new ReplaceOneModel<>(new Document("_id", id), new Document("_id", id)
+                    .append("team", "LT Team " + i / PLAYERS_PER_TEAM)
+                    .append("name", "Load Test Player " + i)
+                    .append("position", POSITIONS[i % POSITIONS.length])
+                    .append("nationality", "Nation " + i % 40)
+                    .append("market_value", "€" + (1 + i % 90) + "m")
+                    .append("league", "loadtest"), new ReplaceOptions().upsert(true)));
+        }
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoCollection<Document> players = client.getDatabase(database != null ? database : "test")
+                    .getCollection(PLAYER_COLLECTION);
+            players.bulkWrite(writes);
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.roulettedraft.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of loadtest.jar, given as {@code --name=value}. Unknown options are rejected so
+ * a typo does not silently run with defaults.
+ */
+final class LoadTestOptions {
+    int rooms = 10;
+    int clients = 4;               // Oda başına katılımcı / WebSocket client (2-5)
+    int roster = 11;
+    long thinkMillis = 50;         // Sırası gelen client'ın pick göndermeden önce beklediği süre
+    int players = 500;
+    String formation = "4-3-3";
+    int pickTimeoutSeconds = 30;
+    long timeoutSeconds = 600;     // Tüm draft'ların bitmesi için üst sınır
+    String mongoUri;               // Verilmezse in-memory MongoDB
+    String storageLayout = "collections"; // draft.storage.layout: collections veya embedded
+    String profile = "";           // spring.profiles.active, örn. reactive (WebFlux)
+    String out = "loadtest-result.json";
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "rooms" -> options.rooms = Integer.parseInt(value);
+                case "clients" -> options.clients = Integer.parseInt(value);
+                case "roster" -> options.roster = Integer.parseInt(value);
+                case "think-ms" -> options.thinkMillis = Long.parseLong(value);
+                case "players" -> options.players = Integer.parseInt(value);
+                case "formation" -> options.formation = value;
+                case "pick-timeout-seconds" -> options.pickTimeoutSeconds = Integer.parseInt(value);
+                case "timeout-seconds" -> options.timeoutSeconds = Long.parseLong(value);
+                case "storage-layout" -> options.storageLayout = value;
+                case "profile" -> options.profile = value;
+                case "mongo-uri" -> options.mongoUri = value.isEmpty() ? null : value;
+                case "out" -> options.out = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (options.clients < 2 || options.clients > 5) {
+            throw new IllegalArgumentException("--clients must be between 2 and 5 (room size)");
+        }
+        if (!options.storageLayout.equals("collections") && !options.storageLayout.equals("embedded")) {
+            throw new IllegalArgumentException("--storage-layout must be collections or embedded");
+        }
+        if (options.rooms < 1 || options.roster < 1) {
+            throw new IllegalArgumentException("--rooms and --roster must be positive");
+        }
+        // Her odanın tüm pick'leri için yeterli oyuncu olsun
+        options.players = Math.max(options.players, options.clients * options.roster * 2);
+        return options;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("rooms", rooms);
+        map.put("clients", clients);
+        map.put("roster", roster);
+        map.put("thinkMs", thinkMillis);
+        map.put("players", players);
+        map.put("formation", formation);
+        map.put("pickTimeoutSeconds", pickTimeoutSeconds);
+        map.put("storageLayout", storageLayout);
+        map.put("profile", profile.isEmpty() ? "default" : profile);
+        map.put("mongo", mongoUri != null ? "external" : "in-memory");
+        return map;
+    }
+}
@@ -0,0 +1,150 @@
+package com.roulettedraft.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roulettedraft.RouletteDraftApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entry point of loadtest.jar. Starts the backend in this JVM against an in-memory MongoDB
+ * (or {@code --mongo-uri}), creates {@code --rooms} rooms through the REST API, connects
+ * {@code --clients} WebSocket clients per room to {@code /ws} and plays every draft to the
+ * end. Everything runs on the loopback interface; no network access is needed.
+ */
+public final class LoadTestRunner {
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        try (LoadTestDatabase database = options.mongoUri != null
+                ? LoadTestDatabase.external(options.mongoUri)
+                : LoadTestDatabase.inMemory()) {
+            List<String> players = database.seedPlayers(options.players);
+            log.info("Seeded {} players into {}", players.size(), database.uri());
+
+            ConfigurableApplicationContext app = startBackend(database.uri(), options);
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            try {
+                Map<String, Object> result = run(options, players, port, objectMapper);
+                objectMapper.writeValue(new File(options.out), result);
+                log.info("Result written to {}", options.out);
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    // Komut satırı argümanları application.yml'deki değerleri ezer
+    private static ConfigurableApplicationContext startBackend(String mongoUri, LoadTestOptions options) {
+        return new SpringApplicationBuilder(RouletteDraftApplication.class).run(
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.roulettedraft=WARN",
+                "--draft.catalog.change-stream-enabled=false",
+                "--draft.storage.layout=" + options.storageLayout,
+                "--spring.profiles.active=" + options.profile,
+                "--draft.timer.pick-timeout-seconds=" + options.pickTimeoutSeconds);
+    }
+
+    private static Map<String, Object> run(LoadTestOptions options, List<String> players, int port,
+                                           ObjectMapper objectMapper) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        URI base = URI.create("http://127.0.0.1:" + port);
+        URI ws = URI.create("ws://127.0.0.1:" + port + "/ws");
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        LatencyRecorder latencies = new LatencyRecorder();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch draftsDone = new CountDownLatch(options.rooms * options.clients);
+        List<DraftClient> clients = new ArrayList<>();
+        List<String> roomIds = new ArrayList<>();
+
+        try {
+            // 1. Odaları kur, katılımcıları ekle, client'ları bağla
+            for (int r = 0; r < options.rooms; r++) {
+                JsonNode room = post(http, base, "/api/rooms", Map.of(
+                        "name", "Load test room " + r,
+                        "formation", options.formation,
+                        "maxParticipants", options.clients), objectMapper);
+                String roomId = room.path("id").asText();
+                roomIds.add(roomId);
+                for (int c = 0; c < options.clients; c++) {
+                    String userId = "lt-user-" + r + "-" + c;
+                    post(http, base, "/api/rooms/" + roomId + "/join", Map.of(
+                            "userId", userId,
+                            "displayName", "Load Test User " + c,
+                            "rosterSizeLimit", options.roster), objectMapper);
+                    DraftClient client = new DraftClient(objectMapper, roomId, userId, players, scheduler,
+                            options.thinkMillis, latencies, errors, draftsDone);
+                    client.connect(http, ws, 30);
+                    clients.add(client);
+                }
+            }
+            log.info("{} rooms with {} clients each are ready", options.rooms, options.clients);
+
+            // 2. Tüm draft'ları başlat ve bitmelerini bekle
+            long start = System.nanoTime();
+            for (String roomId : roomIds) {
+                post(http, base, "/api/rooms/" + roomId + "/start", Map.of(), objectMapper);
+            }
+            boolean completed = draftsDone.await(options.timeoutSeconds, TimeUnit.SECONDS);
+            long elapsedNanos = System.nanoTime() - start;
+            if (!completed) {
+                log.warn("Timed out after {}s with {} clients still drafting", options.timeoutSeconds, draftsDone.getCount());
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("options", options.toMap());
+            result.put("completed", completed);
+            result.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.put("picks", latencies.count());
+            result.put("picksPerSecond", latencies.count() / Math.max(1e-9, elapsedNanos / 1e9));
+            result.put("errors", errors.get());
+            result.put("pickLatency", latencies.summary());
+            log.info("Load test finished: {}", result);
+            return result;
+        } finally {
+            clients.forEach(DraftClient::close);
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static JsonNode post(HttpClient http, URI base, String path, Map<String, Object> body,
+                                 ObjectMapper objectMapper) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
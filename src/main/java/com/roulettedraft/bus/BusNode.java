@@ -0,0 +1,19 @@
+package com.roulettedraft.bus;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+// Bu instance'ın bus üzerindeki kimliği
+@Component
+@Getter
+public class BusNode {
+    private final String id;
+
+    public BusNode(@Value("${draft.event-bus.node-id:}") String configuredId) {
+        this.id = StringUtils.hasText(configuredId) ? configuredId : UUID.randomUUID().toString();
+    }
+}
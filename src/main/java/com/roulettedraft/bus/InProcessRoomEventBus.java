@@ -0,0 +1,32 @@
+package com.roulettedraft.bus;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Tek node: mesaj doğrudan yerel dinleyicilere verilir
+@Component
+@ConditionalOnProperty(name = "draft.event-bus.type", havingValue = "in-process", matchIfMissing = true)
+@Slf4j
+public class InProcessRoomEventBus implements RoomEventBus {
+    private final List<Consumer<RoomBusMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(RoomBusMessage message) {
+        LocalDelivery.deliver(subscribers, message);
+    }
+
+    @Override
+    public void subscribe(Consumer<RoomBusMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.roulettedraft.bus;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+final class LocalDelivery {
+
+    private LocalDelivery() {
+    }
+
+    // Bir dinleyicinin hatası diğerlerini etkilemesin
+    static void deliver(List<Consumer<RoomBusMessage>> subscribers, RoomBusMessage message) {
+        for (Consumer<RoomBusMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.error("[room:{}] Bus subscriber failed for {}", message.getRoomId(), message.getType(), e);
+            }
+        }
+    }
+}
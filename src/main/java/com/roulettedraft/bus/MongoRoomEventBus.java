@@ -0,0 +1,310 @@
+package com.roulettedraft.bus;
+
+import com.mongodb.CursorType;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Room events through a capped MongoDB collection. Every node inserts the events it publishes
+ * and tails the collection with a tailable-await cursor, so it needs no replica set (unlike
+ * change streams) and old events age out by themselves.
+ *
+ * Publishing never touches MongoDB: events go to a bounded queue ({@code
+ * draft.event-bus.mongo.queue-capacity}) drained in batches by a single writer thread. When the
+ * queue is full, or a batch cannot be written, events are dropped and counted in {@code
+ * draft.bus.mongo.dropped}; receivers notice the sequence gap and fall back to a snapshot.
+ *
+ * {@code _id}s are generated by each node and are not ordered across nodes, so a reopened
+ * cursor resumes from the last delivered {@code ts} minus {@code resume-overlap-ms} (which also
+ * covers clock skew between nodes) and skips what it already delivered: sequenced events by
+ * (roomId, epoch, seq), the rest by {@code _id}.
+ */
+@Component
+@ConditionalOnProperty(name = "draft.event-bus.type", havingValue = "mongo")
+@Slf4j
+public class MongoRoomEventBus implements RoomEventBus {
+    private static final int MAX_BATCH = 500;
+    private static final long MIN_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 5000;
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final BusNode node;
+    private final String collectionName;
+    private final long cappedSizeBytes;
+    private final long resumeOverlapMs;
+    private final BlockingQueue<Document> queue;
+    private final Counter dropped;
+    private final Thread writer;
+    private final List<Consumer<RoomBusMessage>> subscribers = new CopyOnWriteArrayList<>();
+    // Tail thread'inin durumu: son teslim edilenler (tekrar okunan pencerede atlanır)
+    private final Map<String, Delivered> deliveredSeqs = new HashMap<>();
+    private final Map<ObjectId, Long> deliveredIds = new HashMap<>();
+    private long lastTs;
+    private long delivered;
+    private long droppedSinceLastLog; // drop ile korunur
+    private volatile boolean running = true;
+    private volatile MongoCollection<Document> collection;
+
+    public MongoRoomEventBus(MongoTemplate mongoTemplate,
+                             BusNode node,
+                             MeterRegistry meterRegistry,
+                             @Value("${draft.event-bus.mongo.collection:room_events}") String collectionName,
+                             @Value("${draft.event-bus.mongo.capped-size-bytes:67108864}") long cappedSizeBytes,
+                             @Value("${draft.event-bus.mongo.queue-capacity:10000}") int queueCapacity,
+                             @Value("${draft.event-bus.mongo.resume-overlap-ms:5000}") long resumeOverlapMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.node = node;
+        this.collectionName = collectionName;
+        this.cappedSizeBytes = cappedSizeBytes;
+        this.resumeOverlapMs = Math.max(0, resumeOverlapMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.dropped = Counter.builder("draft.bus.mongo.dropped")
+                .description("Bus events dropped because the publish queue was full or the insert failed")
+                .register(meterRegistry);
+        Gauge.builder("draft.bus.mongo.queued", queue, BlockingQueue::size)
+                .description("Bus events waiting to be inserted into the capped collection")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "room-event-bus-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @Override
+    public void publish(RoomBusMessage message) {
+        message.setOrigin(node.getId());
+        Document doc = new Document("roomId", message.getRoomId())
+                .append("type", message.getType())
+                .append("seq", message.getSeq())
+                .append("epoch", message.getEpoch())
+                .append("payload", message.getPayload())
+                .append("origin", message.getOrigin())
+                .append("ts", new Date());
+        if (!queue.offer(doc)) {
+            drop(1, "queue full");
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<RoomBusMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        collection();
+        writer.start();
+        Thread thread = new Thread(this::tail, "room-event-bus-tail");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Room event bus tailing capped collection '{}' as node {}", collectionName, node.getId());
+    }
+
+    private MongoCollection<Document> collection() {
+        MongoCollection<Document> current = collection;
+        if (current == null) {
+            synchronized (this) {
+                if (collection == null) {
+                    if (!mongoTemplate.collectionExists(collectionName)) {
+                        try {
+                            mongoTemplate.getDb().createCollection(collectionName,
+                                    new CreateCollectionOptions().capped(true).sizeInBytes(cappedSizeBytes));
+                        } catch (MongoException e) {
+                            // Başka bir node aynı anda oluşturmuş olabilir
+                            log.debug("Capped collection '{}' not created: {}", collectionName, e.getMessage());
+                        }
+                    }
+                    collection = mongoTemplate.getCollection(collectionName);
+                }
+                current = collection;
+            }
+        }
+        return current;
+    }
+
+    private void writeLoop() {
+        List<Document> batch = new ArrayList<>(MAX_BATCH);
+        long backoff = MIN_BACKOFF_MS;
+        while (running || !queue.isEmpty()) {
+            try {
+                Document first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            try {
+                // Sıralı insert: bir odanın event'leri collection'a yayın sırasıyla girer
+                collection().insertMany(batch, new InsertManyOptions().ordered(true));
+                backoff = MIN_BACKOFF_MS;
+                reportRecovered();
+            } catch (MongoBulkWriteException e) {
+                int written = e.getWriteErrors().isEmpty() ? 0 : e.getWriteErrors().get(0).getIndex();
+                drop(batch.size() - written, e.getMessage());
+            } catch (MongoException e) {
+                drop(batch.size(), e.getMessage());
+                if (!sleep(backoff)) {
+                    break;
+                }
+                backoff = Math.min(MAX_BACKOFF_MS, backoff * 2);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void tail() {
+        // Sadece başlangıçtan sonraki event'ler: son pencere teslim edilmiş sayılır, tekrar oynatılmaz
+        Document newest = collection().find().sort(Sorts.descending("$natural")).limit(1).first();
+        if (newest != null) {
+            lastTs = newest.getDate("ts").getTime();
+            for (Document doc : collection().find(resumeFilter())) {
+                markDelivered(doc);
+            }
+        }
+
+        while (running) {
+            try (MongoCursor<Document> cursor = collection()
+                    .find(resumeFilter())
+                    .cursorType(CursorType.TailableAwait)
+                    .noCursorTimeout(true)
+                    .iterator()) {
+                while (running && cursor.hasNext()) {
+                    Document doc = cursor.next();
+                    if (!markDelivered(doc)) {
+                        continue; // Tekrar okunan pencereden
+                    }
+                    LocalDelivery.deliver(subscribers, RoomBusMessage.builder()
+                            .roomId(doc.getString("roomId"))
+                            .type(doc.getString("type"))
+                            .seq(doc.getLong("seq"))
+                            .epoch(doc.getString("epoch"))
+                            .payload(doc.getString("payload"))
+                            .origin(doc.getString("origin"))
+                            .build());
+                }
+            } catch (MongoException | IllegalStateException e) {
+                if (running) {
+                    log.debug("Room event cursor closed, reopening: {}", e.getMessage());
+                }
+            }
+            pruneDelivered();
+            // Boş capped collection'da tailable cursor hemen kapanır
+            sleepQuietly();
+        }
+    }
+
+    private Bson resumeFilter() {
+        return lastTs > 0 ? Filters.gte("ts", new Date(lastTs - resumeOverlapMs)) : new Document();
+    }
+
+    // Daha önce teslim edilmişse false
+    private boolean markDelivered(Document doc) {
+        Date date = doc.getDate("ts");
+        long ts = date != null ? date.getTime() : lastTs;
+        String roomId = doc.getString("roomId");
+        Long seq = doc.getLong("seq");
+        String epoch = doc.getString("epoch");
+        if (seq != null && epoch != null && roomId != null) {
+            Delivered last = deliveredSeqs.get(roomId);
+            if (last != null && last.epoch().equals(epoch) && seq <= last.seq()) {
+                return false;
+            }
+            deliveredSeqs.put(roomId, new Delivered(epoch, seq, ts));
+        } else if (deliveredIds.putIfAbsent(doc.getObjectId("_id"), ts) != null) {
+            return false;
+        }
+        lastTs = Math.max(lastTs, ts);
+        if (++delivered % PRUNE_INTERVAL == 0) {
+            pruneDelivered();
+        }
+        return true;
+    }
+
+    // Tekrar okunan pencereden (ve saat kaymasından) eski kayıtlar bir daha görülmez
+    private void pruneDelivered() {
+        long horizon = lastTs - 2 * resumeOverlapMs;
+        deliveredSeqs.values().removeIf(d -> d.ts() < horizon);
+        deliveredIds.values().removeIf(ts -> ts < horizon);
+    }
+
+    private synchronized void reportRecovered() {
+        if (droppedSinceLastLog > 0) {
+            log.warn("Room bus writes recovered after dropping {} events", droppedSinceLastLog);
+            droppedSinceLastLog = 0;
+        }
+    }
+
+    // İlk kayıp ve sonra her 1000 kayıpta bir log; her durumda metrik
+    private synchronized void drop(int events, String reason) {
+        if (events <= 0) {
+            return;
+        }
+        dropped.increment(events);
+        if (droppedSinceLastLog == 0 || (droppedSinceLastLog + events) / 1000 > droppedSinceLastLog / 1000) {
+            log.warn("Dropping room bus events ({}), {} dropped so far", reason, droppedSinceLastLog + events);
+        }
+        droppedSinceLastLog += events;
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        // Kuyrukta kalanlar yazılsın
+        writer.join(1000);
+    }
+
+    private record Delivered(String epoch, long seq, long ts) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.roulettedraft.bus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomBusMessage {
+    private String roomId;
+    private String type;    // Event sınıfı (log/metrik için)
+    private Long seq;       // Sıralı (state değiştiren) event'lerde oda içi sıra numarası
+    private String epoch;   // seq'in numaralandırması
+    private String payload; // Client'a gidecek JSON
+    private String origin;  // Yayınlayan node
+}
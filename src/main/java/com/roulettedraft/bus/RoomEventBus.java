@@ -0,0 +1,23 @@
+package com.roulettedraft.bus;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries room events between application nodes. A broadcast is published once; every node
+ * (including the publisher) receives it through its subscribers and fans it out to the
+ * WebSocket sessions connected to that node only.
+ *
+ * Implementations are selected with {@code draft.event-bus.type}: {@code in-process}
+ * (default, single node), {@code mongo} (capped collection) or {@code tcp}.
+ */
+public interface RoomEventBus {
+
+    void publish(RoomBusMessage message);
+
+    void subscribe(Consumer<RoomBusMessage> subscriber);
+
+    // Mesajlar başka node'lara da gidiyor mu (false ise dinleyicisi olmayan odalar atlanabilir)
+    default boolean isDistributed() {
+        return true;
+    }
+}
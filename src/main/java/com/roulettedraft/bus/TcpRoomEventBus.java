@@ -0,0 +1,286 @@
+package com.roulettedraft.bus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Minimal peer-to-peer bus over TCP, meant for local multi-instance runs and tests: each node
+ * listens on {@code draft.event-bus.tcp.port} and pushes length-prefixed JSON frames to the
+ * configured peers (e.g. {@code localhost:7072,localhost:7073}).
+ *
+ * Publishing never touches a socket: every peer has its own bounded queue drained by its own
+ * writer thread, which reconnects with exponential backoff. A down or slow peer therefore only
+ * fills its own queue; once that is full its frames are dropped and counted in
+ * {@code draft.bus.tcp.dropped}. Receivers notice the resulting sequence gap and fall back to
+ * a snapshot.
+ */
+@Component
+@ConditionalOnProperty(name = "draft.event-bus.type", havingValue = "tcp")
+@Slf4j
+public class TcpRoomEventBus implements RoomEventBus {
+    private static final int MAX_FRAME_BYTES = 4 * 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+    private static final long MIN_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 5000;
+
+    private final ObjectMapper objectMapper;
+    private final BusNode node;
+    private final int port;
+    private final List<Peer> peers = new ArrayList<>();
+    private final List<Consumer<RoomBusMessage>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+    private ServerSocket server;
+
+    public TcpRoomEventBus(ObjectMapper objectMapper,
+                           BusNode node,
+                           MeterRegistry meterRegistry,
+                           @Value("${draft.event-bus.tcp.port:7071}") int port,
+                           @Value("${draft.event-bus.tcp.peers:}") List<String> peerAddresses,
+                           @Value("${draft.event-bus.tcp.queue-capacity:10000}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.node = node;
+        this.port = port;
+        for (String address : peerAddresses) {
+            if (!address.isBlank()) {
+                String[] parts = address.trim().split(":");
+                peers.add(new Peer(parts[0], Integer.parseInt(parts[1]), Math.max(1, queueCapacity), meterRegistry));
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        server = new ServerSocket();
+        server.bind(new InetSocketAddress(port));
+        Thread acceptor = new Thread(this::acceptLoop, "room-event-bus-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        peers.forEach(Peer::start);
+        log.info("Room event bus listening on :{} with {} peers", port, peers.size());
+    }
+
+    @Override
+    public void publish(RoomBusMessage message) {
+        message.setOrigin(node.getId());
+        LocalDelivery.deliver(subscribers, message);
+        if (peers.isEmpty()) {
+            return;
+        }
+        byte[] frame;
+        try {
+            frame = objectMapper.writeValueAsBytes(message);
+        } catch (IOException e) {
+            log.error("[room:{}] Could not encode bus message", message.getRoomId(), e);
+            return;
+        }
+        for (Peer peer : peers) {
+            peer.enqueue(frame);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<RoomBusMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                Thread reader = new Thread(() -> readLoop(socket), "room-event-bus-read-" + socket.getPort());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Room event bus accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (running) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_FRAME_BYTES) {
+                    throw new IOException("Invalid frame length " + length);
+                }
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+                RoomBusMessage message = objectMapper.readValue(frame, RoomBusMessage.class);
+                if (!node.getId().equals(message.getOrigin())) {
+                    LocalDelivery.deliver(subscribers, message);
+                }
+            }
+        } catch (EOFException e) {
+            log.debug("Bus peer {} disconnected", socket.getRemoteSocketAddress());
+        } catch (IOException e) {
+            log.warn("Bus peer {} failed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        running = false;
+        peers.forEach(Peer::close);
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    // Peer başına kuyruk + writer thread; publish eden thread hiçbir zaman socket'e yazmaz
+    private final class Peer {
+        private final String host;
+        private final int port;
+        private final BlockingQueue<byte[]> queue;
+        private final Counter dropped;
+        private final Thread writer;
+        private Socket socket; // Sadece writer thread'i kullanır
+        private DataOutputStream out;
+        private long droppedSinceLastLog; // drop/reportReconnected ile korunur
+
+        private Peer(String host, int port, int queueCapacity, MeterRegistry meterRegistry) {
+            this.host = host;
+            this.port = port;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            String peer = host + ":" + port;
+            this.dropped = Counter.builder("draft.bus.tcp.dropped")
+                    .description("Bus frames dropped because the peer was down or too slow")
+                    .tag("peer", peer)
+                    .register(meterRegistry);
+            Gauge.builder("draft.bus.tcp.queued", queue, BlockingQueue::size)
+                    .description("Bus frames waiting to be written to the peer")
+                    .tag("peer", peer)
+                    .register(meterRegistry);
+            this.writer = new Thread(this::writeLoop, "room-event-bus-peer-" + peer);
+            this.writer.setDaemon(true);
+        }
+
+        void start() {
+            writer.start();
+        }
+
+        void enqueue(byte[] frame) {
+            if (!queue.offer(frame)) {
+                drop(1, "queue full");
+            }
+        }
+
+        private void writeLoop() {
+            long backoff = MIN_BACKOFF_MS;
+            while (running) {
+                byte[] frame;
+                try {
+                    frame = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (frame == null) {
+                    continue;
+                }
+                try {
+                    if (socket == null) {
+                        connect();
+                    }
+                    out.writeInt(frame.length);
+                    out.write(frame);
+                    // Kuyrukta bekleyen varsa flush'ı sona bırak
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                    backoff = MIN_BACKOFF_MS;
+                } catch (IOException e) {
+                    log.debug("Bus peer {}:{} unavailable: {}", host, port, e.getMessage());
+                    closeSocket();
+                    drop(1, e.getMessage());
+                    if (!sleep(backoff)) {
+                        break;
+                    }
+                    backoff = Math.min(MAX_BACKOFF_MS, backoff * 2);
+                }
+            }
+            closeSocket();
+        }
+
+        private void connect() throws IOException {
+            Socket connecting = new Socket();
+            try {
+                connecting.setTcpNoDelay(true);
+                connecting.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            } catch (IOException e) {
+                connecting.close();
+                throw e;
+            }
+            socket = connecting;
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            reportReconnected();
+        }
+
+        private synchronized void reportReconnected() {
+            if (droppedSinceLastLog > 0) {
+                log.warn("Bus peer {}:{} reconnected after dropping {} frames", host, port, droppedSinceLastLog);
+                droppedSinceLastLog = 0;
+            }
+        }
+
+        // İlk kayıp ve sonra her 1000 kayıpta bir log; her durumda metrik
+        private synchronized void drop(int frames, String reason) {
+            dropped.increment(frames);
+            if (droppedSinceLastLog == 0 || (droppedSinceLastLog + frames) / 1000 > droppedSinceLastLog / 1000) {
+                log.warn("Dropping frames for bus peer {}:{} ({}), {} dropped so far", host, port, reason,
+                        droppedSinceLastLog + frames);
+            }
+            droppedSinceLastLog += frames;
+        }
+
+        private boolean sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+                return true;
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+
+        private void closeSocket() {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // Kapanırken hata önemli değil
+                }
+                socket = null;
+                out = null;
+            }
+        }
+
+        void close() {
+            writer.interrupt();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.roulettedraft.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel (64 slots per level, 4 levels). Scheduling and cancelling are
+ * O(1); each tick only looks at one slot plus an occasional cascade from a coarser level.
+ * Timeouts are spread over single-threaded shards by key, so tasks for the same key always
+ * run on the same thread. Tasks run on the shard thread and must be short.
+ */
+@Slf4j
+public class HierarchicalTimingWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final LongSupplier clock;
+    private final Shard[] shards;
+    private final LongConsumer lagListener;
+    private final LongConsumer tickLagListener;
+
+    public HierarchicalTimingWheel(String name, int shardCount, long tickMillis, LongConsumer lagListener) {
+        this(name, shardCount, tickMillis, lagListener, null);
+    }
+
+    /**
+     * {@code lagListener} receives how late each timeout fired, {@code tickLagListener} how late
+     * each tick of a shard started compared to its fixed-rate schedule (both in nanoseconds).
+     */
+    public HierarchicalTimingWheel(String name, int shardCount, long tickMillis,
+                                   LongConsumer lagListener, LongConsumer tickLagListener) {
+        this(name, shardCount, tickMillis, lagListener, tickLagListener, System::nanoTime, true);
+    }
+
+    // Testler için: saat dışarıdan verilir, ticking=false ise tick'ler sadece tick() ile çalışır
+    HierarchicalTimingWheel(String name, int shardCount, long tickMillis, LongConsumer lagListener,
+                            LongConsumer tickLagListener, LongSupplier clock, boolean ticking) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        this.clock = clock;
+        this.lagListener = lagListener;
+        this.tickLagListener = tickLagListener;
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(name + "-" + i, ticking);
+        }
+    }
+
+    public Timeout schedule(String key, long delayMillis, Runnable task) {
+        long deadline = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        Timeout timeout = new Timeout(deadline, task);
+        shards[Math.floorMod(key.hashCode(), shards.length)].add(timeout);
+        return timeout;
+    }
+
+    public int pendingCount() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.pending.get();
+        }
+        return total;
+    }
+
+    public void shutdown() {
+        for (Shard shard : shards) {
+            if (shard.executor != null) {
+                shard.executor.shutdownNow();
+            }
+        }
+    }
+
+    // Tüm shard'larda saatin şu anki değerine kadar bir tick çalıştır (çağıranın thread'inde)
+    void tick() {
+        for (Shard shard : shards) {
+            shard.run();
+        }
+    }
+
+    public static final class Timeout {
+        private final long deadlineNanos;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadlineNanos, Runnable task) {
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+
+        // Lazy iptal: slot'tan çıkarılmaz, zamanı gelince atlanır
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final ScheduledExecutorService executor;
+        private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<Timeout>[][] wheel = new ArrayDeque[LEVELS][SLOTS];
+        private long currentTick;
+        private long nextTickNanos; // scheduleAtFixedRate'e göre bir sonraki tick'in planlanan zamanı
+
+        private Shard(String threadName, boolean ticking) {
+            for (int level = 0; level < LEVELS; level++) {
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    wheel[level][slot] = new ArrayDeque<>();
+                }
+            }
+            this.currentTick = clock.getAsLong() / tickNanos;
+            this.nextTickNanos = clock.getAsLong() + tickNanos;
+            if (!ticking) {
+                this.executor = null;
+                return;
+            }
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, threadName);
+                t.setDaemon(true);
+                return t;
+            });
+            this.executor.scheduleAtFixedRate(this, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void add(Timeout timeout) {
+            pending.incrementAndGet();
+            incoming.add(timeout);
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now = clock.getAsLong();
+                if (tickLagListener != null) {
+                    tickLagListener.accept(Math.max(0, now - nextTickNanos));
+                }
+                nextTickNanos += tickNanos;
+                long nowTick = now / tickNanos;
+                List<Timeout> due = new ArrayList<>();
+
+                Timeout t;
+                while ((t = incoming.poll()) != null) {
+                    place(t, due);
+                }
+
+                // Hiç timer yoksa boşuna slot gezme
+                if (pending.get() == due.size()) {
+                    currentTick = Math.max(currentTick, nowTick);
+                }
+
+                while (currentTick < nowTick) {
+                    currentTick++;
+                    cascade(due);
+                    ArrayDeque<Timeout> bucket = wheel[0][(int) (currentTick & MASK)];
+                    due.addAll(bucket);
+                    bucket.clear();
+                }
+
+                for (Timeout timeout : due) {
+                    fire(timeout);
+                }
+            } catch (Throwable e) {
+                log.error("Timing wheel tick failed", e);
+            }
+        }
+
+        private void cascade(List<Timeout> due) {
+            // Kaba seviyelerden ince seviyelere doğru, yalnızca sınırda olanlar
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    ArrayDeque<Timeout> bucket = wheel[level][(int) ((currentTick >>> (BITS * level)) & MASK)];
+                    if (!bucket.isEmpty()) {
+                        List<Timeout> moved = new ArrayList<>(bucket);
+                        bucket.clear();
+                        for (Timeout timeout : moved) {
+                            place(timeout, due);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void place(Timeout timeout, List<Timeout> due) {
+            if (timeout.cancelled) {
+                pending.decrementAndGet();
+                return;
+            }
+            long deadlineTick = (timeout.deadlineNanos + tickNanos - 1) / tickNanos;
+            long delta = deadlineTick - currentTick;
+            if (delta <= 0) {
+                due.add(timeout);
+                return;
+            }
+            for (int level = 0; level < LEVELS; level++) {
+                if (delta < (1L << (BITS * (level + 1)))) {
+                    wheel[level][(int) ((deadlineTick >>> (BITS * level)) & MASK)].add(timeout);
+                    return;
+                }
+            }
+            // En üst seviyenin kapsamından uzak: son slota koy, cascade'de yeniden yerleşir
+            long farTick = currentTick + (1L << (BITS * LEVELS)) - 1;
+            wheel[LEVELS - 1][(int) ((farTick >>> (BITS * (LEVELS - 1))) & MASK)].add(timeout);
+        }
+
+        private void fire(Timeout timeout) {
+            pending.decrementAndGet();
+            if (timeout.cancelled) {
+                return;
+            }
+            if (lagListener != null) {
+                lagListener.accept(clock.getAsLong() - timeout.deadlineNanos);
+            }
+            try {
+                timeout.task.run();
+            } catch (Throwable e) {
+                log.error("Timer task failed", e);
+            }
+        }
+    }
+}
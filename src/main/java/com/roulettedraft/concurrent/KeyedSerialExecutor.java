@@ -0,0 +1,180 @@
+package com.roulettedraft.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks with the same key strictly one after another (a mailbox per key) while tasks
+ * with different keys run in parallel on the backing executor. Idle lanes are dropped,
+ * so memory is proportional to the number of keys with pending work.
+ *
+ * A task submitted with {@link #submitAsync} keeps its lane until the stage it returns
+ * completes, without holding a thread while it waits.
+ */
+@Slf4j
+public class KeyedSerialExecutor {
+    private static final int MAX_TASKS_PER_TURN = 32;
+
+    private final Executor backing;
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(Executor backing) {
+        this.backing = backing;
+    }
+
+    public void execute(String key, Runnable task) {
+        Lane[] toStart = new Lane[1];
+        lanes.compute(key, (k, lane) -> {
+            if (lane == null) {
+                lane = new Lane(k);
+            }
+            lane.tasks.add(task);
+            if (!lane.running) {
+                lane.running = true;
+                toStart[0] = lane;
+            }
+            return lane;
+        });
+        if (toStart[0] != null) {
+            backing.execute(toStart[0]);
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String key, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(key, () -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Like {@link #submit}, but {@code task} starts asynchronous work and the next task of the
+     * key runs only after the returned stage has completed. No thread is blocked meanwhile.
+     */
+    public <T> CompletableFuture<T> submitAsync(String key, Callable<? extends CompletionStage<T>> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(key, new AsyncTask(() -> {
+            CompletionStage<T> stage;
+            try {
+                stage = task.call();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return null;
+            }
+            return stage.whenComplete((result, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        }));
+        return future;
+    }
+
+    public int activeLanes() {
+        return lanes.size();
+    }
+
+    public int queuedTasks() {
+        int total = 0;
+        for (Lane lane : lanes.values()) {
+            total += lane.size();
+        }
+        return total;
+    }
+
+    public int maxQueuedPerKey() {
+        int max = 0;
+        for (Lane lane : lanes.values()) {
+            max = Math.max(max, lane.size());
+        }
+        return max;
+    }
+
+    private Runnable poll(Lane lane) {
+        Runnable[] next = new Runnable[1];
+        lanes.computeIfPresent(lane.key, (k, current) -> {
+            if (current != lane) {
+                return current;
+            }
+            next[0] = current.tasks.poll();
+            if (next[0] == null) {
+                current.running = false;
+                return null; // Boşalan lane'i kaldır
+            }
+            return current;
+        });
+        return next[0];
+    }
+
+    // Lane'i döndürdüğü stage tamamlanana kadar tutan task
+    private record AsyncTask(Supplier<CompletionStage<?>> start) implements Runnable {
+        @Override
+        public void run() {
+            start.get();
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final String key;
+        // Sadece ConcurrentHashMap.compute içinde erişiliyor
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+
+        private int size() {
+            int[] size = new int[1];
+            lanes.computeIfPresent(key, (k, current) -> {
+                if (current == this) {
+                    size[0] = tasks.size();
+                }
+                return current;
+            });
+            return size[0];
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+                Runnable task = poll(this);
+                if (task == null) {
+                    return;
+                }
+                try {
+                    if (task instanceof AsyncTask async) {
+                        CompletionStage<?> pending = async.start().get();
+                        if (pending != null && !pending.toCompletableFuture().isDone()) {
+                            // Lane bu task'ta kalır (running=true), stage bitince kaldığı yerden devam eder
+                            pending.whenComplete((result, error) -> backing.execute(this));
+                            return;
+                        }
+                    } else {
+                        task.run();
+                    }
+                } catch (Throwable t) {
+                    log.error("[lane:{}] Task failed", key, t);
+                }
+            }
+            // Diğer lane'lere de sıra gelsin
+            backing.execute(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.roulettedraft.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.TransportSettings;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * MongoDB clients of the "reactive" profile. The imperative client (room lanes, catalog) and the
+ * reactive one (WebFlux reads) share one Netty event loop owned by this context. Without it Spring
+ * Boot's Netty customizer creates a group for each client but only shuts the last one down, and
+ * the leaked non-daemon threads keep the JVM alive after the context closes.
+ *
+ * The group is not a bean: as a {@code ScheduledExecutorService} it would be taken for the
+ * {@code @Scheduled} executor. Declaring {@link MongoClientSettings} also switches off Boot's
+ * standard settings customizer, so the connection string and UUID representation are applied here.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveMongoConfig implements DisposableBean {
+    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup();
+
+    // Transport ayarı dolu olduğu için Boot'un Netty customizer'ı kendi grubunu açmaz
+    @Bean
+    public MongoClientSettings mongoClientSettings(MongoConnectionDetails connectionDetails,
+                                                   MongoProperties properties) {
+        return MongoClientSettings.builder()
+                .applyConnectionString(connectionDetails.getConnectionString())
+                .uuidRepresentation(properties.getUuidRepresentation())
+                .transportSettings(TransportSettings.nettyBuilder().eventLoopGroup(eventLoopGroup).build())
+                .build();
+    }
+
+    // Client'lar bu config'e bağımlı, önce onlar kapanır
+    @Override
+    public void destroy() {
+        eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+    }
+}
@@ -0,0 +1,50 @@
+package com.roulettedraft.config;
+
+import com.roulettedraft.websocket.ReactiveWebSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.util.Map;
+
+/**
+ * Web layer of the "reactive" profile (see application-reactive.yml): Reactor Netty server,
+ * the {@code /ws} endpoint and its frame limit. Tomcat is still on the classpath for the
+ * servlet profile, so the Netty factory is declared explicitly.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    private final int maxMessageBytes;
+
+    public ReactiveWebConfig(@Value("${draft.websocket.max-message-bytes:8192}") int maxMessageBytes) {
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // Annotated controller'lardan önce
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(ReactiveWebSocketHandler webSocketHandler) {
+        return new SimpleUrlHandlerMapping(Map.of("/ws", webSocketHandler), -1);
+    }
+
+    // Limiti aşan frame'ler Netty seviyesinde reddedilir (dispatcher'daki kontrol ikinci savunma)
+    @Override
+    public WebSocketService getWebSocketService() {
+        return new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy(
+                () -> WebsocketServerSpec.builder().maxFramePayloadLength(maxMessageBytes)));
+    }
+}
@@ -2,12 +2,17 @@ package com.roulettedraft.config;
 
 import com.roulettedraft.websocket.WebSocketHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
 @Configuration
+@Profile("!reactive") // Reactive profilde /ws: ReactiveWebConfig
 @EnableWebSocket
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
@@ -18,5 +23,14 @@ public class WebSocketConfig implements WebSocketConfigurer {
         registry.addHandler(webSocketHandler, "/ws")
                 .setAllowedOrigins("*");
     }
-}
 
+    // Limiti aşan frame'ler container seviyesinde reddedilir (handler'daki kontrol ikinci savunma)
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer(
+            @Value("${draft.websocket.max-message-bytes:8192}") int maxMessageBytes) {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxMessageBytes);
+        container.setMaxBinaryMessageBufferSize(maxMessageBytes);
+        return container;
+    }
+}
@@ -2,15 +2,18 @@ package com.roulettedraft.controller;
 
 import com.roulettedraft.dto.RandomFillRequest;
 import com.roulettedraft.dto.RandomFillResponse;
+import com.roulettedraft.service.RandomFillMode;
 import com.roulettedraft.service.RandomFillService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/draft")
 @RequiredArgsConstructor
 @Tag(name = "Draft API", description = "Draft-related endpoints")
@@ -18,9 +21,13 @@ public class DraftController {
     private final RandomFillService randomFillService;
     
     @PostMapping("/random-fill")
-    @Operation(summary = "Random fill squads with players from selected teams")
-    public ResponseEntity<RandomFillResponse> randomFillSquads(@Valid @RequestBody RandomFillRequest request) {
-        return ResponseEntity.ok(randomFillService.randomFillSquads(request));
+    @Operation(summary = "Random fill squads with players from selected teams",
+            description = "mode=random (default) fills slots one by one; mode=optimal assigns all empty slots together for the best position fit. "
+                    + "Pass a seed to get reproducible results.")
+    public ResponseEntity<RandomFillResponse> randomFillSquads(@Valid @RequestBody RandomFillRequest request,
+                                                               @RequestParam(required = false) String mode,
+                                                               @RequestParam(required = false) Long seed) {
+        return ResponseEntity.ok(randomFillService.randomFillSquads(request, RandomFillMode.from(mode), seed));
     }
 }
 
@@ -1,73 +1,98 @@
 package com.roulettedraft.controller;
 
 import com.roulettedraft.dto.PlayerDto;
+import com.roulettedraft.dto.PlayerPageDto;
 import com.roulettedraft.domain.model.Player;
 import com.roulettedraft.mapper.DtoMapper;
-import com.roulettedraft.repository.PlayerRepository;
+import com.roulettedraft.service.PlayerCatalog;
+import com.roulettedraft.service.PlayerSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/players")
 @RequiredArgsConstructor
 @Tag(name = "Player API", description = "Player management endpoints")
 public class PlayerController {
-    private final PlayerRepository playerRepository;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final PlayerCatalog playerCatalog;
+    private final PlayerSearchService playerSearchService;
     private final DtoMapper dtoMapper;
 
     @GetMapping
-    @Operation(summary = "Get all players from database")
-    public ResponseEntity<List<PlayerDto>> getAllPlayers(
+    @Operation(summary = "Get all players; use cursor/size for keyset paging (next cursor in X-Next-Cursor header)")
+    public CompletableFuture<ResponseEntity<List<PlayerDto>>> getAllPlayers(
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        // MongoDB'ye giden yollar async: request thread'i sorguyu beklemez
+        if (cursor != null || (page == null && size != null)) {
+            return playerSearchService.searchAsync(null, null, null, null, cursor, size).thenApply(result -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (result.getNextCursor() != null) {
+                    response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+                }
+                return response.body(result.getItems());
+            });
+        }
+        // Eski offset paging (derin sayfalarda yavaş), geriye uyumluluk için
         if (page != null && size != null) {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Player> playersPage = playerRepository.findAll(pageable);
-            return ResponseEntity.ok(dtoMapper.toPlayerDtoList(playersPage.getContent()));
+            return playerSearchService.pageAsync(page, size)
+                    .thenApply(players -> ResponseEntity.ok(dtoMapper.toPlayerDtoList(players)));
         }
-        return ResponseEntity.ok(dtoMapper.toPlayerDtoList(playerRepository.findAll()));
+        return CompletableFuture.completedFuture(ResponseEntity.ok(dtoMapper.toPlayerDtoList(playerCatalog.getAll())));
     }
 
     @GetMapping("/team/{teamName}")
     @Operation(summary = "Get players by team name")
     public ResponseEntity<List<PlayerDto>> getPlayersByTeamName(@PathVariable String teamName) {
-        return ResponseEntity.ok(dtoMapper.toPlayerDtoList(playerRepository.findByTeamIgnoreCase(teamName)));
+        return ResponseEntity.ok(dtoMapper.toPlayerDtoList(playerCatalog.findByTeam(teamName)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get player by ID")
-    public ResponseEntity<PlayerDto> getPlayerById(@PathVariable String id) {
-        Optional<Player> player = playerRepository.findById(id);
-        if (player.isPresent()) {
-            return ResponseEntity.ok(dtoMapper.toPlayerDto(player.get()));
-        }
-        return ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity<PlayerDto>> getPlayerById(@PathVariable String id) {
+        // Catalog'da yoksa (henüz senkronize olmamış olabilir) DB'ye düş
+        Optional<Player> cached = playerCatalog.findById(id);
+        CompletableFuture<Optional<Player>> player = cached.isPresent()
+                ? CompletableFuture.completedFuture(cached)
+                : playerSearchService.findByIdAsync(id);
+        return player.thenApply(found -> found
+                .map(p -> ResponseEntity.ok(dtoMapper.toPlayerDto(p)))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search players by various criteria")
     public ResponseEntity<List<PlayerDto>> searchPlayers(
             @RequestParam(required = false) String team,
+            @RequestParam(required = false) String league,
             @RequestParam(required = false) String position,
             @RequestParam(required = false) String nationality) {
-        
-        List<Player> allPlayers = playerRepository.findAll();
-        
-        List<Player> filtered = allPlayers.stream()
-                .filter(p -> team == null || (p.getTeam() != null && p.getTeam().equalsIgnoreCase(team)))
-                .filter(p -> position == null || (p.getPosition() != null && p.getPosition().equalsIgnoreCase(position)))
-                .filter(p -> nationality == null || (p.getNationality() != null && p.getNationality().equalsIgnoreCase(nationality)))
-                .toList();
-        
+        List<Player> filtered = playerCatalog.search(team, league, position, nationality);
         return ResponseEntity.ok(dtoMapper.toPlayerDtoList(filtered));
     }
-}
+
+    @GetMapping("/search/page")
+    @Operation(summary = "Search players in MongoDB with keyset pagination")
+    public CompletableFuture<ResponseEntity<PlayerPageDto>> searchPlayersPage(
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String league,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String nationality,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return playerSearchService.searchAsync(team, league, position, nationality, cursor, size)
+                .thenApply(ResponseEntity::ok);
+    }
+}
\ No newline at end of file
@@ -6,13 +6,24 @@ import com.roulettedraft.dto.RoomDto;
 import com.roulettedraft.dto.UpdateSelectedTeamsRequest;
 import com.roulettedraft.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+// Oda komutları async döner: Tomcat thread'i lane'i beklemez, hata olursa
+// Spring future'ın exception'ını GlobalExceptionHandler'a iletir
 @RestController
+@Profile("!reactive") // "reactive" profilde WebFlux karşılıkları (controller.reactive) çalışır
 @RequestMapping("/api/rooms")
 @RequiredArgsConstructor
 @Tag(name = "Room API", description = "Room management endpoints")
@@ -21,38 +32,45 @@ public class RoomController {
 
     @PostMapping
     @Operation(summary = "Create a new room (max 2-5 participants)")
-    public ResponseEntity<RoomDto> createRoom(@Valid @RequestBody CreateRoomRequest request) {
-        return ResponseEntity.ok(roomService.createRoom(request));
+    public CompletableFuture<ResponseEntity<RoomDto>> createRoom(@Valid @RequestBody CreateRoomRequest request) {
+        return roomService.createRoom(request).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/{roomId}/join")
     @Operation(summary = "Join a room")
-    public ResponseEntity<RoomDto> joinRoom(@PathVariable String roomId, @Valid @RequestBody JoinRoomRequest request) {
-        return ResponseEntity.ok(roomService.joinRoom(roomId, request));
+    public CompletableFuture<ResponseEntity<RoomDto>> joinRoom(@PathVariable String roomId, @Valid @RequestBody JoinRoomRequest request) {
+        return roomService.joinRoom(roomId, request).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/{roomId}/start")
     @Operation(summary = "Start the draft (requires at least 2 participants)")
-    public ResponseEntity<RoomDto> startDraft(@PathVariable String roomId) {
-        return ResponseEntity.ok(roomService.startDraft(roomId));
+    public CompletableFuture<ResponseEntity<RoomDto>> startDraft(@PathVariable String roomId) {
+        return roomService.startDraft(roomId).thenApply(ResponseEntity::ok);
     }
 
+    // Önceden serialize edilmiş JSON; If-None-Match ETag ile eşleşirse Spring 304 döner
     @GetMapping("/{roomId}")
-    @Operation(summary = "Get room by ID")
-    public ResponseEntity<RoomDto> getRoomById(@PathVariable String roomId) {
-        return ResponseEntity.ok(roomService.getRoomById(roomId));
+    @Operation(summary = "Get room by ID (supports ETag / If-None-Match)")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = RoomDto.class)))
+    public CompletableFuture<ResponseEntity<byte[]>> getRoomById(@PathVariable String roomId) {
+        return roomService.getRoomSnapshotAsync(roomId).thenApply(snapshot -> ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json()));
     }
 
     @PostMapping("/{roomId}/participants/{userId}/teams")
     @Operation(summary = "Update participant's selected teams")
-    public ResponseEntity<RoomDto> updateParticipantTeams(
+    public CompletableFuture<ResponseEntity<RoomDto>> updateParticipantTeams(
             @PathVariable String roomId,
             @PathVariable String userId,
             @Valid @RequestBody UpdateSelectedTeamsRequest request) {
         if (!userId.equals(request.getUserId())) {
             throw new RuntimeException("User ID mismatch");
         }
-        return ResponseEntity.ok(roomService.updateParticipantSelectedTeams(roomId, userId, request.getSelectedTeams()));
+        return roomService.updateParticipantSelectedTeams(roomId, userId, request.getSelectedTeams())
+                .thenApply(ResponseEntity::ok);
     }
 }
 
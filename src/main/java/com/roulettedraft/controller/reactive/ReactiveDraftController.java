@@ -0,0 +1,37 @@
+package com.roulettedraft.controller.reactive;
+
+import com.roulettedraft.dto.RandomFillRequest;
+import com.roulettedraft.dto.RandomFillResponse;
+import com.roulettedraft.service.RandomFillMode;
+import com.roulettedraft.service.RandomFillService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/draft")
+@RequiredArgsConstructor
+@Tag(name = "Draft API", description = "Draft-related endpoints")
+public class ReactiveDraftController {
+    private final RandomFillService randomFillService;
+
+    // Takım havuzu miss'te MongoDB'den yüklenir ve çözücü CPU'da çalışır: event loop dışında
+    @PostMapping("/random-fill")
+    @Operation(summary = "Random fill squads with players from selected teams",
+            description = "mode=random (default) fills slots one by one; mode=optimal assigns all empty slots together for the best position fit. "
+                    + "Pass a seed to get reproducible results.")
+    public Mono<ResponseEntity<RandomFillResponse>> randomFillSquads(@Valid @RequestBody RandomFillRequest request,
+                                                                     @RequestParam(required = false) String mode,
+                                                                     @RequestParam(required = false) Long seed) {
+        return Mono.fromCallable(() -> randomFillService.randomFillSquads(request, RandomFillMode.from(mode), seed))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+}
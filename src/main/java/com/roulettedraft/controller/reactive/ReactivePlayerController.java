@@ -0,0 +1,102 @@
+package com.roulettedraft.controller.reactive;
+
+import com.roulettedraft.dto.PlayerDto;
+import com.roulettedraft.dto.PlayerPageDto;
+import com.roulettedraft.mapper.DtoMapper;
+import com.roulettedraft.service.PlayerCatalog;
+import com.roulettedraft.service.ReactivePlayerSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/players")
+@RequiredArgsConstructor
+@Tag(name = "Player API", description = "Player management endpoints")
+public class ReactivePlayerController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final PlayerCatalog playerCatalog;
+    private final ReactivePlayerSearchService playerSearchService;
+    private final DtoMapper dtoMapper;
+
+    @GetMapping
+    @Operation(summary = "Get all players; use cursor/size for keyset paging (next cursor in X-Next-Cursor header)")
+    public Mono<ResponseEntity<List<PlayerDto>>> getAllPlayers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null || (page == null && size != null)) {
+            return playerSearchService.search(null, null, null, null, cursor, size).map(result -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (result.getNextCursor() != null) {
+                    response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+                }
+                return response.body(result.getItems());
+            });
+        }
+        // Eski offset paging (derin sayfalarda yavaş), geriye uyumluluk için
+        if (page != null && size != null) {
+            return playerSearchService.page(page, size).collectList()
+                    .map(players -> ResponseEntity.ok(dtoMapper.toPlayerDtoList(players)));
+        }
+        return fromCatalog(() -> ResponseEntity.ok(dtoMapper.toPlayerDtoList(playerCatalog.getAll())));
+    }
+
+    @GetMapping("/team/{teamName}")
+    @Operation(summary = "Get players by team name")
+    public Mono<ResponseEntity<List<PlayerDto>>> getPlayersByTeamName(@PathVariable String teamName) {
+        return fromCatalog(() -> ResponseEntity.ok(dtoMapper.toPlayerDtoList(playerCatalog.findByTeam(teamName))));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get player by ID")
+    public Mono<ResponseEntity<PlayerDto>> getPlayerById(@PathVariable String id) {
+        // Catalog'da yoksa (henüz senkronize olmamış olabilir) DB'ye düş
+        return fromCatalog(() -> playerCatalog.findById(id))
+                .flatMap(cached -> cached.map(Mono::just).orElseGet(() -> playerSearchService.findById(id)))
+                .map(p -> ResponseEntity.ok(dtoMapper.toPlayerDto(p)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search players by various criteria")
+    public Mono<ResponseEntity<List<PlayerDto>>> searchPlayers(
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String league,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String nationality) {
+        return fromCatalog(() -> ResponseEntity.ok(
+                dtoMapper.toPlayerDtoList(playerCatalog.search(team, league, position, nationality))));
+    }
+
+    @GetMapping("/search/page")
+    @Operation(summary = "Search players in MongoDB with keyset pagination")
+    public Mono<ResponseEntity<PlayerPageDto>> searchPlayersPage(
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String league,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String nationality,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return playerSearchService.search(team, league, position, nationality, cursor, size)
+                .map(ResponseEntity::ok);
+    }
+
+    // Catalog yüklüyse bellekten; açılıştaki yükleme başarısız olduysa ilk çağrı MongoDB'yi bekler
+    private <T> Mono<T> fromCatalog(Supplier<T> read) {
+        if (playerCatalog.isLoaded()) {
+            return Mono.fromSupplier(read);
+        }
+        return Mono.fromSupplier(read).subscribeOn(Schedulers.boundedElastic());
+    }
+}
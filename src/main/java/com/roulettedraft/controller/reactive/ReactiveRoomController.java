@@ -0,0 +1,73 @@
+package com.roulettedraft.controller.reactive;
+
+import com.roulettedraft.dto.CreateRoomRequest;
+import com.roulettedraft.dto.JoinRoomRequest;
+import com.roulettedraft.dto.RoomDto;
+import com.roulettedraft.dto.UpdateSelectedTeamsRequest;
+import com.roulettedraft.service.ReactiveRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// RoomController ile aynı yollar; komutlar yine oda lane'inde, event loop hiçbir yerde beklemez
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/rooms")
+@RequiredArgsConstructor
+@Tag(name = "Room API", description = "Room management endpoints")
+public class ReactiveRoomController {
+    private final ReactiveRoomService roomService;
+
+    @PostMapping
+    @Operation(summary = "Create a new room (max 2-5 participants)")
+    public Mono<ResponseEntity<RoomDto>> createRoom(@Valid @RequestBody CreateRoomRequest request) {
+        return roomService.createRoom(request).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{roomId}/join")
+    @Operation(summary = "Join a room")
+    public Mono<ResponseEntity<RoomDto>> joinRoom(@PathVariable String roomId, @Valid @RequestBody JoinRoomRequest request) {
+        return roomService.joinRoom(roomId, request).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{roomId}/start")
+    @Operation(summary = "Start the draft (requires at least 2 participants)")
+    public Mono<ResponseEntity<RoomDto>> startDraft(@PathVariable String roomId) {
+        return roomService.startDraft(roomId).map(ResponseEntity::ok);
+    }
+
+    // Önceden serialize edilmiş JSON; If-None-Match ETag ile eşleşirse WebFlux 304 döner
+    @GetMapping("/{roomId}")
+    @Operation(summary = "Get room by ID (supports ETag / If-None-Match)")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = RoomDto.class)))
+    public Mono<ResponseEntity<byte[]>> getRoomById(@PathVariable String roomId) {
+        return roomService.getRoomSnapshot(roomId).map(snapshot -> ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json()));
+    }
+
+    @PostMapping("/{roomId}/participants/{userId}/teams")
+    @Operation(summary = "Update participant's selected teams")
+    public Mono<ResponseEntity<RoomDto>> updateParticipantTeams(
+            @PathVariable String roomId,
+            @PathVariable String userId,
+            @Valid @RequestBody UpdateSelectedTeamsRequest request) {
+        if (!userId.equals(request.getUserId())) {
+            return Mono.error(new RuntimeException("User ID mismatch"));
+        }
+        return roomService.updateParticipantSelectedTeams(roomId, userId, request.getSelectedTeams())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,49 @@
+package com.roulettedraft.controller.reactive;
+
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.dto.TeamDto;
+import com.roulettedraft.service.PlayerCatalog;
+import com.roulettedraft.service.TeamDirectory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/teams")
+@RequiredArgsConstructor
+@Tag(name = "Team API", description = "Team management endpoints")
+public class ReactiveTeamController {
+    private final PlayerCatalog playerCatalog;
+    private final TeamDirectory teamDirectory;
+
+    // İlk istekte directory aggregation ile kurulur (bloklayan sorgu), sonrası bellekten
+    @GetMapping
+    @Operation(summary = "Get all unique teams from database, optionally filtered by league")
+    public Mono<ResponseEntity<List<TeamDto>>> getAllTeams(
+            @RequestParam(required = false, name = "league") String leagueParam) {
+        String league = leagueParam != null ? leagueParam.trim() : null;
+        return Mono.fromCallable(() -> teamDirectory.view(league))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(view -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .eTag(view.getEtag())
+                        .body(view.getTeams()));
+    }
+
+    @GetMapping("/{teamName}/players")
+    @Operation(summary = "Get players by team name")
+    public Mono<ResponseEntity<List<Player>>> getPlayersByTeamName(@PathVariable String teamName) {
+        Mono<ResponseEntity<List<Player>>> players = Mono.fromSupplier(() -> ResponseEntity.ok(playerCatalog.findByTeam(teamName)));
+        // Catalog açılışta yüklenemediyse ilk çağrı MongoDB'yi bekler
+        return playerCatalog.isLoaded() ? players : players.subscribeOn(Schedulers.boundedElastic());
+    }
+}
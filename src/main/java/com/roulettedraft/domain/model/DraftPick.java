@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -16,7 +17,11 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@CompoundIndex(name = "roomId_playerId_unique_idx", def = "{'roomId': 1, 'playerId': 1}", unique = true)
+@CompoundIndexes({
+        @CompoundIndex(name = "roomId_playerId_unique_idx", def = "{'roomId': 1, 'playerId': 1}", unique = true),
+        // Aynı pickNo'yu iki kez yazmayı engeller (eşzamanlı iki writer)
+        @CompoundIndex(name = "roomId_pickNo_unique_idx", def = "{'roomId': 1, 'pickNo': 1}", unique = true)
+})
 public class DraftPick {
     @Id
     private String id;
@@ -30,6 +35,8 @@ public class DraftPick {
     
     private Integer pickNo;
     
+    private Integer nextPickIndex; // Bu pick'ten sonraki sıra; room projeksiyonu geride kalırsa buradan onarılır
+    
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 }
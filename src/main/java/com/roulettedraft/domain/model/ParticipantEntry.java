@@ -0,0 +1,34 @@
+package com.roulettedraft.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Embedded düzende Room.participants elemanı; RoomParticipant'ın roomId'siz hali
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantEntry {
+    private String id;
+    
+    private String userId;
+    
+    private String displayName;
+    
+    @Builder.Default
+    private List<String> selectedPlayerIds = new ArrayList<>();
+    
+    @Builder.Default
+    private List<String> selectedTeams = new ArrayList<>();
+    
+    private Integer rosterSizeLimit;
+    
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,24 @@
+package com.roulettedraft.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Embedded düzende Room.picks elemanı; liste pickNo sırasıyla tutulur
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickEntry {
+    private Integer pickNo;
+    
+    private String userId;
+    
+    private String playerId;
+    
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
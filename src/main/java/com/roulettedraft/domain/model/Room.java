@@ -32,12 +32,22 @@ public class Room {
     
     private Integer maxParticipants;
     
+    private Long budget; // Katılımcı başına kadro bütçesi (€), null = sınırsız
+    
     @Builder.Default
     private List<String> pickOrder = new ArrayList<>();
     
     @Builder.Default
     private Integer currentPickIndex = 0;
     
+    // draft.storage.layout=embedded: katılımcılar ve pick log'u oda dokümanında; collections düzeninde null
+    private List<ParticipantEntry> participants;
+    
+    private List<PickEntry> picks;
+    
+    // Odayı en son yazan düzen ("collections"/"embedded"); eski odalarda null = collections
+    private String storageLayout;
+    
     @Version
     private Long version;
     
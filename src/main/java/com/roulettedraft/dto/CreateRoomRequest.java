@@ -3,6 +3,7 @@ package com.roulettedraft.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,5 +22,8 @@ public class CreateRoomRequest {
     @Min(value = 2, message = "Max participants must be at least 2")
     @Max(value = 5, message = "Max participants must be at most 5")
     private Integer maxParticipants;
+    
+    @Positive(message = "Budget must be positive")
+    private Long budget; // € cinsinden, opsiyonel
 }
 
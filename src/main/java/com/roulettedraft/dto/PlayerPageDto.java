@@ -0,0 +1,17 @@
+package com.roulettedraft.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerPageDto {
+    private List<PlayerDto> items;
+    private String nextCursor; // Son sayfada null
+}
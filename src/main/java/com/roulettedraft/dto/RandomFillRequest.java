@@ -1,6 +1,8 @@
 package com.roulettedraft.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,6 +19,7 @@ public class RandomFillRequest {
     @NotEmpty(message = "Selected teams cannot be empty")
     private List<String> selectedTeams;
     
+    @Valid
     @NotEmpty(message = "Squads cannot be empty")
     private List<SquadConfig> squads;
     
@@ -30,6 +33,8 @@ public class RandomFillRequest {
         private String formation;
         private Map<String, String> players; // slotId -> playerId (mevcut oyuncular)
         private List<String> bench; // bench playerIds
+        @Positive(message = "Budget must be positive")
+        private Long budget; // € cinsinden kadro bütçesi (mevcut oyuncular dahil), opsiyonel
     }
 }
 
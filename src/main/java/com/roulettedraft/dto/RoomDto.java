@@ -19,6 +19,7 @@ public class RoomDto {
     private RoomStatus status;
     private String formation;
     private Integer maxParticipants;
+    private Long budget;
     private List<String> pickOrder;
     private Integer currentPickIndex;
     private LocalDateTime createdAt;
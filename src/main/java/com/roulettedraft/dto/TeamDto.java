@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,5 +16,6 @@ public class TeamDto {
     private String name;
     private String league; // Optional, can be empty
     private String logoUrl; // Optional
+    private Integer playerCount;
+    private Map<String, Integer> positionCounts; // position -> oyuncu sayısı
 }
-
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ErrorEvent {
+    @Builder.Default
     private String type = "ERROR";
     private String reason;
     private String message;
@@ -0,0 +1,21 @@
+package com.roulettedraft.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Client → server WebSocket messages. The {@code type} property selects the concrete request
+ * class, so a message is routed and decoded in one Jackson pass.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = SubscribeRoomRequest.class, name = "SUBSCRIBE_ROOM"),
+        @JsonSubTypes.Type(value = UnsubscribeRoomRequest.class, name = "UNSUBSCRIBE_ROOM"),
+        @JsonSubTypes.Type(value = PickPlayerRequest.class, name = "PICK_PLAYER"),
+        @JsonSubTypes.Type(value = ResyncRequest.class, name = "RESYNC"),
+        @JsonSubTypes.Type(value = PingRequest.class, name = "PING")
+})
+public sealed interface InboundMessage
+        permits SubscribeRoomRequest, UnsubscribeRoomRequest, PickPlayerRequest, ResyncRequest, PingRequest {
+    String getType();
+}
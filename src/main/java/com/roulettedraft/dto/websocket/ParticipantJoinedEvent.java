@@ -0,0 +1,20 @@
+package com.roulettedraft.dto.websocket;
+
+import com.roulettedraft.dto.RoomParticipantDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantJoinedEvent implements SequencedEvent {
+    @Builder.Default
+    private String type = "PARTICIPANT_JOINED";
+    private Long seq;
+    private String epoch;
+    private String roomId;
+    private RoomParticipantDto participant;
+}
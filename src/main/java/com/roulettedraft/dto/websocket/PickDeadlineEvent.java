@@ -0,0 +1,20 @@
+package com.roulettedraft.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickDeadlineEvent {
+    @Builder.Default
+    private String type = "PICK_DEADLINE";
+    private String roomId;
+    private String currentUserId;
+    private Integer pickIndex;
+    private Long deadline; // epoch millis, sunucu saati
+    private Long serverTime; // epoch millis; client saat farkını hesaplayıp geri sayımı lokal yapar
+}
@@ -9,8 +9,11 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class PickMadeEvent {
+public class PickMadeEvent implements SequencedEvent {
+    @Builder.Default
     private String type = "PICK_MADE";
+    private Long seq;
+    private String epoch;
     private String roomId;
     private String userId;
     private String playerId;
@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class PickPlayerRequest {
+public final class PickPlayerRequest implements InboundMessage {
+    @Builder.Default
     private String type = "PICK_PLAYER";
     private String roomId;
     private String userId;
@@ -0,0 +1,16 @@
+package com.roulettedraft.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public final class PingRequest implements InboundMessage {
+    @Builder.Default
+    private String type = "PING";
+    private Long clientTime; // PONG'da aynen geri döner (RTT ölçümü için)
+}
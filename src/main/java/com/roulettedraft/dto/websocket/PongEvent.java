@@ -0,0 +1,17 @@
+package com.roulettedraft.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PongEvent {
+    @Builder.Default
+    private String type = "PONG";
+    private Long clientTime;
+    private Long serverTime;
+}
@@ -0,0 +1,16 @@
+package com.roulettedraft.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public final class ResyncRequest implements InboundMessage {
+    @Builder.Default
+    private String type = "RESYNC";
+    private String roomId;
+}
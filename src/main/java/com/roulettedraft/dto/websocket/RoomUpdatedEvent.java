@@ -11,6 +11,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class RoomUpdatedEvent {
+    @Builder.Default
     private String type = "ROOM_UPDATED";
+    private Long seq; // Snapshot'ın içerdiği son event
+    private String epoch; // seq'in ait olduğu numaralandırma
     private RoomDto room;
 }
@@ -0,0 +1,17 @@
+package com.roulettedraft.dto.websocket;
+
+/**
+ * Room events that change room state. They carry a per-room sequence number assigned when the
+ * event is broadcast; clients apply them in order on top of the last ROOM_UPDATED snapshot.
+ * Numbering restarts (after a restart or when an idle room is evicted) under a new epoch, so
+ * a sequence number is only meaningful together with its epoch.
+ */
+public interface SequencedEvent {
+    Long getSeq();
+
+    void setSeq(Long seq);
+
+    String getEpoch();
+
+    void setEpoch(String epoch);
+}
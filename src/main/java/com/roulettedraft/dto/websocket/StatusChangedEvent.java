@@ -0,0 +1,24 @@
+package com.roulettedraft.dto.websocket;
+
+import com.roulettedraft.domain.model.RoomStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusChangedEvent implements SequencedEvent {
+    @Builder.Default
+    private String type = "STATUS_CHANGED";
+    private Long seq;
+    private String epoch;
+    private String roomId;
+    private RoomStatus status;
+    private List<String> pickOrder; // Sadece DRAFTING'e geçişte
+    private Integer currentPickIndex;
+}
@@ -9,8 +9,12 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SubscribeRoomRequest {
+public final class SubscribeRoomRequest implements InboundMessage {
+    @Builder.Default
     private String type = "SUBSCRIBE_ROOM";
     private String roomId;
     private String userId;
+    private String encoding; // "json" (varsayılan) veya "cbor"
+    private Long lastSeenSeq; // Reconnect'te son işlenen event; yoksa snapshot gönderilir
+    private String lastSeenEpoch; // lastSeenSeq'in epoch'u; farklıysa snapshot gönderilir
 }
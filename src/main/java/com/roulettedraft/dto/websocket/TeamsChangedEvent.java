@@ -0,0 +1,22 @@
+package com.roulettedraft.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamsChangedEvent implements SequencedEvent {
+    @Builder.Default
+    private String type = "TEAMS_CHANGED";
+    private Long seq;
+    private String epoch;
+    private String roomId;
+    private String userId;
+    private List<String> selectedTeams;
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimerTickEvent {
+    @Builder.Default
     private String type = "TIMER_TICK";
     private String roomId;
     private Integer remainingSeconds;
@@ -0,0 +1,23 @@
+package com.roulettedraft.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnSkippedEvent implements SequencedEvent {
+    @Builder.Default
+    private String type = "TURN_SKIPPED";
+    private Long seq;
+    private String epoch;
+    private String roomId;
+    private String userId;
+    private String reason; // TIMEOUT veya FORFEIT
+    private Integer currentPickIndex;
+    private String nextUserId;
+    private Integer rosterSizeLimit; // FORFEIT sonrası kullanıcının yeni limiti
+}
@@ -19,6 +19,8 @@ public interface DtoMapper {
     PlayerDto toPlayerDto(Player player);
     List<PlayerDto> toPlayerDtoList(List<Player> players);
 
+    // Katılımcılar RoomParticipant listesinden ayrıca doldurulur
+    @Mapping(target = "participants", ignore = true)
     RoomDto toRoomDto(Room room);
     
     // selectedTeams field'ını açıkça map et
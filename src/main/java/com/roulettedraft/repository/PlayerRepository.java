@@ -2,14 +2,20 @@ package com.roulettedraft.repository;
 
 import com.roulettedraft.domain.model.Player;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PlayerRepository extends MongoRepository<Player, String> {
+    // IgnoreCase derived query'leri regex'e dönüşüyor ve index kullanamıyor;
+    // bunun yerine PlayerSearchService'in oluşturduğu case-insensitive collation index'lerini kullan
+    @Query(value = "{ 'team': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
     List<Player> findByTeamIgnoreCase(String team);
+
+    @Query(value = "{ 'league': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
     List<Player> findByLeagueIgnoreCase(String league);
+
     List<Player> findByIdIn(List<String> ids);
 }
-
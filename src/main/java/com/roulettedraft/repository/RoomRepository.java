@@ -10,8 +10,5 @@ import java.util.List;
 @Repository
 public interface RoomRepository extends MongoRepository<Room, String> {
     List<Room> findByStatus(RoomStatus status);
-    
-    // TimerService için optimize edilmiş query - sadece aktif timer'ı olan odaları sorgula
-    List<Room> findByIdInAndStatus(List<String> roomIds, RoomStatus status);
 }
 
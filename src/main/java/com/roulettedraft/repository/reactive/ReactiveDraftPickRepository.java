@@ -0,0 +1,14 @@
+package com.roulettedraft.repository.reactive;
+
+import com.roulettedraft.domain.model.DraftPick;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveDraftPickRepository extends ReactiveMongoRepository<DraftPick, String> {
+    Mono<Boolean> existsByRoomIdAndPlayerId(String roomId, String playerId);
+    Mono<Long> countByRoomId(String roomId);
+    Flux<DraftPick> findByRoomIdOrderByPickNo(String roomId);
+}
@@ -0,0 +1,25 @@
+package com.roulettedraft.repository.reactive;
+
+import com.roulettedraft.domain.model.Player;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@Repository
+public interface ReactivePlayerRepository extends ReactiveMongoRepository<Player, String> {
+    // PlayerRepository'deki gibi regex yerine case-insensitive collation index'leri
+    @Query(value = "{ 'team': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
+    Flux<Player> findByTeamIgnoreCase(String team);
+
+    @Query(value = "{ 'league': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
+    Flux<Player> findByLeagueIgnoreCase(String league);
+
+    Flux<Player> findByIdIn(List<String> ids);
+
+    // Eski offset paging
+    Flux<Player> findAllBy(Pageable pageable);
+}
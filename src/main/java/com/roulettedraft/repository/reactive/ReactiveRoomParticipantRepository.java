@@ -0,0 +1,13 @@
+package com.roulettedraft.repository.reactive;
+
+import com.roulettedraft.domain.model.RoomParticipant;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveRoomParticipantRepository extends ReactiveMongoRepository<RoomParticipant, String> {
+    Flux<RoomParticipant> findByRoomId(String roomId);
+    Mono<RoomParticipant> findByRoomIdAndUserId(String roomId, String userId);
+}
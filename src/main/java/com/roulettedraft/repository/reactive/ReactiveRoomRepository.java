@@ -0,0 +1,13 @@
+package com.roulettedraft.repository.reactive;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomStatus;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Sadece "reactive" profilde oluşturulur (spring.data.mongodb.repositories.type)
+@Repository
+public interface ReactiveRoomRepository extends ReactiveMongoRepository<Room, String> {
+    Flux<Room> findByStatus(RoomStatus status);
+}
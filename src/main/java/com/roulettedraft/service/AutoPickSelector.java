@@ -0,0 +1,108 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Chooses a player for a user whose pick timer expired: the first formation slot the user's
+ * roster does not cover yet decides the position, and the player is sampled from the room's
+ * availability index. In rooms with a budget only players that leave enough money for the
+ * user's remaining picks (at the cheapest available price) are considered. Runs on the room lane.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AutoPickSelector {
+    private final PlayerCatalog playerCatalog;
+
+    public String choose(RoomDraftState state, String userId) {
+        AvailabilityIndex availability = availabilityOf(state);
+        String slot = firstOpenSlot(state, userId);
+        if (state.getBudgetCents() != null) {
+            return chooseWithinBudget(state, userId, availability, slot);
+        }
+
+        String playerId = slot != null ? availability.pickForSlot(slot, ThreadLocalRandom.current()) : null;
+        if (playerId == null) {
+            // Fallback: Herhangi bir kullanılmamış oyuncu
+            playerId = availability.pickAny(ThreadLocalRandom.current());
+        }
+        log.debug("[room:{}] Auto-pick for {} slot {} -> {}", state.getRoomId(), userId, slot, playerId);
+        return playerId;
+    }
+
+    private String chooseWithinBudget(RoomDraftState state, String userId, AvailabilityIndex availability, String slot) {
+        long remaining = state.getBudgetCents() - playerCatalog.totalMarketValueCents(state.rosterOf(userId));
+        long reserve = (state.picksLeft(userId) - 1) * cheapestAvailable(availability);
+        Predicate<String> affordable = id -> {
+            long value = playerCatalog.marketValueCents(id);
+            return MarketValue.isKnown(value) && value + reserve <= remaining;
+        };
+
+        String playerId = slot != null ? availability.pickForSlot(slot, ThreadLocalRandom.current(), affordable) : null;
+        if (playerId == null) {
+            playerId = availability.pickAny(ThreadLocalRandom.current(), affordable);
+        }
+        log.debug("[room:{}] Auto-pick for {} slot {} within {} cents -> {}", state.getRoomId(), userId, slot, remaining, playerId);
+        return playerId;
+    }
+
+    private long cheapestAvailable(AvailabilityIndex availability) {
+        long[] cheapest = {Long.MAX_VALUE};
+        availability.forEachBucket((position, players) -> {
+            for (String playerId : players) {
+                long value = playerCatalog.marketValueCents(playerId);
+                if (MarketValue.isKnown(value)) {
+                    cheapest[0] = Math.min(cheapest[0], value);
+                }
+            }
+        });
+        return cheapest[0] == Long.MAX_VALUE ? 0 : cheapest[0];
+    }
+
+    AvailabilityIndex availabilityOf(RoomDraftState state) {
+        AvailabilityIndex availability = state.getAvailability();
+        if (availability == null) {
+            availability = new AvailabilityIndex(poolOf(state));
+            state.getPickedPlayerIds().forEach(availability::remove);
+            state.setAvailability(availability);
+        }
+        return availability;
+    }
+
+    // Odadaki katılımcıların seçtiği takımların oyuncuları; hiç takım seçilmemişse tüm catalog
+    private List<Player> poolOf(RoomDraftState state) {
+        Set<String> teams = state.getSelectedTeams();
+        if (teams.isEmpty()) {
+            return playerCatalog.getAll();
+        }
+        List<Player> pool = new ArrayList<>();
+        for (String team : teams) {
+            pool.addAll(playerCatalog.findByTeam(team));
+        }
+        return pool;
+    }
+
+    private String firstOpenSlot(RoomDraftState state, String userId) {
+        Set<String> openSlots = new LinkedHashSet<>(PositionRules.slotsFor(state.getFormation()));
+        for (String playerId : state.rosterOf(userId)) {
+            String position = playerCatalog.findById(playerId).map(Player::getPosition).orElse(null);
+            for (String slot : openSlots) {
+                if (PositionRules.positionMatches(slot, position)) {
+                    openSlots.remove(slot);
+                    break;
+                }
+            }
+        }
+        return openSlots.isEmpty() ? null : openSlots.iterator().next();
+    }
+}
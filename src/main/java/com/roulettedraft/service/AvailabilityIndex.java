@@ -0,0 +1,156 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Still-available players of a room bucketed by normalized position. Removal is a
+ * swap-remove, so keeping the index in sync with picks is O(1).
+ */
+final class AvailabilityIndex {
+    private final Map<String, List<String>> byPosition = new HashMap<>();
+    private final Map<String, String> positionOf = new HashMap<>();
+    private final Map<String, Integer> slotOf = new HashMap<>();
+    private final Map<String, List<List<String>>> bucketsBySlot = new HashMap<>(); // Slot'a uyan bucket'lar
+
+    AvailabilityIndex(Iterable<Player> players) {
+        for (Player p : players) {
+            String position = PositionRules.normalize(p.getPosition());
+            String bucketKey = position != null ? position : "";
+            if (positionOf.putIfAbsent(p.getId(), bucketKey) == null) {
+                List<String> bucket = byPosition.computeIfAbsent(bucketKey, k -> new ArrayList<>());
+                slotOf.put(p.getId(), bucket.size());
+                bucket.add(p.getId());
+            }
+        }
+    }
+
+    boolean remove(String playerId) {
+        String position = positionOf.remove(playerId);
+        if (position == null) {
+            return false;
+        }
+        List<String> bucket = byPosition.get(position);
+        int index = slotOf.remove(playerId);
+        int last = bucket.size() - 1;
+        if (index != last) {
+            String moved = bucket.get(last);
+            bucket.set(index, moved);
+            slotOf.put(moved, index);
+        }
+        bucket.remove(last);
+        return true;
+    }
+
+    int size() {
+        return positionOf.size();
+    }
+
+    String positionOf(String playerId) {
+        return positionOf.get(playerId);
+    }
+
+    // Slot'a uyan bucket'lar arasından, bucket boyutuna göre ağırlıklı rastgele seçim
+    String pickForSlot(String slotId, RandomGenerator random) {
+        List<List<String>> buckets = matchingBuckets(slotId);
+        int total = 0;
+        for (List<String> bucket : buckets) {
+            total += bucket.size();
+        }
+        if (total == 0) {
+            return null;
+        }
+        int target = random.nextInt(total);
+        for (List<String> bucket : buckets) {
+            if (target < bucket.size()) {
+                return bucket.get(target);
+            }
+            target -= bucket.size();
+        }
+        return null;
+    }
+
+    // Seç ve index'ten çıkar
+    String takeForSlot(String slotId, RandomGenerator random) {
+        String playerId = pickForSlot(slotId, random);
+        if (playerId != null) {
+            remove(playerId);
+        }
+        return playerId;
+    }
+
+    String takeAny(RandomGenerator random) {
+        String playerId = pickAny(random);
+        if (playerId != null) {
+            remove(playerId);
+        }
+        return playerId;
+    }
+
+    // Bucket'lar kurulumdan sonra değişmez (sadece küçülür), bu yüzden slot başına bir kez hesaplanır
+    private List<List<String>> matchingBuckets(String slotId) {
+        return bucketsBySlot.computeIfAbsent(slotId, slot -> {
+            List<List<String>> buckets = new ArrayList<>();
+            byPosition.forEach((position, bucket) -> {
+                if (PositionRules.slotAccepts(slot, position)) {
+                    buckets.add(bucket);
+                }
+            });
+            return buckets;
+        });
+    }
+
+    // Sadece filtreyi geçen oyuncular arasından eşit olasılıkla (reservoir sampling)
+    String pickForSlot(String slotId, RandomGenerator random, Predicate<String> allowed) {
+        String chosen = null;
+        int seen = 0;
+        for (List<String> bucket : matchingBuckets(slotId)) {
+            for (String playerId : bucket) {
+                if (allowed.test(playerId) && random.nextInt(++seen) == 0) {
+                    chosen = playerId;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    String pickAny(RandomGenerator random, Predicate<String> allowed) {
+        String chosen = null;
+        int seen = 0;
+        for (List<String> bucket : byPosition.values()) {
+            for (String playerId : bucket) {
+                if (allowed.test(playerId) && random.nextInt(++seen) == 0) {
+                    chosen = playerId;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    // Normalize pozisyon -> hâlâ müsait oyuncular; listeler değiştirilmemeli
+    void forEachBucket(BiConsumer<String, List<String>> action) {
+        byPosition.forEach(action);
+    }
+
+    String pickAny(RandomGenerator random) {
+        int total = positionOf.size();
+        if (total == 0) {
+            return null;
+        }
+        int target = random.nextInt(total);
+        for (List<String> bucket : byPosition.values()) {
+            if (target < bucket.size()) {
+                return bucket.get(target);
+            }
+            target -= bucket.size();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,145 @@
+package com.roulettedraft.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Fills the open slots of one squad with distinct players whose total market value stays
+ * within a budget, by depth-first branch and bound. Each slot lists its candidates in order of
+ * preference and the first complete assignment found wins. A branch is cut as soon as the
+ * money spent plus the cheapest possible completion of the remaining slots exceeds the budget.
+ *
+ * If the deadline passes, or no complete assignment exists, the slots are filled greedily with
+ * affordable candidates and the rest stay empty, so the budget always holds. Candidates whose
+ * value is {@link MarketValue#UNKNOWN} are never chosen.
+ */
+final class BudgetedSquadSolver {
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final String[][] candidates; // Arama sırasına göre (en az adaylı slot önce)
+    private final long[][] values;
+    private final long[] minRest;        // minRest[d]: d. ve sonraki slotların en ucuz tamamlanması
+    private final long budget;
+    private final long deadlineNanos;
+    private final String[] chosen;
+    private final Set<String> used = new HashSet<>();
+    private long nodes;
+    private boolean timedOut;
+
+    private BudgetedSquadSolver(String[][] candidates, long[][] values, long budget, long deadlineNanos) {
+        this.candidates = candidates;
+        this.values = values;
+        this.budget = budget;
+        this.deadlineNanos = deadlineNanos;
+        this.chosen = new String[candidates.length];
+        this.minRest = new long[candidates.length + 1];
+        for (int d = candidates.length - 1; d >= 0; d--) {
+            minRest[d] = minRest[d + 1] + Arrays.stream(values[d]).min().orElse(0);
+        }
+    }
+
+    /**
+     * Player per slot (same order as {@code slotCandidates}), {@code null} where a slot could
+     * not be filled within the budget.
+     */
+    static String[] solve(List<List<String>> slotCandidates, ToLongFunction<String> valueOf,
+                          long budgetCents, long deadlineNanos) {
+        // Adayı olmayan slotlar zaten boş kalır; kalanlar en kısıtlı olandan başlayarak aranır
+        List<List<String>> known = new ArrayList<>(slotCandidates.size());
+        for (List<String> list : slotCandidates) {
+            known.add(list.stream().filter(id -> MarketValue.isKnown(valueOf.applyAsLong(id))).toList());
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < known.size(); i++) {
+            if (!known.get(i).isEmpty()) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparingInt(i -> known.get(i).size()));
+
+        String[][] candidates = new String[order.size()][];
+        long[][] values = new long[order.size()][];
+        for (int d = 0; d < order.size(); d++) {
+            List<String> list = known.get(order.get(d));
+            candidates[d] = list.toArray(new String[0]);
+            values[d] = new long[list.size()];
+            for (int c = 0; c < list.size(); c++) {
+                values[d][c] = valueOf.applyAsLong(list.get(c));
+            }
+        }
+
+        BudgetedSquadSolver solver = new BudgetedSquadSolver(candidates, values, budgetCents, deadlineNanos);
+        if (!solver.search(0, 0)) {
+            solver.fillGreedily();
+        }
+
+        String[] result = new String[slotCandidates.size()];
+        for (int d = 0; d < order.size(); d++) {
+            result[order.get(d)] = solver.chosen[d];
+        }
+        return result;
+    }
+
+    private boolean search(int depth, long spent) {
+        if (depth == candidates.length) {
+            return true;
+        }
+        if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadlineNanos) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return false;
+        }
+        String[] slotCandidates = candidates[depth];
+        long[] slotValues = values[depth];
+        for (int c = 0; c < slotCandidates.length; c++) {
+            long total = spent + slotValues[c];
+            if (total + minRest[depth + 1] > budget || !used.add(slotCandidates[c])) {
+                continue;
+            }
+            chosen[depth] = slotCandidates[c];
+            if (search(depth + 1, total)) {
+                return true;
+            }
+            used.remove(slotCandidates[c]);
+            if (timedOut) {
+                break;
+            }
+        }
+        chosen[depth] = null;
+        return false;
+    }
+
+    // Tercih sırasında ilk karşılanabilir aday; kalan slotlar için en ucuz tamamlanma payı bırakılır
+    private void fillGreedily() {
+        used.clear();
+        Arrays.fill(chosen, null);
+        long spent = 0;
+        for (int d = 0; d < candidates.length; d++) {
+            int pick = -1;
+            for (int c = 0; c < candidates[d].length; c++) {
+                long total = spent + values[d][c];
+                if (total > budget || used.contains(candidates[d][c])) {
+                    continue;
+                }
+                if (total + minRest[d + 1] <= budget) {
+                    pick = c;
+                    break;
+                }
+                if (pick < 0 || values[d][c] < values[d][pick]) {
+                    pick = c; // Pay bırakılamıyorsa en azından en ucuzu
+                }
+            }
+            if (pick >= 0) {
+                chosen[d] = candidates[d][pick];
+                used.add(chosen[d]);
+                spent += values[d][pick];
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.domain.model.RoomStatus;
+import com.roulettedraft.store.RoomStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Holds the draft state of active rooms in memory and runs every command for a room on that
+ * room's single-writer lane (see {@link RoomCommandExecutor}). State is hydrated from MongoDB
+ * on first use and dropped when the draft finishes, so validation never needs a database read.
+ */
+@Component
+@Slf4j
+public class DraftEngine {
+    private final RoomStore roomStore;
+    private final RoomCommandExecutor roomCommands;
+    private final ConcurrentHashMap<String, RoomDraftState> states = new ConcurrentHashMap<>();
+
+    public DraftEngine(RoomStore roomStore, RoomCommandExecutor roomCommands) {
+        this.roomStore = roomStore;
+        this.roomCommands = roomCommands;
+    }
+
+    /**
+     * Runs {@code command} on the room's lane and waits for it. The command receives the
+     * room state, or {@code null} if the room does not exist. Runtime exceptions thrown by
+     * the command are rethrown unchanged to the caller.
+     */
+    public <T> T execute(String roomId, String commandName, Function<RoomDraftState, T> command) {
+        return roomCommands.call(roomId, commandName, () -> command.apply(load(roomId).orElse(null)));
+    }
+
+    // Bekleme yapmadan lane'e komut bırak (timer thread'leri gibi bloklanmaması gereken yerler için)
+    public <T> CompletableFuture<T> submit(String roomId, String commandName, Function<RoomDraftState, T> command) {
+        return roomCommands.submit(roomId, commandName, () -> command.apply(load(roomId).orElse(null)));
+    }
+
+    /**
+     * Runs {@code command} on the room's lane and keeps the lane for it until the stage the
+     * command returns completes (see {@link RoomCommandExecutor#submitAsync}). Continuations
+     * touching the state must run on {@link #onLane(String)}.
+     */
+    public <T> CompletableFuture<T> submitAsync(String roomId, String commandName,
+                                                Function<RoomDraftState, CompletionStage<T>> command) {
+        return roomCommands.submitAsync(roomId, commandName, () -> command.apply(load(roomId).orElse(null)));
+    }
+
+    public Executor onLane(String roomId) {
+        return roomCommands.onLane(roomId);
+    }
+
+    // Draft başlarken state'i DB'ye tekrar gitmeden hazırla
+    public void prime(Room room, List<RoomParticipant> participants) {
+        roomCommands.call(room.getId(), "prime", () -> {
+            if (room.getStatus() == RoomStatus.DRAFTING) {
+                states.put(room.getId(), new RoomDraftState(room, participants));
+            } else {
+                states.remove(room.getId());
+            }
+            return null;
+        });
+    }
+
+    public void evict(String roomId) {
+        roomCommands.execute(roomId, "evict", () -> states.remove(roomId));
+    }
+
+    public int activeRooms() {
+        return states.size();
+    }
+
+    // Sadece lane içinden çağrılmalı
+    void forget(String roomId) {
+        states.remove(roomId);
+    }
+
+    private Optional<RoomDraftState> load(String roomId) {
+        RoomDraftState cached = states.get(roomId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<RoomStore.LoadedRoom> loaded = roomStore.load(roomId);
+        if (loaded.isEmpty()) {
+            return Optional.empty();
+        }
+        RoomDraftState state = new RoomDraftState(loaded.get().room(), loaded.get().participants());
+        if (state.getStatus() == RoomStatus.DRAFTING) {
+            states.put(roomId, state);
+            log.debug("[room:{}] Draft state hydrated: {} picks of {}", roomId, state.getPickCount(), state.getTotalPicksNeeded());
+        }
+        return Optional.of(state);
+    }
+}
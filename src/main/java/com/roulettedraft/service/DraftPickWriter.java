@@ -0,0 +1,123 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.store.RoomStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit writer for picks. Appends from all rooms are collected for a short window
+ * (or until the batch is full) and handed to the {@link RoomStore} as one batch, which
+ * writes it with unordered bulk operations. A pick's future completes only after its batch
+ * has been written.
+ */
+@Component
+@Slf4j
+public class DraftPickWriter {
+    private final RoomStore roomStore;
+    private final BlockingQueue<PendingPick> queue;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public DraftPickWriter(RoomStore roomStore,
+                           @Value("${draft.persistence.batch-window-ms:3}") long windowMs,
+                           @Value("${draft.persistence.batch-max-ops:256}") int maxBatch,
+                           @Value("${draft.persistence.queue-capacity:10000}") int queueCapacity) {
+        this.roomStore = roomStore;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.flusher = new Thread(this::runFlusher, "draft-pick-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public CompletableFuture<Void> append(PickRecord record) {
+        PendingPick pending = new PendingPick(record, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new RuntimeException("Pick writer is overloaded, try again"));
+        }
+        return pending.future;
+    }
+
+    // Pick olmadan sıra değişimi (timeout skip/forfeit); nadir olduğu için batch'e girmez
+    public void advanceTurn(String roomId, String userId, Integer rosterSizeLimit,
+                            int nextPickIndex, boolean draftComplete) {
+        roomStore.advanceTurn(roomId, userId, rosterSizeLimit, nextPickIndex, draftComplete);
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void runFlusher() {
+        List<PendingPick> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPick first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingPick next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } catch (Throwable t) {
+                log.error("Pick batch flush failed", t);
+                batch.forEach(p -> p.future.completeExceptionally(t));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPick> batch) {
+        long start = System.nanoTime();
+        List<PickRecord> records = new ArrayList<>(batch.size());
+        batch.forEach(p -> records.add(p.record));
+        List<RuntimeException> errors = roomStore.writePicks(records);
+
+        int committed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            RuntimeException error = errors.get(i);
+            if (error == null) {
+                batch.get(i).future.complete(null);
+                committed++;
+            } else {
+                batch.get(i).future.completeExceptionally(error);
+            }
+        }
+        log.debug("Flushed {} of {} picks in {} µs", committed, batch.size(), (System.nanoTime() - start) / 1_000);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private record PendingPick(PickRecord record, CompletableFuture<Void> future) {
+    }
+}
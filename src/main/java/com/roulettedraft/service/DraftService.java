@@ -1,187 +1,355 @@
 package com.roulettedraft.service;
 
 import com.roulettedraft.domain.model.DraftPick;
-import com.roulettedraft.domain.model.Room;
-import com.roulettedraft.domain.model.RoomParticipant;
 import com.roulettedraft.domain.model.RoomStatus;
-import com.roulettedraft.dto.RoomDto;
 import com.roulettedraft.dto.websocket.ErrorEvent;
 import com.roulettedraft.dto.websocket.PickMadeEvent;
-import com.roulettedraft.mapper.DtoMapper;
-import com.roulettedraft.repository.DraftPickRepository;
+import com.roulettedraft.dto.websocket.StatusChangedEvent;
+import com.roulettedraft.dto.websocket.TurnSkippedEvent;
 import com.roulettedraft.repository.PlayerRepository;
-import com.roulettedraft.repository.RoomParticipantRepository;
-import com.roulettedraft.repository.RoomRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DraftService {
-    private final RoomRepository roomRepository;
-    private final RoomParticipantRepository participantRepository;
-    private final DraftPickRepository draftPickRepository;
+    @Value("${draft.timer.expiry-policy:AUTO_PICK}")
+    private TimerExpiryPolicy expiryPolicy;
+    
     private final PlayerRepository playerRepository;
+    private final PlayerCatalog playerCatalog;
+    private final DraftEngine draftEngine;
+    private final DraftPickWriter draftPickWriter;
     private final WebSocketService webSocketService;
-    private final MongoTemplate mongoTemplate;
     private final TimerService timerService;
-    private final DtoMapper dtoMapper;
+    private final AutoPickSelector autoPickSelector;
+    private final RoomSnapshotCache roomSnapshots;
+    private final Timer pickSucceeded;
+    private final Timer pickRejected;
+    private final Timer validationPhase;
+    private final Timer persistencePhase;
+    private final Timer broadcastPhase;
+
+    public DraftService(PlayerRepository playerRepository,
+                        PlayerCatalog playerCatalog,
+                        DraftEngine draftEngine,
+                        DraftPickWriter draftPickWriter,
+                        WebSocketService webSocketService,
+                        TimerService timerService,
+                        AutoPickSelector autoPickSelector,
+                        RoomSnapshotCache roomSnapshots,
+                        MeterRegistry meterRegistry) {
+        this.playerRepository = playerRepository;
+        this.playerCatalog = playerCatalog;
+        this.draftEngine = draftEngine;
+        this.draftPickWriter = draftPickWriter;
+        this.webSocketService = webSocketService;
+        this.timerService = timerService;
+        this.autoPickSelector = autoPickSelector;
+        this.roomSnapshots = roomSnapshots;
+        this.pickSucceeded = pickTimer(meterRegistry, "ok");
+        this.pickRejected = pickTimer(meterRegistry, "error");
+        this.validationPhase = phaseTimer(meterRegistry, "validation");
+        this.persistencePhase = phaseTimer(meterRegistry, "persistence");
+        this.broadcastPhase = phaseTimer(meterRegistry, "broadcast");
+        Gauge.builder("draft.rooms.active", draftEngine, DraftEngine::activeRooms)
+                .description("Rooms whose draft state is held in memory")
+                .register(meterRegistry);
+    }
 
-    @Transactional
+    // Bloklayan sürüm (benchmark'lar için); hatalar sarılmadan fırlatılır
     public void makePick(String roomId, String userId, String playerId) {
+        try {
+            makePickAsync(roomId, userId, playerId).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Hands the pick to the room's lane without waiting: the returned future completes once
+     * the pick is persisted, or exceptionally with the rejection. The lane stays reserved for
+     * the pick until then, but no thread waits for the group commit.
+     */
+    public CompletableFuture<Void> makePickAsync(String roomId, String userId, String playerId) {
         log.info("[room:{}] User {} picking player {}", roomId, userId, playerId);
-        
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> {
-                    sendError(roomId, "ROOM_NOT_FOUND", "Room not found");
-                    return new RuntimeException("Room not found: " + roomId);
+        long start = System.nanoTime();
+        return draftEngine.submitAsync(roomId, "pick", state -> pick(roomId, state, userId, playerId))
+                .whenComplete((ignored, error) ->
+                        // Lane'de bekleme dahil uçtan uca süre
+                        (error == null ? pickSucceeded : pickRejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    // Timer thread'ini bloklamamak için lane'e bırakılır ve beklenmez
+    @EventListener
+    public void onPickTimerExpired(PickTimerExpiredEvent event) {
+        draftEngine.submitAsync(event.getRoomId(), "timer-expiry", state -> handleExpiry(state, event))
+                .exceptionally(e -> {
+                    log.error("[room:{}] Timer expiry handling failed", event.getRoomId(), e);
+                    return null;
                 });
+    }
+
+    private CompletableFuture<Void> handleExpiry(RoomDraftState state, PickTimerExpiredEvent event) {
+        String roomId = event.getRoomId();
+        String userId = event.getUserId();
+        // Bu arada pick yapıldıysa / sıra değiştiyse event eskidir
+        if (state == null || state.getStatus() != RoomStatus.DRAFTING
+                || state.getCurrentPickIndex() != event.getPickIndex()
+                || !userId.equals(state.currentUserId())) {
+            log.debug("[room:{}] Ignoring stale timer expiry for {} at index {}", roomId, userId, event.getPickIndex());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        switch (expiryPolicy) {
+            case AUTO_PICK -> {
+                String playerId = autoPickSelector.choose(state, userId);
+                if (playerId == null) {
+                    log.warn("[room:{}] No player available for auto-pick, skipping {}", roomId, userId);
+                    skip(roomId, state, userId, "TIMEOUT");
+                    return CompletableFuture.completedFuture(null);
+                }
+                log.info("[room:{}] Auto-picking player {} for user {}", roomId, playerId, userId);
+                return pick(roomId, state, userId, playerId);
+            }
+            case SKIP -> skip(roomId, state, userId, "TIMEOUT");
+            case FORFEIT -> forfeit(roomId, state, userId);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void skip(String roomId, RoomDraftState state, String userId, String reason) {
+        int nextPickIndex = state.nextPickIndex(userId, 0);
+        draftPickWriter.advanceTurn(roomId, null, null, nextPickIndex, false);
+        roomSnapshots.invalidate(roomId);
+        state.skipTurn(nextPickIndex);
+        log.info("[room:{}] Turn of user {} skipped ({})", roomId, userId, reason);
+
+        timerService.resetTimer(roomId, state.currentUserId(), state.getCurrentPickIndex());
+        broadcastTurnSkipped(roomId, state, userId, reason);
+    }
+
+    private void forfeit(String roomId, RoomDraftState state, String userId) {
+        state.forfeit(userId);
+        int nextPickIndex = state.isComplete() ? state.getCurrentPickIndex() : state.nextPickIndex(userId, 0);
+        draftPickWriter.advanceTurn(roomId, userId, state.getRosterLimits().get(userId),
+                nextPickIndex, state.isComplete());
+        roomSnapshots.invalidate(roomId);
+        state.skipTurn(nextPickIndex);
+        log.info("[room:{}] User {} forfeited remaining picks", roomId, userId);
+
+        if (state.isComplete()) {
+            draftEngine.forget(roomId);
+            timerService.cancelTimer(roomId);
+            broadcastTurnSkipped(roomId, state, userId, "FORFEIT");
+            broadcastDraftDone(roomId, state);
+            log.info("[room:{}] Draft completed", roomId);
+            return;
+        }
+        timerService.resetTimer(roomId, state.currentUserId(), state.getCurrentPickIndex());
+        broadcastTurnSkipped(roomId, state, userId, "FORFEIT");
+    }
+
+    private void broadcastTurnSkipped(String roomId, RoomDraftState state, String userId, String reason) {
+        webSocketService.broadcastTurnSkipped(roomId, TurnSkippedEvent.builder()
+                .roomId(roomId)
+                .userId(userId)
+                .reason(reason)
+                .currentPickIndex(state.getCurrentPickIndex())
+                .nextUserId(state.currentUserId())
+                .rosterSizeLimit("FORFEIT".equals(reason) ? state.getRosterLimits().get(userId) : null)
+                .build());
+    }
+
+    /**
+     * Runs on the room's lane: validation works on the in-memory state only, then the pick is
+     * appended to the group commit. The rest continues on the lane once the write is
+     * acknowledged; the returned future completes after that.
+     */
+    private CompletableFuture<Void> pick(String roomId, RoomDraftState state, String userId, String playerId) {
+        long phaseStart = System.nanoTime();
+        if (state == null) {
+            sendError(roomId, "ROOM_NOT_FOUND", "Room not found");
+            throw new RuntimeException("Room not found: " + roomId);
+        }
         
         // Validate room status
-        if (room.getStatus() != RoomStatus.DRAFTING) {
+        if (state.getStatus() != RoomStatus.DRAFTING) {
             sendError(roomId, "INVALID_STATUS", "Room is not in DRAFTING status");
             throw new RuntimeException("Room is not in DRAFTING status");
         }
         
         // Validate turn
-        List<String> pickOrder = room.getPickOrder();
-        if (room.getCurrentPickIndex() >= pickOrder.size()) {
+        if (state.isComplete()) {
             sendError(roomId, "DRAFT_COMPLETE", "Draft is complete");
             throw new RuntimeException("Draft is complete");
         }
         
-        String currentUserId = pickOrder.get(room.getCurrentPickIndex());
-        if (!currentUserId.equals(userId)) {
+        String currentUserId = state.currentUserId();
+        if (!userId.equals(currentUserId)) {
             sendError(roomId, "NOT_YOUR_TURN", "It's not your turn");
             throw new RuntimeException("Not your turn. Current player: " + currentUserId);
         }
         
         // Check if player already picked
-        if (draftPickRepository.existsByRoomIdAndPlayerId(roomId, playerId)) {
+        if (state.isPicked(playerId)) {
             sendError(roomId, "PLAYER_ALREADY_PICKED", "Player already selected");
             throw new RuntimeException("Player already picked");
         }
         
-        // Validate player exists
-        if (!playerRepository.existsById(playerId)) {
+        // Validate player exists (catalog'da yoksa yeni eklenmiş olabilir, DB'ye sor)
+        if (playerCatalog.findById(playerId).isEmpty() && !playerRepository.existsById(playerId)) {
             sendError(roomId, "PLAYER_NOT_FOUND", "Player not found");
             throw new RuntimeException("Player not found: " + playerId);
         }
         
         // Check user's roster limit
-        RoomParticipant participant = participantRepository.findByRoomIdAndUserId(roomId, userId)
-                .orElseThrow(() -> {
-                    sendError(roomId, "PARTICIPANT_NOT_FOUND", "Participant not found");
-                    return new RuntimeException("Participant not found");
-                });
+        if (!state.hasParticipant(userId)) {
+            sendError(roomId, "PARTICIPANT_NOT_FOUND", "Participant not found");
+            throw new RuntimeException("Participant not found");
+        }
         
-        if (participant.getSelectedPlayerIds().size() >= participant.getRosterSizeLimit()) {
+        if (state.isRosterFull(userId)) {
             sendError(roomId, "ROSTER_LIMIT_REACHED", "Roster limit reached");
             throw new RuntimeException("Roster limit reached");
         }
         
-        // Atomik update ile pick yap
-        long pickNo = draftPickRepository.countByRoomId(roomId) + 1;
-        Long currentVersion = room.getVersion();
-        
-        Query query = new Query(Criteria.where("_id").is(roomId)
-                .and("status").is(RoomStatus.DRAFTING)
-                .and("currentPickIndex").is(room.getCurrentPickIndex())
-                .and("version").is(currentVersion));
-        
-        Update update = new Update()
-                .inc("currentPickIndex", 1)
-                .inc("version", 1);
+        // Bütçeli odalarda kadronun toplam piyasa değeri bütçeyi aşamaz; değeri bilinmeyen oyuncu seçilemez
+        long playerValue = playerCatalog.marketValueCents(playerId);
+        if (state.getBudgetCents() != null && !MarketValue.isKnown(playerValue)) {
+            log.warn("[room:{}] Pick of player {} without a known market value rejected", roomId, playerId);
+            sendError(roomId, "MARKET_VALUE_UNKNOWN", "Player has no known market value");
+            throw new RuntimeException("Market value unknown");
+        }
+        if (state.getBudgetCents() != null && playerCatalog.totalMarketValueCents(state.rosterOf(userId))
+                + playerValue > state.getBudgetCents()) {
+            sendError(roomId, "BUDGET_EXCEEDED", "Player does not fit the remaining budget");
+            throw new RuntimeException("Budget exceeded");
+        }
         
-        Room updatedRoom = mongoTemplate.findAndModify(query, update, Room.class);
+        phaseStart = recordPhase(validationPhase, phaseStart);
         
-        if (updatedRoom == null) {
-            log.warn("[room:{}] Concurrent modification detected", roomId);
-            sendError(roomId, "CONCURRENT_MODIFICATION", "Concurrent modification detected");
-            throw new RuntimeException("Concurrent modification");
-        }
+        int pickNo = state.getPickCount() + 1;
+        int nextPickIndex = state.nextPickIndex(userId, 1);
+        boolean draftComplete = pickNo >= state.getTotalPicksNeeded();
         
-        // Create draft pick
         DraftPick draftPick = DraftPick.builder()
                 .id(UUID.randomUUID().toString())
                 .roomId(roomId)
                 .userId(userId)
                 .playerId(playerId)
-                .pickNo((int) pickNo)
+                .pickNo(pickNo)
+                .nextPickIndex(nextPickIndex)
                 .build();
         
-        draftPickRepository.save(draftPick);
-        
-        // Update participant's selected players
-        participant.getSelectedPlayerIds().add(playerId);
-        participantRepository.save(participant);
-        
+        long persistStart = phaseStart;
+        return draftPickWriter.append(PickRecord.builder()
+                .pick(draftPick)
+                .participantId(state.getParticipantIds().get(userId))
+                .nextPickIndex(nextPickIndex)
+                .draftComplete(draftComplete)
+                .build()).handleAsync((ignored, error) -> {
+            long committedAt = recordPhase(persistencePhase, persistStart);
+            if (error != null) {
+                pickNotPersisted(roomId, pickNo, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+            applyPick(roomId, state, userId, playerId, pickNo, nextPickIndex, draftComplete, committedAt);
+            return null;
+        }, draftEngine.onLane(roomId));
+    }
+
+    private void pickNotPersisted(String roomId, int pickNo, Throwable cause) {
+        // State'i bırak, bir sonraki komut DB'den yeniden yüklesin
+        draftEngine.forget(roomId);
+        roomSnapshots.invalidate(roomId);
+        if (cause instanceof DuplicateKeyException) {
+            // Başka bir node/instance bu odaya yazmış
+            log.warn("[room:{}] Pick {} conflicts with a concurrent writer", roomId, pickNo);
+            sendError(roomId, "CONCURRENT_MODIFICATION", "Concurrent modification detected");
+            throw new RuntimeException("Concurrent modification");
+        }
+        sendError(roomId, "PERSISTENCE_FAILED", "Pick could not be saved");
+        throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+
+    // Pick DB'de; lane'de, commit onayından sonra çalışır
+    private void applyPick(String roomId, RoomDraftState state, String userId, String playerId,
+                           int pickNo, int nextPickIndex, boolean draftComplete, long phaseStart) {
+        // Sonraki okuma snapshot'ı yeniden kurar
+        roomSnapshots.invalidate(roomId);
+        state.applyPick(userId, playerId, nextPickIndex);
         log.info("[room:{}] Pick {} made by user {} for player {}", roomId, pickNo, userId, playerId);
         
-        // Check if draft is complete
-        updatedRoom = roomRepository.findById(roomId).orElse(updatedRoom);
-        boolean draftComplete = checkIfDraftComplete(updatedRoom);
-        
         if (draftComplete) {
-            updatedRoom.setStatus(RoomStatus.DONE);
-            roomRepository.save(updatedRoom);
+            draftEngine.forget(roomId);
+            timerService.cancelTimer(roomId);
             log.info("[room:{}] Draft completed", roomId);
+        } else {
+            // Reset timer for next pick
+            timerService.resetTimer(roomId, state.currentUserId(), state.getCurrentPickIndex());
         }
         
-        // Reset timer for next pick
-        timerService.resetTimer(roomId);
-        
         // Broadcast pick made event
         PickMadeEvent event = PickMadeEvent.builder()
                 .roomId(roomId)
                 .userId(userId)
                 .playerId(playerId)
-                .pickNo((int) pickNo)
-                .currentPickIndex(updatedRoom.getCurrentPickIndex())
-                .nextUserId(getNextUserId(updatedRoom))
+                .pickNo(pickNo)
+                .currentPickIndex(state.getCurrentPickIndex())
+                .nextUserId(state.currentUserId())
                 .build();
         
         webSocketService.broadcastPickMade(roomId, event);
         
-        // If draft complete, broadcast room update
         if (draftComplete) {
-            RoomDto roomDto = toRoomDtoWithParticipants(updatedRoom);
-            webSocketService.broadcastRoomUpdate(roomId, roomDto);
+            broadcastDraftDone(roomId, state);
         }
+        recordPhase(broadcastPhase, phaseStart);
     }
-    
-    private boolean checkIfDraftComplete(Room room) {
-        List<RoomParticipant> participants = participantRepository.findByRoomId(room.getId());
-        int totalPicksNeeded = participants.stream()
-                .mapToInt(p -> p.getRosterSizeLimit())
-                .sum();
-        
-        long currentPicks = draftPickRepository.countByRoomId(room.getId());
-        return currentPicks >= totalPicksNeeded;
+
+    // Fazın süresini kaydeder, bir sonraki fazın başlangıcını döner
+    private static long recordPhase(Timer phase, long phaseStart) {
+        long now = System.nanoTime();
+        phase.record(now - phaseStart, TimeUnit.NANOSECONDS);
+        return now;
     }
-    
-    private String getNextUserId(Room room) {
-        if (room.getCurrentPickIndex() >= room.getPickOrder().size()) {
-            return null;
-        }
-        return room.getPickOrder().get(room.getCurrentPickIndex());
+
+    private static Timer pickTimer(MeterRegistry registry, String result) {
+        return Timer.builder("draft.pick")
+                .description("End-to-end makePick latency, including the wait for the room lane")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer phaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("draft.pick.phase")
+                .description("Time spent in one phase of a pick on the room lane")
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
     }
     
-    private RoomDto toRoomDtoWithParticipants(Room room) {
-        List<RoomParticipant> participants = participantRepository.findByRoomId(room.getId());
-        RoomDto dto = dtoMapper.toRoomDto(room);
-        dto.setParticipants(dtoMapper.toRoomParticipantDtoList(participants));
-        return dto;
+    private void broadcastDraftDone(String roomId, RoomDraftState state) {
+        webSocketService.broadcastStatusChanged(roomId, StatusChangedEvent.builder()
+                .roomId(roomId)
+                .status(RoomStatus.DONE)
+                .currentPickIndex(state.getCurrentPickIndex())
+                .build());
     }
     
     private void sendError(String roomId, String reason, String message) {
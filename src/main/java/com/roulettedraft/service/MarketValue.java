@@ -0,0 +1,112 @@
+package com.roulettedraft.service;
+
+import java.util.Locale;
+
+/**
+ * Parses the display strings stored in {@code market_value} ("€250k", "€1.50m", "€1bn",
+ * "€500Th.", "€1,500,000") into euro cents. Missing or unparseable values are {@link #UNKNOWN},
+ * which budget checks must treat as unaffordable rather than free.
+ */
+public final class MarketValue {
+    public static final long UNKNOWN = -1L;
+
+    private MarketValue() {
+    }
+
+    public static boolean isKnown(long cents) {
+        return cents >= 0;
+    }
+
+    public static long toCents(String display) {
+        if (display == null) {
+            return UNKNOWN;
+        }
+        String value = display.trim().toLowerCase(Locale.ROOT);
+        int start = 0;
+        while (start < value.length() && !Character.isDigit(value.charAt(start))) {
+            start++; // Para birimi sembolü
+        }
+        int end = start;
+        while (end < value.length() && (Character.isDigit(value.charAt(end)) || value.charAt(end) == '.' || value.charAt(end) == ',')) {
+            end++;
+        }
+        if (start == end) {
+            return UNKNOWN; // "-" gibi değersiz oyuncular
+        }
+
+        String suffix = value.substring(end).trim();
+        long multiplier;
+        if (suffix.startsWith("bn")) {
+            multiplier = 1_000_000_000L;
+        } else if (suffix.startsWith("m")) {
+            multiplier = 1_000_000L;
+        } else if (suffix.startsWith("k") || suffix.startsWith("th")) {
+            multiplier = 1_000L;
+        } else {
+            multiplier = 1L;
+        }
+        String amount = normalize(value.substring(start, end), multiplier == 1L);
+        if (amount == null) {
+            return UNKNOWN;
+        }
+        try {
+            return Math.round(Double.parseDouble(amount) * multiplier * 100);
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Rewrites the number with '.' as the only decimal separator. With both '.' and ',' the last
+     * one is the decimal separator; a separator that repeats is a thousands separator; a single
+     * one is a thousands separator only without a unit suffix and with exactly three digits after
+     * it ("€1,500" but "€1.50m"). Thousands groups must have three digits, otherwise {@code null}.
+     */
+    private static String normalize(String number, boolean plain) {
+        int dots = count(number, '.');
+        int commas = count(number, ',');
+        char decimal;
+        if (dots > 0 && commas > 0) {
+            decimal = number.lastIndexOf('.') > number.lastIndexOf(',') ? '.' : ',';
+        } else if (dots + commas == 0) {
+            return number;
+        } else {
+            char separator = dots > 0 ? '.' : ',';
+            boolean grouping = dots + commas > 1
+                    || plain && number.length() - number.indexOf(separator) - 1 == 3;
+            decimal = grouping ? 0 : separator;
+        }
+
+        int decimalAt = decimal != 0 ? number.lastIndexOf(decimal) : number.length();
+        if (decimal != 0 && number.indexOf(decimal) != decimalAt) {
+            return null; // "1,5,0" gibi birden fazla ondalık ayırıcı
+        }
+        String integer = number.substring(0, decimalAt);
+        String[] groups = integer.split("[.,]", -1);
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i].isEmpty() || i > 0 && groups[i].length() != 3) {
+                return null; // Binlik gruplar 3 haneli olmalı
+            }
+        }
+        String fraction = decimal != 0 ? number.substring(decimalAt + 1) : "";
+        if (decimal != 0 && (fraction.isEmpty() || fraction.indexOf('.') >= 0 || fraction.indexOf(',') >= 0)) {
+            return null;
+        }
+        return String.join("", groups) + (fraction.isEmpty() ? "" : "." + fraction);
+    }
+
+    private static int count(String s, char c) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == c) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    // Euro olarak verilen bütçeyi cent'e çevir
+    public static Long eurosToCents(Long euros) {
+        return euros != null ? euros * 100 : null;
+    }
+}
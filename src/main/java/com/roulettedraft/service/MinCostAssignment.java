@@ -0,0 +1,117 @@
+package com.roulettedraft.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment of rows to capacitated groups, solved as a min-cost flow with
+ * successive shortest paths (SPFA). Each row is assigned to exactly one group; the caller has
+ * to make sure the total capacity covers all rows.
+ */
+final class MinCostAssignment {
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    // Kenarlar çiftler halinde eklenir: e ve e ^ 1 birbirinin tersidir
+    private final int[] to;
+    private final int[] capacity;
+    private final long[] cost;
+    private final int[] next;  // Aynı düğümden çıkan bir sonraki kenar
+    private final int[] head;  // Düğümden çıkan ilk kenar, -1 = yok
+    private int edgeCount;
+
+    private MinCostAssignment(int nodes, int maxEdges) {
+        this.to = new int[maxEdges * 2];
+        this.capacity = new int[maxEdges * 2];
+        this.cost = new long[maxEdges * 2];
+        this.next = new int[maxEdges * 2];
+        this.head = new int[nodes];
+        Arrays.fill(head, -1);
+    }
+
+    // rowCosts[r][g]: satır r'yi grup g'ye atamanın maliyeti; groupCapacity[g]: grubun alabileceği satır sayısı
+    static int[] solve(long[][] rowCosts, int[] groupCapacity) {
+        int rows = rowCosts.length;
+        int groups = groupCapacity.length;
+        int source = 0;
+        int sink = rows + groups + 1;
+        MinCostAssignment graph = new MinCostAssignment(rows + groups + 2, rows + rows * groups + groups);
+
+        int[][] rowEdges = new int[rows][groups];
+        for (int r = 0; r < rows; r++) {
+            graph.addEdge(source, 1 + r, 1, 0);
+            for (int g = 0; g < groups; g++) {
+                rowEdges[r][g] = graph.addEdge(1 + r, 1 + rows + g, 1, rowCosts[r][g]);
+            }
+        }
+        for (int g = 0; g < groups; g++) {
+            graph.addEdge(1 + rows + g, sink, groupCapacity[g], 0);
+        }
+
+        long[] dist = new long[rows + groups + 2];
+        int[] viaEdge = new int[rows + groups + 2];
+        boolean[] queued = new boolean[rows + groups + 2];
+        for (int flow = 0; flow < rows; flow++) {
+            if (!graph.augment(source, sink, dist, viaEdge, queued)) {
+                throw new IllegalArgumentException("Group capacity does not cover " + rows + " rows");
+            }
+        }
+
+        int[] assignment = new int[rows];
+        for (int r = 0; r < rows; r++) {
+            for (int g = 0; g < groups; g++) {
+                if (graph.capacity[rowEdges[r][g]] == 0) {
+                    assignment[r] = g;
+                    break;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    private int addEdge(int from, int target, int edgeCapacity, long edgeCost) {
+        int e = edgeCount;
+        link(e, from, target, edgeCapacity, edgeCost);
+        link(e + 1, target, from, 0, -edgeCost);
+        edgeCount += 2;
+        return e;
+    }
+
+    private void link(int e, int from, int target, int edgeCapacity, long edgeCost) {
+        to[e] = target;
+        capacity[e] = edgeCapacity;
+        cost[e] = edgeCost;
+        next[e] = head[from];
+        head[from] = e;
+    }
+
+    // En ucuz artıran yol üzerinden bir birim akış gönder
+    private boolean augment(int source, int sink, long[] dist, int[] viaEdge, boolean[] queued) {
+        Arrays.fill(dist, INF);
+        dist[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            queued[node] = false;
+            for (int e = head[node]; e != -1; e = next[e]) {
+                int target = to[e];
+                if (capacity[e] > 0 && dist[node] + cost[e] < dist[target]) {
+                    dist[target] = dist[node] + cost[e];
+                    viaEdge[target] = e;
+                    if (!queued[target]) {
+                        queued[target] = true;
+                        queue.add(target);
+                    }
+                }
+            }
+        }
+        if (dist[sink] == INF) {
+            return false;
+        }
+        for (int node = sink; node != source; node = to[viaEdge[node] ^ 1]) {
+            capacity[viaEdge[node]]--;
+            capacity[viaEdge[node] ^ 1]++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.DraftPick;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class PickRecord {
+    private final DraftPick pick;
+    private final String participantId;
+    private final int nextPickIndex;
+    private final boolean draftComplete;
+}
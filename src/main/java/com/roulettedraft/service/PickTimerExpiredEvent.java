@@ -0,0 +1,12 @@
+package com.roulettedraft.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class PickTimerExpiredEvent {
+    private final String roomId;
+    private final String userId;
+    private final int pickIndex;
+}
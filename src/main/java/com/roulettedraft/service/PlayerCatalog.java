@@ -0,0 +1,199 @@
+package com.roulettedraft.service;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.roulettedraft.domain.model.Player;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory, read-only copy of the player collection. Reads never touch MongoDB once the
+ * first snapshot is loaded; refreshes are driven by a change stream, with polling as fallback
+ * when change streams are unavailable (standalone mongod, missing privileges).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerCatalog {
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<PlayerCatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean changeStreamActive = new AtomicBoolean(false);
+    private volatile boolean running = true;
+    private volatile Thread watcher;
+
+    @Value("${draft.catalog.change-stream-enabled:true}")
+    private boolean changeStreamEnabled;
+
+    public PlayerCatalogSnapshot snapshot() {
+        PlayerCatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            return current != null ? current : refresh();
+        }
+    }
+
+    public List<Player> getAll() {
+        return snapshot().getPlayers();
+    }
+
+    public Optional<Player> findById(String id) {
+        return snapshot().findById(id);
+    }
+
+    // Değeri parse edilemeyen veya catalog'da olmayan (yeni eklenmiş) oyuncular için MarketValue.UNKNOWN
+    public long marketValueCents(String playerId) {
+        return snapshot().marketValueCents(playerId);
+    }
+
+    // Kadroya zaten girmiş oyuncular toplanır; değeri bilinmeyenler toplama katılmaz
+    public long totalMarketValueCents(Collection<String> playerIds) {
+        PlayerCatalogSnapshot current = snapshot();
+        long total = 0;
+        for (String playerId : playerIds) {
+            total += Math.max(0, current.marketValueCents(playerId));
+        }
+        return total;
+    }
+
+    public List<Player> findByTeam(String team) {
+        return snapshot().findByTeam(team);
+    }
+
+    public List<Player> findByLeague(String league) {
+        return snapshot().findByLeague(league);
+    }
+
+    public List<Player> search(String team, String league, String position, String nationality) {
+        return snapshot().search(team, league, position, nationality);
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("Initial player catalog load failed, will retry on next poll", e);
+        }
+        if (changeStreamEnabled) {
+            Thread thread = new Thread(this::watchChanges, "player-catalog-watcher");
+            thread.setDaemon(true);
+            watcher = thread;
+            thread.start();
+        }
+    }
+
+    // Fallback: change stream yoksa periyodik olarak yeniden yükle
+    @Scheduled(fixedDelayString = "${draft.catalog.poll-interval-ms:60000}",
+            initialDelayString = "${draft.catalog.poll-interval-ms:60000}")
+    public void pollForChanges() {
+        if (changeStreamActive.get()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Player catalog poll failed: {}", e.getMessage());
+        }
+    }
+
+    public synchronized PlayerCatalogSnapshot refresh() {
+        long start = System.nanoTime();
+        List<Player> players = mongoTemplate.findAll(Player.class);
+        PlayerCatalogSnapshot previous = snapshot.get();
+
+        if (previous != null && previous.getPlayers().equals(players)) {
+            log.debug("Player catalog unchanged ({} players)", players.size());
+            return previous;
+        }
+
+        PlayerCatalogSnapshot next = new PlayerCatalogSnapshot(players, versions.incrementAndGet());
+        snapshot.set(next);
+        log.info("Player catalog loaded: {} players, version {} in {} ms",
+                next.size(), next.getVersion(), (System.nanoTime() - start) / 1_000_000);
+        if (next.getUnknownMarketValues() > 0) {
+            log.warn("{} players have no parseable market value and cannot be picked in budgeted rooms",
+                    next.getUnknownMarketValues());
+        }
+
+        PlayerCatalogSnapshot base = previous != null ? previous : PlayerCatalogSnapshot.EMPTY;
+        eventPublisher.publishEvent(new PlayerCatalogRefreshedEvent(base, next, changedTeams(base, next)));
+        return next;
+    }
+
+    private void watchChanges() {
+        String collection = mongoTemplate.getCollectionName(Player.class);
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor =
+                     mongoTemplate.getCollection(collection).watch().cursor()) {
+            changeStreamActive.set(true);
+            log.info("Watching '{}' change stream for catalog updates", collection);
+            while (running) {
+                cursor.next();
+                // Birden fazla değişikliği tek reload'da topla
+                while (cursor.tryNext() != null) {
+                    // drain
+                }
+                refresh();
+            }
+        } catch (Exception e) {
+            if (running) {
+                log.warn("Player catalog change stream unavailable, falling back to polling: {}", e.getMessage());
+            }
+        } finally {
+            changeStreamActive.set(false);
+        }
+    }
+
+    private static Set<String> changedTeams(PlayerCatalogSnapshot previous, PlayerCatalogSnapshot current) {
+        Set<String> changed = new HashSet<>();
+        collectChanged(previous.getByTeam(), current.getByTeam(), changed);
+        collectChanged(current.getByTeam(), previous.getByTeam(), changed);
+        return Set.copyOf(changed);
+    }
+
+    private static void collectChanged(Map<String, List<Player>> a, Map<String, List<Player>> b, Set<String> out) {
+        a.forEach((key, players) -> {
+            if (!Objects.equals(players, b.get(key))) {
+                players.forEach(p -> out.add(p.getTeam()));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = watcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
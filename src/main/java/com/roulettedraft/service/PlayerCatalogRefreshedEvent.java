@@ -0,0 +1,14 @@
+package com.roulettedraft.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public class PlayerCatalogRefreshedEvent {
+    private final PlayerCatalogSnapshot previous;
+    private final PlayerCatalogSnapshot current;
+    private final Set<String> changedTeams; // Team names (as stored) whose player list changed
+}
@@ -0,0 +1,139 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the player collection with secondary indexes.
+ * A new instance is built on every refresh and swapped in atomically by {@link PlayerCatalog}.
+ */
+@Getter
+public final class PlayerCatalogSnapshot {
+    public static final PlayerCatalogSnapshot EMPTY = new PlayerCatalogSnapshot(List.of(), 0L);
+
+    private final List<Player> players;
+    private final long version;
+    private final Instant loadedAt;
+    private final Map<String, Player> byId;
+    private final Map<String, List<Player>> byTeam;
+    private final Map<String, List<Player>> byLeague;
+    private final Map<String, List<Player>> byPosition;
+    private final Map<String, List<Player>> byNationality;
+    private final Map<String, Long> marketValueCents; // Yükleme sırasında bir kez parse edilir
+    private final int unknownMarketValues;
+
+    PlayerCatalogSnapshot(List<Player> players, long version) {
+        this.players = List.copyOf(players);
+        this.version = version;
+        this.loadedAt = Instant.now();
+
+        Map<String, Player> ids = new HashMap<>(players.size() * 2);
+        Map<String, Long> values = new HashMap<>(players.size() * 2);
+        int unknown = 0;
+        for (Player p : players) {
+            ids.put(p.getId(), p);
+            long cents = MarketValue.toCents(p.getMarketValue());
+            values.put(p.getId(), cents);
+            if (!MarketValue.isKnown(cents)) {
+                unknown++;
+            }
+        }
+        this.unknownMarketValues = unknown;
+        this.byId = Collections.unmodifiableMap(ids);
+        this.marketValueCents = Collections.unmodifiableMap(values);
+        this.byTeam = index(players, Player::getTeam);
+        this.byLeague = index(players, Player::getLeague);
+        this.byPosition = index(players, Player::getPosition);
+        this.byNationality = index(players, Player::getNationality);
+    }
+
+    public Optional<Player> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public long marketValueCents(String playerId) {
+        return marketValueCents.getOrDefault(playerId, MarketValue.UNKNOWN);
+    }
+
+    public List<Player> findByTeam(String team) {
+        return lookup(byTeam, team);
+    }
+
+    public List<Player> findByLeague(String league) {
+        return lookup(byLeague, league);
+    }
+
+    /**
+     * Case-insensitive exact match on every non-null filter. Starts from the smallest
+     * matching index bucket and checks the remaining filters on that bucket only.
+     */
+    public List<Player> search(String team, String league, String position, String nationality) {
+        List<Player> candidates = players;
+        if (team != null) candidates = smaller(candidates, lookup(byTeam, team));
+        if (league != null) candidates = smaller(candidates, lookup(byLeague, league));
+        if (position != null) candidates = smaller(candidates, lookup(byPosition, position));
+        if (nationality != null) candidates = smaller(candidates, lookup(byNationality, nationality));
+
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        List<Player> result = new ArrayList<>(candidates.size());
+        for (Player p : candidates) {
+            if (matches(team, p.getTeam())
+                    && matches(league, p.getLeague())
+                    && matches(position, p.getPosition())
+                    && matches(nationality, p.getNationality())) {
+                result.add(p);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    static String key(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || (value != null && value.equalsIgnoreCase(filter));
+    }
+
+    private static List<Player> smaller(List<Player> a, List<Player> b) {
+        return b.size() < a.size() ? b : a;
+    }
+
+    private static List<Player> lookup(Map<String, List<Player>> index, String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return index.getOrDefault(key(value), List.of());
+    }
+
+    private static Map<String, List<Player>> index(List<Player> players, Function<Player, String> keyFn) {
+        Map<String, List<Player>> buckets = new LinkedHashMap<>();
+        for (Player p : players) {
+            String k = key(keyFn.apply(p));
+            if (k != null && !k.isEmpty()) {
+                buckets.computeIfAbsent(k, x -> new ArrayList<>()).add(p);
+            }
+        }
+        Map<String, List<Player>> frozen = new LinkedHashMap<>(buckets.size() * 2);
+        buckets.forEach((k, v) -> frozen.put(k, List.copyOf(v)));
+        return Collections.unmodifiableMap(frozen);
+    }
+}
@@ -0,0 +1,153 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.dto.PlayerPageDto;
+import com.roulettedraft.mapper.DtoMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Player queries pushed down to MongoDB. Equality filters run under a case-insensitive
+ * collation so they hit the {field, _id} collation indexes, and pages are cut by _id
+ * (keyset) instead of skip/limit.
+ *
+ * The {@code *Async} variants run the query on a bounded pool so the player endpoints do not
+ * hold request threads while MongoDB answers.
+ */
+@Service
+@Slf4j
+public class PlayerSearchService {
+    public static final Collation CASE_INSENSITIVE =
+            Collation.of(Locale.ENGLISH).strength(Collation.ComparisonLevel.secondary());
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String[] SEARCH_FIELDS = {"team", "league", "position", "nationality"};
+
+    private final MongoTemplate mongoTemplate;
+    private final DtoMapper dtoMapper;
+    private final ExecutorService queryPool;
+
+    public PlayerSearchService(MongoTemplate mongoTemplate,
+                               DtoMapper dtoMapper,
+                               @Value("${draft.player-search.threads:0}") int threads) {
+        this.mongoTemplate = mongoTemplate;
+        this.dtoMapper = dtoMapper;
+        int size = threads > 0 ? threads : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.queryPool = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "player-query-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(Player.class);
+            for (String field : SEARCH_FIELDS) {
+                indexOps.ensureIndex(new Index()
+                        .on(field, Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC)
+                        .named(field + "_ci_id_idx")
+                        .collation(CASE_INSENSITIVE));
+            }
+        } catch (Exception e) {
+            log.warn("Could not ensure player search indexes: {}", e.getMessage());
+        }
+    }
+
+    public CompletableFuture<PlayerPageDto> searchAsync(String team, String league, String position, String nationality,
+                                                        String cursor, Integer size) {
+        return CompletableFuture.supplyAsync(() -> search(team, league, position, nationality, cursor, size), queryPool);
+    }
+
+    // Eski offset paging (derin sayfalarda yavaş)
+    public CompletableFuture<List<Player>> pageAsync(int page, int size) {
+        return CompletableFuture.supplyAsync(
+                () -> mongoTemplate.find(new Query().with(PageRequest.of(page, size)), Player.class), queryPool);
+    }
+
+    public CompletableFuture<Optional<Player>> findByIdAsync(String id) {
+        return CompletableFuture.supplyAsync(() -> Optional.ofNullable(mongoTemplate.findById(id, Player.class)), queryPool);
+    }
+
+    public PlayerPageDto search(String team, String league, String position, String nationality,
+                                String cursor, Integer size) {
+        int limit = pageSize(size);
+        return toPage(mongoTemplate.find(searchQuery(team, league, position, nationality, cursor, limit), Player.class), limit);
+    }
+
+    static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // limit + 1 satır ister: fazlası varsa sonraki sayfa vardır
+    static Query searchQuery(String team, String league, String position, String nationality, String cursor, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        addEquals(filters, "team", team);
+        addEquals(filters, "league", league);
+        addEquals(filters, "position", position);
+        addEquals(filters, "nationality", nationality);
+        boolean hasEqualityFilter = !filters.isEmpty();
+        if (cursor != null && !cursor.isEmpty()) {
+            filters.add(Criteria.where("id").gt(cursor));
+        }
+
+        Query query = filters.isEmpty() ? new Query() : new Query(new Criteria().andOperator(filters));
+        // Collation sadece string filtre varken: varsayılan _id index'i collation'sız, filtresiz
+        // sayfalarda sort'u ancak collation verilmezse karşılar
+        if (hasEqualityFilter) {
+            query.collation(CASE_INSENSITIVE);
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit + 1);
+        query.fields().include("team", "name", "position", "nationality", "marketValue", "league");
+        return query;
+    }
+
+    PlayerPageDto toPage(List<Player> players, int limit) {
+        String nextCursor = null;
+        if (players.size() > limit) {
+            players = players.subList(0, limit);
+            nextCursor = players.get(limit - 1).getId();
+        }
+
+        return PlayerPageDto.builder()
+                .items(dtoMapper.toPlayerDtoList(players))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryPool.shutdown();
+    }
+
+    private static void addEquals(List<Criteria> filters, String field, String value) {
+        if (value != null && !value.isEmpty()) {
+            filters.add(Criteria.where(field).is(value));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.roulettedraft.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Formation slots and slot/position compatibility shared by random fill and auto-pick.
+ */
+public final class PositionRules {
+    public static final String DEFAULT_FORMATION = "4-3-3";
+    private static final int GOALKEEPER_LINE = 0;
+
+    // Formation slot mappings (frontend'deki formationLayouts ile aynı)
+    public static final Map<String, List<String>> FORMATION_SLOTS = Map.of(
+        "4-3-3", List.of("GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "ST", "RW"),
+        "4-4-2", List.of("GK", "LB", "LCB", "RCB", "RB", "LM", "LCM", "RCM", "RM", "LST", "RST"),
+        "3-5-2", List.of("GK", "LCB", "CB", "RCB", "LWB", "CDM", "RWB", "LCM", "RCM", "LST", "RST"),
+        "4-2-3-1", List.of("GK", "LB", "LCB", "RCB", "RB", "CDM", "CDM2", "CAM", "LW", "ST", "RW"),
+        "4-1-4-1", List.of("GK", "LB", "LCB", "RCB", "RB", "CDM", "LM", "LCM", "RCM", "RM", "ST"),
+        "5-3-2", List.of("GK", "LWB", "LCB", "CB", "RCB", "RWB", "LCM", "CDM", "RCM", "LST", "RST"),
+        "5-2-3", List.of("GK", "LWB", "LCB", "CB", "RCB", "RWB", "LCM", "RCM", "LW", "ST", "RW"),
+        "4-5-1", List.of("GK", "LB", "LCB", "RCB", "RB", "LM", "LCM", "CM", "RCM", "RM", "ST")
+    );
+
+    // DB'deki uzun pozisyon isimleri (örn: "Left-Back") -> kısa kod
+    private static final Map<String, String> POSITION_ALIASES = Map.ofEntries(
+        Map.entry("GOALKEEPER", "GK"),
+        Map.entry("CENTRE-BACK", "CB"),
+        Map.entry("CENTER-BACK", "CB"),
+        Map.entry("SWEEPER", "CB"),
+        Map.entry("DEFENDER", "CB"),
+        Map.entry("LEFT-BACK", "LB"),
+        Map.entry("RIGHT-BACK", "RB"),
+        Map.entry("DEFENSIVE MIDFIELD", "CDM"),
+        Map.entry("CENTRAL MIDFIELD", "CM"),
+        Map.entry("MIDFIELD", "CM"),
+        Map.entry("ATTACKING MIDFIELD", "CAM"),
+        Map.entry("LEFT MIDFIELD", "LM"),
+        Map.entry("RIGHT MIDFIELD", "RM"),
+        Map.entry("LEFT WINGER", "LW"),
+        Map.entry("RIGHT WINGER", "RW"),
+        Map.entry("CENTRE-FORWARD", "ST"),
+        Map.entry("CENTER-FORWARD", "ST"),
+        Map.entry("SECOND STRIKER", "CF"),
+        Map.entry("STRIKER", "ST"),
+        Map.entry("ATTACK", "ST")
+    );
+
+    // Bilinen normalize pozisyonlar; bunların dışındaki değerler için positionMatches'e düşülür
+    private static final Set<String> KNOWN_POSITIONS = Stream.concat(
+            POSITION_ALIASES.values().stream(),
+            Stream.of("LWB", "RWB", "LM", "RM"))
+        .collect(Collectors.toUnmodifiableSet());
+
+    // Formasyonlardaki her slot -> kabul ettiği bilinen pozisyonlar, bir kez hesaplanır
+    private static final Map<String, Set<String>> SLOT_POSITIONS = FORMATION_SLOTS.values().stream()
+        .flatMap(List::stream)
+        .distinct()
+        .collect(Collectors.toUnmodifiableMap(slot -> slot, slot -> KNOWN_POSITIONS.stream()
+            .filter(pos -> positionMatches(slot, pos))
+            .collect(Collectors.toUnmodifiableSet())));
+
+    private PositionRules() {
+    }
+
+    public static List<String> slotsFor(String formation) {
+        return FORMATION_SLOTS.getOrDefault(formation, FORMATION_SLOTS.get(DEFAULT_FORMATION));
+    }
+
+    public static String normalize(String playerPosition) {
+        if (playerPosition == null) return null;
+        String pos = playerPosition.trim().toUpperCase(Locale.ROOT);
+        return POSITION_ALIASES.getOrDefault(pos, pos);
+    }
+
+    /**
+     * Same answer as {@link #positionMatches} for an already normalized position, answered from
+     * the precompiled slot table when both the slot and the position are known.
+     */
+    public static boolean slotAccepts(String slotId, String normalizedPosition) {
+        if (normalizedPosition == null || normalizedPosition.isEmpty()) return false;
+        Set<String> accepted = SLOT_POSITIONS.get(slotId);
+        if (accepted != null && KNOWN_POSITIONS.contains(normalizedPosition)) {
+            return accepted.contains(normalizedPosition);
+        }
+        return positionMatches(slotId, normalizedPosition);
+    }
+
+    /**
+     * Cost of putting a player with the given normalized position into a slot: 0 if it fits,
+     * more the further the player's line (defence, midfield, attack) is from the slot's, and
+     * prohibitive for a goalkeeper on either side of the mismatch.
+     */
+    public static int fitCost(String slotId, String normalizedPosition) {
+        if (slotAccepts(slotId, normalizedPosition)) return 0;
+
+        int slotLine = lineOf(slotId.toUpperCase(Locale.ROOT));
+        int positionLine = lineOf(normalizedPosition);
+        if (slotLine == GOALKEEPER_LINE || positionLine == GOALKEEPER_LINE) return 1000;
+        if (slotLine < 0 || positionLine < 0) return 50;
+        return 10 * (1 + Math.abs(slotLine - positionLine));
+    }
+
+    // 0: kaleci, 1: savunma, 2: orta saha, 3: hücum, -1: bilinmiyor
+    private static int lineOf(String code) {
+        if (code == null) return -1;
+        if (code.equals("GK")) return GOALKEEPER_LINE;
+        if (code.contains("CB") || code.contains("WB") || code.equals("LB") || code.equals("RB")) return 1;
+        if (code.contains("DM") || code.contains("CM") || code.contains("AM") || code.equals("LM") || code.equals("RM")) return 2;
+        if (code.contains("LW") || code.contains("RW") || code.contains("ST") || code.equals("CF")) return 3;
+        return -1;
+    }
+
+    public static boolean positionMatches(String slotId, String playerPosition) {
+        if (playerPosition == null) return false;
+
+        String pos = normalize(playerPosition);
+        String slot = slotId.toUpperCase(Locale.ROOT);
+
+        if (slot.equals("GK")) return pos.equals("GK");
+        if (slot.contains("CB")) return pos.contains("CB");
+        if (slot.contains("LB")) return pos.equals("LB") || pos.contains("LWB");
+        if (slot.contains("RB")) return pos.equals("RB") || pos.contains("RWB");
+        if (slot.contains("WB")) return pos.contains("WB") || pos.equals("LB") || pos.equals("RB");
+        if (slot.contains("CDM") || slot.contains("DM")) return pos.contains("DM") || pos.contains("CDM");
+        if (slot.contains("CM")) return pos.contains("CM") || pos.contains("DM");
+        if (slot.contains("CAM") || slot.contains("AM")) return pos.contains("AM") || pos.equals("CAM");
+        if (slot.contains("LW")) return pos.equals("LW");
+        if (slot.contains("RW")) return pos.equals("RW");
+        if (slot.contains("ST")) return pos.equals("ST") || pos.equals("CF");
+        if (slot.contains("LM") || slot.contains("RM")) return pos.contains("M");
+
+        return true; // Default: any position
+    }
+}
@@ -0,0 +1,18 @@
+package com.roulettedraft.service;
+
+public enum RandomFillMode {
+    RANDOM,  // Slot'lar rastgele sırayla, her slota uygun rastgele bir oyuncu (varsayılan)
+    OPTIMAL; // Tüm boş slot'lar birlikte, pozisyon uyumu en iyi olacak şekilde atanır
+
+    public static RandomFillMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return RANDOM;
+        }
+        for (RandomFillMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new RuntimeException("Unknown random fill mode: " + value);
+    }
+}
@@ -3,158 +3,364 @@ package com.roulettedraft.service;
 import com.roulettedraft.domain.model.Player;
 import com.roulettedraft.dto.RandomFillRequest;
 import com.roulettedraft.dto.RandomFillResponse;
-import com.roulettedraft.repository.PlayerRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RandomFillService {
-    private final PlayerRepository playerRepository;
-    
-    // Formation slot mappings (frontend'deki formationLayouts ile aynı)
-    private static final Map<String, List<String>> FORMATION_SLOTS = Map.of(
-        "4-3-3", List.of("GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "ST", "RW"),
-        "4-4-2", List.of("GK", "LB", "LCB", "RCB", "RB", "LM", "LCM", "RCM", "RM", "LST", "RST"),
-        "3-5-2", List.of("GK", "LCB", "CB", "RCB", "LWB", "CDM", "RWB", "LCM", "RCM", "LST", "RST"),
-        "4-2-3-1", List.of("GK", "LB", "LCB", "RCB", "RB", "CDM", "CDM2", "CAM", "LW", "ST", "RW"),
-        "4-1-4-1", List.of("GK", "LB", "LCB", "RCB", "RB", "CDM", "LM", "LCM", "RCM", "RM", "ST"),
-        "5-3-2", List.of("GK", "LWB", "LCB", "CB", "RCB", "RWB", "LCM", "CDM", "RCM", "LST", "RST"),
-        "5-2-3", List.of("GK", "LWB", "LCB", "CB", "RCB", "RWB", "LCM", "RCM", "LW", "ST", "RW"),
-        "4-5-1", List.of("GK", "LB", "LCB", "RCB", "RB", "LM", "LCM", "CM", "RCM", "RM", "ST")
-    );
-    
+    private static final long UNFILLED_COST = 10_000; // Slotu boş bırakmak her uyumsuz oyuncudan kötü
+    private static final int BUDGET_CANDIDATES = 32;  // Bütçeli slot başına rastgele aday sayısı
+    private static final int CHEAPEST_CANDIDATES = 8; // Bütçe darsa aramanın her zaman bulabileceği en ucuzlar
+
+    private final TeamPoolCache teamPoolCache;
+    private final PlayerCatalog playerCatalog;
+    private final long budgetTimeLimitNanos;
+
+    public RandomFillService(TeamPoolCache teamPoolCache,
+                             PlayerCatalog playerCatalog,
+                             @Value("${draft.random-fill.budget-time-limit-ms:20}") long budgetTimeLimitMs) {
+        this.teamPoolCache = teamPoolCache;
+        this.playerCatalog = playerCatalog;
+        this.budgetTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, budgetTimeLimitMs));
+    }
+
     public RandomFillResponse randomFillSquads(RandomFillRequest request) {
-        log.info("Random filling squads for {} teams and {} squads", request.getSelectedTeams().size(), request.getSquads().size());
-        
-        // 1. Seçilen takımların tüm oyuncularını çek
-        Map<String, List<Player>> playersByTeam = new HashMap<>();
-        for (String teamName : request.getSelectedTeams()) {
-            List<Player> players = playerRepository.findByTeamIgnoreCase(teamName);
-            playersByTeam.put(teamName, players);
-            log.info("Team {}: {} players found", teamName, players.size());
-        }
-        
-        // 2. Tüm oyuncuları bir pool'a topla
-        List<Player> allPlayers = playersByTeam.values().stream()
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
-        
-        // Oyuncuları shuffle et (random)
-        Collections.shuffle(allPlayers, new Random());
-        
-        log.info("Total players in pool: {}", allPlayers.size());
-        
-        // 3. Her squad için slot'ları doldur
+        return randomFillSquads(request, RandomFillMode.RANDOM, null);
+    }
+
+    // seed verilirse aynı istek ve aynı oyuncu havuzu için sonuç aynıdır
+    public RandomFillResponse randomFillSquads(RandomFillRequest request, RandomFillMode mode, Long seed) {
+        log.info("Random filling squads for {} teams and {} squads ({})", request.getSelectedTeams().size(), request.getSquads().size(), mode);
+
+        // 1. Seçilen takımların oyuncularını al (cache'te olmayanlar tek sorguda)
+        Map<String, List<Player>> playersByTeam = teamPoolCache.poolsFor(request.getSelectedTeams());
+        playersByTeam.forEach((teamName, players) -> log.debug("Team {}: {} players found", teamName, players.size()));
+
+        List<Player> allPlayers = new ArrayList<>();
+        playersByTeam.values().forEach(allPlayers::addAll);
+        SplittableRandom random = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        BudgetClock clock = new BudgetClock(System.nanoTime() + budgetTimeLimitNanos, budgetedSquads(request.getSquads()));
+
+        List<RandomFillResponse.FilledSquad> filledSquads = mode == RandomFillMode.OPTIMAL
+            ? fillOptimal(request.getSquads(), allPlayers, random, clock)
+            : fillRandom(request.getSquads(), allPlayers, random, clock);
+
+        log.info("Random fill completed. Filled {} squads", filledSquads.size());
+
+        return RandomFillResponse.builder()
+            .squads(filledSquads)
+            .build();
+    }
+
+    // Greedy: slot'lar rastgele sırayla, her slota uygun rastgele bir oyuncu
+    private List<RandomFillResponse.FilledSquad> fillRandom(List<RandomFillRequest.SquadConfig> squads,
+                                                            List<Player> allPlayers, SplittableRandom random,
+                                                            BudgetClock clock) {
+        // Tüm oyuncuları pozisyona göre bucket'lanmış bir pool'a topla
+        AvailabilityIndex pool = new AvailabilityIndex(allPlayers);
+        log.info("Total players in pool: {}", pool.size());
+
         List<RandomFillResponse.FilledSquad> filledSquads = new ArrayList<>();
-        Set<String> usedPlayerIds = new HashSet<>();
-        
-        for (RandomFillRequest.SquadConfig squadConfig : request.getSquads()) {
+
+        for (RandomFillRequest.SquadConfig squadConfig : squads) {
             log.info("Filling squad: {} ({})", squadConfig.getName(), squadConfig.getFormation());
-            
+
             // Mevcut oyuncuları al
-            Map<String, String> filledPlayers = new HashMap<>(squadConfig.getPlayers() != null ? squadConfig.getPlayers() : Map.of());
-            List<String> bench = new ArrayList<>(squadConfig.getBench() != null ? squadConfig.getBench() : List.of());
-            
-            // Kullanılan oyuncuları işaretle
-            filledPlayers.values().forEach(usedPlayerIds::add);
-            bench.forEach(usedPlayerIds::add);
-            
-            // Formation slot'larını al
-            List<String> requiredSlots = FORMATION_SLOTS.getOrDefault(squadConfig.getFormation(), FORMATION_SLOTS.get("4-3-3"));
-            
+            Map<String, String> filledPlayers = existingPlayers(squadConfig);
+            List<String> bench = existingBench(squadConfig);
+
+            // Kullanılan oyuncuları pool'dan çıkar
+            filledPlayers.values().forEach(pool::remove);
+            bench.forEach(pool::remove);
+
             // Eksik slot'ları bul
-            List<String> neededSlots = requiredSlots.stream()
-                .filter(slot -> !filledPlayers.containsKey(slot))
-                .collect(Collectors.toList());
-            
+            List<String> neededSlots = neededSlots(squadConfig, filledPlayers);
             log.info("Squad {} needs {} slots filled", squadConfig.getName(), neededSlots.size());
-            
+
+            if (squadConfig.getBudget() != null) {
+                fillWithinBudget(squadConfig, filledPlayers, bench, neededSlots, pool, random, clock);
+                filledSquads.add(toFilledSquad(squadConfig, filledPlayers, bench));
+                continue;
+            }
+
             // Slot'ları shuffle et
-            Collections.shuffle(neededSlots);
-            
+            shuffle(neededSlots, random);
+
             // Her slot için uygun oyuncu bul
             for (String slotId : neededSlots) {
-                Player selectedPlayer = findMatchingPlayer(slotId, allPlayers, usedPlayerIds);
-                
-                if (selectedPlayer != null) {
-                    filledPlayers.put(slotId, selectedPlayer.getId());
-                    usedPlayerIds.add(selectedPlayer.getId());
-                    log.debug("  Slot {} -> Player {} ({})", slotId, selectedPlayer.getName(), selectedPlayer.getPosition());
+                String playerId = pool.takeForSlot(slotId, random);
+                if (playerId == null) {
+                    // Fallback: Herhangi bir kullanılmamış oyuncu
+                    playerId = pool.takeAny(random);
+                }
+
+                if (playerId != null) {
+                    filledPlayers.put(slotId, playerId);
+                    log.debug("  Slot {} -> Player {}", slotId, playerId);
                 } else {
                     log.warn("  No available player found for slot {}", slotId);
                 }
             }
-            
+
             // Bench'i de doldur (opsiyonel - şimdilik boş bırakıyoruz)
-            
-            filledSquads.add(RandomFillResponse.FilledSquad.builder()
-                .id(squadConfig.getId())
-                .name(squadConfig.getName())
-                .formation(squadConfig.getFormation())
-                .players(filledPlayers)
-                .bench(bench)
-                .build());
-        }
-        
-        log.info("Random fill completed. Filled {} squads", filledSquads.size());
-        
-        return RandomFillResponse.builder()
-            .squads(filledSquads)
+
+            filledSquads.add(toFilledSquad(squadConfig, filledPlayers, bench));
+        }
+        return filledSquads;
+    }
+
+    /**
+     * All empty slots of all squads are assigned together as a minimum-cost matching over
+     * {@link PositionRules#fitCost}. Players of the same normalized position are
+     * interchangeable, so slots are matched to position buckets (a small min-cost flow) and
+     * each bucket then hands out its players in shuffled order. Slots and buckets are shuffled
+     * as well, so among equally good assignments the random source decides. Squads that end up
+     * over their budget are then re-filled by {@link #fillWithinBudget} from the players the
+     * matching left over.
+     */
+    private List<RandomFillResponse.FilledSquad> fillOptimal(List<RandomFillRequest.SquadConfig> squads,
+                                                             List<Player> allPlayers, SplittableRandom random,
+                                                             BudgetClock clock) {
+        List<Map<String, String>> filled = new ArrayList<>(squads.size());
+        List<List<String>> benches = new ArrayList<>(squads.size());
+        Set<String> usedPlayerIds = new HashSet<>();
+        List<String[]> rows = new ArrayList<>();   // {squad index, slotId}
+
+        for (int s = 0; s < squads.size(); s++) {
+            RandomFillRequest.SquadConfig squadConfig = squads.get(s);
+            Map<String, String> filledPlayers = existingPlayers(squadConfig);
+            List<String> bench = existingBench(squadConfig);
+            usedPlayerIds.addAll(filledPlayers.values());
+            usedPlayerIds.addAll(bench);
+            for (String slotId : neededSlots(squadConfig, filledPlayers)) {
+                rows.add(new String[]{String.valueOf(s), slotId});
+            }
+            filled.add(filledPlayers);
+            benches.add(bench);
+        }
+        shuffle(rows, random);
+
+        // Kullanılmamış oyuncular pozisyona göre; her bucket karıştırılmış sırada dağıtılır
+        Map<String, List<String>> buckets = new LinkedHashMap<>();
+        for (Player p : allPlayers) {
+            if (usedPlayerIds.add(p.getId())) {
+                String position = PositionRules.normalize(p.getPosition());
+                buckets.computeIfAbsent(position != null ? position : "", k -> new ArrayList<>()).add(p.getId());
+            }
+        }
+        List<String> positions = new ArrayList<>(buckets.keySet());
+        shuffle(positions, random);
+        buckets.values().forEach(bucket -> shuffle(bucket, random));
+        log.info("Optimal fill: {} slots, {} position buckets", rows.size(), positions.size());
+
+        // Son grup: slotu boş bırak (havuz yetmezse)
+        int groups = positions.size() + 1;
+        long[][] cost = new long[rows.size()][groups];
+        int[] capacity = new int[groups];
+        for (int g = 0; g < positions.size(); g++) {
+            capacity[g] = buckets.get(positions.get(g)).size();
+        }
+        capacity[positions.size()] = rows.size();
+        for (int r = 0; r < rows.size(); r++) {
+            for (int g = 0; g < positions.size(); g++) {
+                cost[r][g] = PositionRules.fitCost(rows.get(r)[1], positions.get(g));
+            }
+            cost[r][positions.size()] = UNFILLED_COST;
+        }
+
+        int[] assignment = MinCostAssignment.solve(cost, capacity);
+        int[] handedOut = new int[groups];
+        for (int r = 0; r < rows.size(); r++) {
+            Map<String, String> filledPlayers = filled.get(Integer.parseInt(rows.get(r)[0]));
+            String slotId = rows.get(r)[1];
+            int g = assignment[r];
+            if (g < positions.size()) {
+                String playerId = buckets.get(positions.get(g)).get(handedOut[g]++);
+                filledPlayers.put(slotId, playerId);
+                log.debug("  Slot {} -> Player {} (cost {})", slotId, playerId, cost[r][g]);
+            } else {
+                log.warn("  No available player found for slot {}", slotId);
+            }
+        }
+
+        rebalanceOverBudget(squads, filled, benches, allPlayers, random, clock);
+
+        List<RandomFillResponse.FilledSquad> filledSquads = new ArrayList<>(squads.size());
+        for (int s = 0; s < squads.size(); s++) {
+            filledSquads.add(toFilledSquad(squads.get(s), filled.get(s), benches.get(s)));
+        }
+        return filledSquads;
+    }
+
+    // Eşleştirmenin verdiği oyuncular bütçeyi aşıyorsa o kadronun boş slotları serbest oyuncularla yeniden çözülür
+    private void rebalanceOverBudget(List<RandomFillRequest.SquadConfig> squads, List<Map<String, String>> filled,
+                                     List<List<String>> benches, List<Player> allPlayers,
+                                     SplittableRandom random, BudgetClock clock) {
+        for (int s = 0; s < squads.size(); s++) {
+            RandomFillRequest.SquadConfig squadConfig = squads.get(s);
+            if (squadConfig.getBudget() == null) {
+                continue;
+            }
+            Map<String, String> filledPlayers = filled.get(s);
+            long spent = playerCatalog.totalMarketValueCents(filledPlayers.values())
+                    + playerCatalog.totalMarketValueCents(benches.get(s));
+            if (spent <= budgetCents(squadConfig)) {
+                clock.squadDone();
+                continue;
+            }
+
+            Map<String, String> kept = existingPlayers(squadConfig);
+            List<String> reopened = neededSlots(squadConfig, kept);
+            Set<String> taken = new HashSet<>();
+            for (int other = 0; other < squads.size(); other++) {
+                taken.addAll(other == s ? kept.values() : filled.get(other).values());
+                taken.addAll(benches.get(other));
+            }
+            List<Player> free = new ArrayList<>();
+            for (Player p : allPlayers) {
+                if (!taken.contains(p.getId())) {
+                    free.add(p);
+                }
+            }
+            log.info("Squad {} is over budget after matching, re-filling {} slots", squadConfig.getName(), reopened.size());
+            fillWithinBudget(squadConfig, kept, benches.get(s), reopened, new AvailabilityIndex(free), random, clock);
+            filled.set(s, kept);
+        }
+    }
+
+    /**
+     * Fills the open slots so that the squad's total market value, existing players and bench
+     * included, stays within its budget. Each slot offers a random sample of fitting players
+     * plus the cheapest fitting and non-fitting ones to {@link BudgetedSquadSolver}; chosen
+     * players are removed from the pool.
+     */
+    private void fillWithinBudget(RandomFillRequest.SquadConfig squadConfig, Map<String, String> filledPlayers,
+                                  List<String> bench, List<String> neededSlots, AvailabilityIndex pool,
+                                  SplittableRandom random, BudgetClock clock) {
+        long spent = playerCatalog.totalMarketValueCents(filledPlayers.values())
+                + playerCatalog.totalMarketValueCents(bench);
+        long remaining = Math.max(0, budgetCents(squadConfig) - spent);
+        List<List<String>> candidates = new ArrayList<>(neededSlots.size());
+        for (String slotId : neededSlots) {
+            candidates.add(budgetCandidates(slotId, pool, neededSlots.size(), random));
+        }
+
+        String[] chosen = BudgetedSquadSolver.solve(candidates, playerCatalog::marketValueCents, remaining, clock.squadDeadline());
+        clock.squadDone();
+        for (int i = 0; i < neededSlots.size(); i++) {
+            if (chosen[i] != null) {
+                pool.remove(chosen[i]);
+                filledPlayers.put(neededSlots.get(i), chosen[i]);
+                log.debug("  Slot {} -> Player {}", neededSlots.get(i), chosen[i]);
+            } else {
+                log.warn("  No player within budget found for slot {}", neededSlots.get(i));
+            }
+        }
+    }
+
+    // Tercih sırası: rastgele uyumlu oyuncular, en ucuz uyumlular, sonra uyum maliyeti ve değere göre diğerleri
+    private List<String> budgetCandidates(String slotId, AvailabilityIndex pool, int openSlots, SplittableRandom random) {
+        List<String> fitting = new ArrayList<>();
+        List<String> others = new ArrayList<>();
+        Map<String, Long> fitCosts = new HashMap<>();
+        pool.forEachBucket((position, players) -> {
+            long cost = PositionRules.fitCost(slotId, position);
+            for (String id : players) {
+                if (!MarketValue.isKnown(playerCatalog.marketValueCents(id))) {
+                    continue; // Değeri bilinmeyen oyuncu bütçeli squad'a konmaz
+                }
+                if (cost == 0) {
+                    fitting.add(id);
+                } else {
+                    others.add(id);
+                    fitCosts.put(id, cost);
+                }
+            }
+        });
+
+        Comparator<String> byValue = Comparator.comparingLong(playerCatalog::marketValueCents);
+        shuffle(fitting, random);
+        Set<String> candidates = new LinkedHashSet<>(fitting.subList(0, Math.min(BUDGET_CANDIDATES, fitting.size())));
+        fitting.sort(byValue);
+        candidates.addAll(fitting.subList(0, Math.min(CHEAPEST_CANDIDATES, fitting.size())));
+        others.sort(Comparator.<String>comparingLong(fitCosts::get).thenComparing(byValue));
+        candidates.addAll(others.subList(0, Math.min(openSlots, others.size())));
+        return new ArrayList<>(candidates);
+    }
+
+    private static long budgetCents(RandomFillRequest.SquadConfig squadConfig) {
+        return MarketValue.eurosToCents(squadConfig.getBudget());
+    }
+
+    private static int budgetedSquads(List<RandomFillRequest.SquadConfig> squads) {
+        int count = 0;
+        for (RandomFillRequest.SquadConfig squadConfig : squads) {
+            if (squadConfig.getBudget() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // İstek başına süre sınırı, bütçeli kadrolar arasında eşit paylaştırılır
+    private static final class BudgetClock {
+        private final long deadlineNanos;
+        private int squadsLeft;
+
+        BudgetClock(long deadlineNanos, int squads) {
+            this.deadlineNanos = deadlineNanos;
+            this.squadsLeft = squads;
+        }
+
+        long squadDeadline() {
+            long now = System.nanoTime();
+            return now + Math.max(0, deadlineNanos - now) / Math.max(1, squadsLeft);
+        }
+
+        void squadDone() {
+            squadsLeft--;
+        }
+    }
+
+    private static Map<String, String> existingPlayers(RandomFillRequest.SquadConfig squadConfig) {
+        return new HashMap<>(squadConfig.getPlayers() != null ? squadConfig.getPlayers() : Map.of());
+    }
+
+    private static List<String> existingBench(RandomFillRequest.SquadConfig squadConfig) {
+        return new ArrayList<>(squadConfig.getBench() != null ? squadConfig.getBench() : List.of());
+    }
+
+    // Formation slot'larından henüz dolu olmayanlar
+    private static List<String> neededSlots(RandomFillRequest.SquadConfig squadConfig, Map<String, String> filledPlayers) {
+        List<String> requiredSlots = PositionRules.slotsFor(squadConfig.getFormation());
+        List<String> neededSlots = new ArrayList<>(requiredSlots.size());
+        for (String slot : requiredSlots) {
+            if (!filledPlayers.containsKey(slot)) {
+                neededSlots.add(slot);
+            }
+        }
+        return neededSlots;
+    }
+
+    private static RandomFillResponse.FilledSquad toFilledSquad(RandomFillRequest.SquadConfig squadConfig,
+                                                                Map<String, String> filledPlayers, List<String> bench) {
+        return RandomFillResponse.FilledSquad.builder()
+            .id(squadConfig.getId())
+            .name(squadConfig.getName())
+            .formation(squadConfig.getFormation())
+            .players(filledPlayers)
+            .bench(bench)
             .build();
     }
-    
-    private Player findMatchingPlayer(String slotId, List<Player> availablePlayers, Set<String> usedPlayerIds) {
-        // Önce pozisyona uygun oyuncuları bul
-        List<Player> matchingPlayers = availablePlayers.stream()
-            .filter(p -> !usedPlayerIds.contains(p.getId()))
-            .filter(p -> positionMatches(slotId, p.getPosition()))
-            .collect(Collectors.toList());
-        
-        if (!matchingPlayers.isEmpty()) {
-            // Random bir tane seç
-            Collections.shuffle(matchingPlayers);
-            return matchingPlayers.get(0);
-        }
-        
-        // Fallback: Herhangi bir kullanılmamış oyuncu
-        List<Player> anyPlayers = availablePlayers.stream()
-            .filter(p -> !usedPlayerIds.contains(p.getId()))
-            .collect(Collectors.toList());
-        
-        if (!anyPlayers.isEmpty()) {
-            Collections.shuffle(anyPlayers);
-            return anyPlayers.get(0);
-        }
-        
-        return null;
-    }
-    
-    private boolean positionMatches(String slotId, String playerPosition) {
-        if (playerPosition == null) return false;
-        
-        String pos = playerPosition.toUpperCase();
-        String slot = slotId.toUpperCase();
-        
-        if (slot.equals("GK")) return pos.equals("GK");
-        if (slot.contains("CB")) return pos.contains("CB");
-        if (slot.contains("LB")) return pos.equals("LB") || pos.contains("LWB");
-        if (slot.contains("RB")) return pos.equals("RB") || pos.contains("RWB");
-        if (slot.contains("WB")) return pos.contains("WB") || pos.equals("LB") || pos.equals("RB");
-        if (slot.contains("CDM") || slot.contains("DM")) return pos.contains("DM") || pos.contains("CDM");
-        if (slot.contains("CM")) return pos.contains("CM") || pos.contains("DM");
-        if (slot.contains("CAM") || slot.contains("AM")) return pos.contains("AM") || pos.equals("CAM");
-        if (slot.contains("LW")) return pos.equals("LW");
-        if (slot.contains("RW")) return pos.equals("RW");
-        if (slot.contains("ST")) return pos.equals("ST") || pos.equals("CF");
-        if (slot.contains("LM") || slot.contains("RM")) return pos.contains("M");
-        
-        return true; // Default: any position
+
+    private static <T> void shuffle(List<T> list, SplittableRandom random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, random.nextInt(i + 1));
+        }
     }
 }
-
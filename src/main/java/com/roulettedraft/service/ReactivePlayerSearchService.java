@@ -0,0 +1,42 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.dto.PlayerPageDto;
+import com.roulettedraft.repository.reactive.ReactivePlayerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link PlayerSearchService} queries on the reactive driver: same keyset query and collation
+ * indexes, but no query pool, the driver completes the {@link Mono} when MongoDB answers.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePlayerSearchService {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactivePlayerRepository playerRepository;
+    private final PlayerSearchService playerSearchService;
+
+    public Mono<PlayerPageDto> search(String team, String league, String position, String nationality,
+                                      String cursor, Integer size) {
+        int limit = PlayerSearchService.pageSize(size);
+        return mongoTemplate.find(PlayerSearchService.searchQuery(team, league, position, nationality, cursor, limit), Player.class)
+                .collectList()
+                .map(players -> playerSearchService.toPage(players, limit));
+    }
+
+    // Eski offset paging (derin sayfalarda yavaş)
+    public Flux<Player> page(int page, int size) {
+        return playerRepository.findAllBy(PageRequest.of(page, size));
+    }
+
+    public Mono<Player> findById(String id) {
+        return playerRepository.findById(id);
+    }
+}
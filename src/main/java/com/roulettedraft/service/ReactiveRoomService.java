@@ -0,0 +1,107 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.dto.CreateRoomRequest;
+import com.roulettedraft.dto.JoinRoomRequest;
+import com.roulettedraft.dto.RoomDto;
+import com.roulettedraft.repository.reactive.ReactiveDraftPickRepository;
+import com.roulettedraft.repository.reactive.ReactiveRoomParticipantRepository;
+import com.roulettedraft.repository.reactive.ReactiveRoomRepository;
+import com.roulettedraft.store.CollectionRoomStore;
+import com.roulettedraft.store.EmbeddedRoomStore;
+import com.roulettedraft.store.RoomStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Room API of the reactive profile. Mutations still run on the room's command lane through
+ * {@link RoomService} and are only adapted to {@link Mono}; snapshot reads that miss the cache
+ * go to MongoDB through the reactive repositories without holding a lane or a thread.
+ *
+ * With the collections layout a read can land between a pick's draft_picks insert and its
+ * projection update. Such a room (or one that needs repair after a failed write) is loaded on
+ * the lane instead, exactly like the servlet endpoint does.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveRoomService {
+    private final RoomService roomService;
+    private final RoomSnapshotCache roomSnapshots;
+    private final ReactiveRoomRepository roomRepository;
+    private final ReactiveRoomParticipantRepository participantRepository;
+    private final ReactiveDraftPickRepository draftPickRepository;
+    private final boolean embedded;
+
+    public ReactiveRoomService(RoomService roomService,
+                               RoomSnapshotCache roomSnapshots,
+                               ReactiveRoomRepository roomRepository,
+                               ReactiveRoomParticipantRepository participantRepository,
+                               ReactiveDraftPickRepository draftPickRepository,
+                               @Value("${draft.storage.layout:collections}") String layout) {
+        this.roomService = roomService;
+        this.roomSnapshots = roomSnapshots;
+        this.roomRepository = roomRepository;
+        this.participantRepository = participantRepository;
+        this.draftPickRepository = draftPickRepository;
+        this.embedded = RoomStore.EMBEDDED.equalsIgnoreCase(layout);
+    }
+
+    // defer: doğrulama hataları da Mono hatası olarak döner
+    public Mono<RoomDto> createRoom(CreateRoomRequest request) {
+        return Mono.defer(() -> Mono.fromFuture(roomService.createRoom(request)));
+    }
+
+    public Mono<RoomDto> joinRoom(String roomId, JoinRoomRequest request) {
+        return Mono.defer(() -> Mono.fromFuture(roomService.joinRoom(roomId, request)));
+    }
+
+    public Mono<RoomDto> startDraft(String roomId) {
+        return Mono.defer(() -> Mono.fromFuture(roomService.startDraft(roomId)));
+    }
+
+    public Mono<RoomDto> updateParticipantSelectedTeams(String roomId, String userId, List<String> selectedTeams) {
+        return Mono.defer(() -> Mono.fromFuture(roomService.updateParticipantSelectedTeams(roomId, userId, selectedTeams)));
+    }
+
+    public Mono<RoomSnapshotCache.RoomSnapshot> getRoomSnapshot(String roomId) {
+        RoomSnapshotCache.RoomSnapshot cached = roomSnapshots.getIfPresent(roomId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = roomSnapshots.generation(roomId);
+        return roomRepository.findById(roomId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Room not found: " + roomId)))
+                .flatMap(room -> embedded ? Mono.just(fromEmbedded(room)) : fromCollections(room))
+                .flatMap(room -> room.map(dto -> Mono.just(roomSnapshots.putIfUnchanged(roomId, generation, dto)))
+                        .orElseGet(() -> onLane(roomId)));
+    }
+
+    private Optional<RoomDto> fromEmbedded(Room room) {
+        return Optional.of(roomService.toRoomDto(room, EmbeddedRoomStore.toParticipants(room)));
+    }
+
+    // Projeksiyonlar draft_picks'in gerisindeyse boş: lane'de okunup onarılır
+    private Mono<Optional<RoomDto>> fromCollections(Room room) {
+        return Mono.zip(participantRepository.findByRoomId(room.getId()).collectList(),
+                        draftPickRepository.findByRoomIdOrderByPickNo(room.getId()).collectList())
+                .map(loaded -> {
+                    List<RoomParticipant> participants = loaded.getT1();
+                    return CollectionRoomStore.projectionsMatch(room, participants, loaded.getT2())
+                            ? Optional.of(roomService.toRoomDto(room, participants))
+                            : Optional.empty();
+                });
+    }
+
+    private Mono<RoomSnapshotCache.RoomSnapshot> onLane(String roomId) {
+        log.debug("[room:{}] Room projections behind draft_picks, loading on the room lane", roomId);
+        return Mono.fromFuture(roomService.getRoomSnapshotAsync(roomId));
+    }
+}
@@ -0,0 +1,217 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.concurrent.KeyedSerialExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every command that mutates a room (pick, join, start, team update, timer expiry) on
+ * that room's lane, strictly one after another; different rooms run in parallel. Lanes run on
+ * virtual threads when the runtime has them (Java 21+); on Java 17 they fall back to a bounded
+ * platform pool.
+ *
+ * Picks do not block a lane thread while their write is group-committed: they are submitted
+ * with {@link #submitAsync}, which keeps the room's lane reserved until the returned stage
+ * completes, and continue on {@link #onLane} once the write is acknowledged. A pool thread is
+ * therefore only busy while a command computes or loads a room, not for the commit round trip.
+ *
+ * A command submitted from inside the same room's lane runs inline instead of queueing behind
+ * itself.
+ */
+@Component
+@Slf4j
+public class RoomCommandExecutor {
+    private final ExecutorService workers;
+    private final KeyedSerialExecutor lanes;
+    private final ThreadLocal<String> currentRoom = new ThreadLocal<>();
+    private final ConcurrentHashMap<String, Timer> waitTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> runTimers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+
+    public RoomCommandExecutor(MeterRegistry meterRegistry,
+                               @Value("${draft.commands.virtual-threads:true}") boolean useVirtualThreads,
+                               @Value("${draft.commands.threads:0}") int threads) {
+        this.meterRegistry = meterRegistry;
+        ExecutorService virtual = useVirtualThreads ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.workers = virtual != null ? virtual : newPlatformPool(threads);
+        this.lanes = new KeyedSerialExecutor(workers);
+        log.info("Room commands run on {}", virtualThreads ? "virtual threads" : "a platform thread pool");
+
+        Gauge.builder("draft.room.commands.queued", lanes, KeyedSerialExecutor::queuedTasks)
+                .description("Room commands waiting on their lane")
+                .register(meterRegistry);
+        Gauge.builder("draft.room.commands.lanes", lanes, KeyedSerialExecutor::activeLanes)
+                .description("Rooms with queued or running commands")
+                .register(meterRegistry);
+        Gauge.builder("draft.room.commands.max-lane-depth", lanes, KeyedSerialExecutor::maxQueuedPerKey)
+                .description("Deepest queue of a single room lane")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code task} on the room's lane and waits for it. Runtime exceptions thrown by the
+     * task are rethrown unchanged to the caller.
+     */
+    public <T> T call(String roomId, String command, Callable<T> task) {
+        if (roomId.equals(currentRoom.get())) {
+            return callInline(task);
+        }
+        try {
+            return submit(roomId, command, task).get();
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room " + roomId, e);
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String roomId, String command, Callable<T> task) {
+        long enqueued = System.nanoTime();
+        return lanes.submit(roomId, () -> {
+            long started = System.nanoTime();
+            waitTimer(command).record(started - enqueued, TimeUnit.NANOSECONDS);
+            currentRoom.set(roomId);
+            try {
+                return task.call();
+            } finally {
+                currentRoom.remove();
+                runTimer(command).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Runs {@code task} on the room's lane; the lane stays reserved for this command until the
+     * stage returned by the task completes, so later commands of the room wait for it without
+     * a thread being blocked. Continuations that touch room state must run on
+     * {@link #onLane(String)}.
+     */
+    public <T> CompletableFuture<T> submitAsync(String roomId, String command, Callable<? extends CompletionStage<T>> task) {
+        long enqueued = System.nanoTime();
+        return lanes.submitAsync(roomId, () -> {
+            long started = System.nanoTime();
+            waitTimer(command).record(started - enqueued, TimeUnit.NANOSECONDS);
+            currentRoom.set(roomId);
+            CompletionStage<T> stage;
+            try {
+                stage = task.call();
+            } catch (Exception e) {
+                runTimer(command).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                throw e;
+            } finally {
+                currentRoom.remove();
+            }
+            // Lane'i tuttuğu toplam süre
+            return stage.whenComplete((result, error) ->
+                    runTimer(command).record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Executor for the continuation of a {@link #submitAsync} command that still holds the
+     * room's lane. Tasks run on a lane worker as part of that command, so they may touch the
+     * room's state and {@link #call} for the same room runs inline.
+     */
+    public Executor onLane(String roomId) {
+        return task -> workers.execute(() -> {
+            currentRoom.set(roomId);
+            try {
+                task.run();
+            } finally {
+                currentRoom.remove();
+            }
+        });
+    }
+
+    public void execute(String roomId, String command, Runnable task) {
+        submit(roomId, command, () -> {
+            task.run();
+            return null;
+        }).exceptionally(e -> {
+            log.error("[room:{}] Command {} failed", roomId, command, e);
+            return null;
+        });
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    private <T> T callInline(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Timer waitTimer(String command) {
+        return waitTimers.computeIfAbsent(command, c -> Timer.builder("draft.room.commands.wait")
+                .description("Time a room command waited for its lane")
+                .tag("command", c)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    private Timer runTimer(String command) {
+        return runTimers.computeIfAbsent(command, c -> Timer.builder("draft.room.commands.run")
+                .description("Time a room command ran on its lane")
+                .tag("command", c)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    // Java 21+: Executors.newVirtualThreadPerTaskExecutor; 17'de derlenebilmesi için reflection
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformPool(int threads) {
+        // Oda yükleme gibi komutlar MongoDB'de bloklanabildiği için CPU sayısından fazla thread
+        int size = threads > 0 ? threads : Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "room-command-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,146 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.domain.model.RoomStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory draft state of one room. Only touched from the room's lane in {@link DraftEngine},
+ * so it needs no synchronization of its own.
+ */
+@Getter
+public class RoomDraftState {
+    private final String roomId;
+    private final String formation;
+    private final List<String> pickOrder;
+    private final Map<String, String> participantIds = new HashMap<>(); // userId -> participant document id
+    private final Map<String, List<String>> rosters = new HashMap<>();
+    private final Map<String, Integer> rosterLimits = new HashMap<>();
+    private final Set<String> pickedPlayerIds = new HashSet<>();
+    private final Set<String> selectedTeams = new LinkedHashSet<>(); // Tüm katılımcıların seçtiği takımlar
+    private final Long budgetCents; // Katılımcı başına kadro bütçesi, null = sınırsız
+    @Setter(AccessLevel.PACKAGE)
+    private AvailabilityIndex availability; // Auto-pick ilk gerektiğinde kurulur
+    private RoomStatus status;
+    private int currentPickIndex;
+    private int pickCount;
+    private int totalPicksNeeded;
+
+    RoomDraftState(Room room, List<RoomParticipant> participants) {
+        this.roomId = room.getId();
+        this.formation = room.getFormation();
+        this.pickOrder = List.copyOf(room.getPickOrder() != null ? room.getPickOrder() : List.of());
+        this.status = room.getStatus();
+        this.currentPickIndex = room.getCurrentPickIndex() != null ? room.getCurrentPickIndex() : 0;
+        this.budgetCents = MarketValue.eurosToCents(room.getBudget());
+
+        for (RoomParticipant p : participants) {
+            List<String> roster = new ArrayList<>(p.getSelectedPlayerIds() != null ? p.getSelectedPlayerIds() : List.of());
+            int limit = p.getRosterSizeLimit() != null ? p.getRosterSizeLimit() : 0;
+            participantIds.put(p.getUserId(), p.getId());
+            rosters.put(p.getUserId(), roster);
+            rosterLimits.put(p.getUserId(), limit);
+            pickedPlayerIds.addAll(roster);
+            if (p.getSelectedTeams() != null) {
+                selectedTeams.addAll(p.getSelectedTeams());
+            }
+            pickCount += roster.size();
+            totalPicksNeeded += limit;
+        }
+    }
+
+    // Sıra pickOrder üzerinde round-robin döner; kadrosu dolan kullanıcılar atlanır
+    public String currentUserId() {
+        if (pickOrder.isEmpty() || isComplete()) {
+            return null;
+        }
+        return pickOrder.get(currentPickIndex % pickOrder.size());
+    }
+
+    public boolean isComplete() {
+        return pickCount >= totalPicksNeeded;
+    }
+
+    public boolean isPicked(String playerId) {
+        return pickedPlayerIds.contains(playerId);
+    }
+
+    public boolean hasParticipant(String userId) {
+        return rosters.containsKey(userId);
+    }
+
+    public boolean isRosterFull(String userId) {
+        List<String> roster = rosters.get(userId);
+        return roster == null || roster.size() >= rosterLimits.getOrDefault(userId, 0);
+    }
+
+    public int picksLeft(String userId) {
+        return Math.max(0, rosterLimits.getOrDefault(userId, 0) - rosters.getOrDefault(userId, List.of()).size());
+    }
+
+    public List<String> rosterOf(String userId) {
+        return Collections.unmodifiableList(rosters.getOrDefault(userId, List.of()));
+    }
+
+    /**
+     * Index of the next turn after the current one, skipping users whose roster is full.
+     * Assumes the pick for the current user has already been counted by the caller.
+     */
+    public int nextPickIndex(String pickingUserId, int extraPicksForUser) {
+        if (pickOrder.isEmpty()) {
+            return currentPickIndex;
+        }
+        int index = currentPickIndex + 1;
+        for (int i = 0; i < pickOrder.size(); i++, index++) {
+            String userId = pickOrder.get(index % pickOrder.size());
+            int size = rosters.getOrDefault(userId, List.of()).size()
+                    + (userId.equals(pickingUserId) ? extraPicksForUser : 0);
+            if (size < rosterLimits.getOrDefault(userId, 0)) {
+                return index;
+            }
+        }
+        return index;
+    }
+
+    void applyPick(String userId, String playerId, int nextPickIndex) {
+        rosters.get(userId).add(playerId);
+        pickedPlayerIds.add(playerId);
+        if (availability != null) {
+            availability.remove(playerId);
+        }
+        pickCount++;
+        currentPickIndex = nextPickIndex;
+        if (isComplete()) {
+            status = RoomStatus.DONE;
+        }
+    }
+
+    void skipTurn(int nextPickIndex) {
+        currentPickIndex = nextPickIndex;
+    }
+
+    // Kullanıcı kalan pick'lerinden vazgeçer: limiti mevcut kadro boyutuna çekilir
+    void forfeit(String userId) {
+        int rosterSize = rosters.getOrDefault(userId, List.of()).size();
+        int previousLimit = rosterLimits.getOrDefault(userId, 0);
+        if (rosterSize < previousLimit) {
+            rosterLimits.put(userId, rosterSize);
+            totalPicksNeeded -= previousLimit - rosterSize;
+        }
+        if (isComplete()) {
+            status = RoomStatus.DONE;
+        }
+    }
+}
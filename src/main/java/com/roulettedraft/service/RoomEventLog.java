@@ -0,0 +1,92 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.websocket.EncodedFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Ring buffer of the most recent sequenced events of one room, used to replay what a
+ * reconnecting client missed. Only touched from the room's dispatch lane.
+ *
+ * The buffer always holds one contiguous run of sequence numbers of a single epoch: a new
+ * epoch or a gap (a frame lost on the bus) starts it over, so a replay never skips an event.
+ */
+final class RoomEventLog {
+    private final EncodedFrame[] frames;
+    private final long[] seqs;
+    private String epoch;
+    private int head;  // En eski event'in index'i
+    private int count;
+    private long lastSeq;
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+
+    RoomEventLog(int capacity) {
+        this.frames = new EncodedFrame[Math.max(1, capacity)];
+        this.seqs = new long[frames.length];
+    }
+
+    void append(String epoch, long seq, EncodedFrame frame) {
+        lastActivityMillis = System.currentTimeMillis();
+        if (!Objects.equals(epoch, this.epoch)) {
+            // Numaralandırma yeniden başladı (eviction / restart)
+            this.epoch = epoch;
+            clear();
+        } else if (seq <= lastSeq) {
+            return; // Tekrar gelen event
+        } else if (count > 0 && seq != lastSeq + 1) {
+            // Arada kayıp var; eksik aralığı replay etmemek için baştan başla
+            clear();
+        }
+        int index = (head + count) % frames.length;
+        frames[index] = frame;
+        seqs[index] = seq;
+        if (count < frames.length) {
+            count++;
+        } else {
+            head = (head + 1) % frames.length;
+        }
+        lastSeq = seq;
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    long lastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    /**
+     * Events after {@code lastSeenSeq} of {@code lastSeenEpoch}, oldest first, or {@code null}
+     * if the epoch differs, some of them are no longer in the buffer, or the client claims a
+     * sequence this room never reached.
+     */
+    List<EncodedFrame> since(String lastSeenEpoch, long lastSeenSeq) {
+        lastActivityMillis = System.currentTimeMillis();
+        if (!Objects.equals(lastSeenEpoch, epoch) || lastSeenSeq > lastSeq) {
+            return null;
+        }
+        if (lastSeenSeq == lastSeq) {
+            return List.of();
+        }
+        // Replay başlangıcını sıra numarasıyla bul; sayıdan hesaplamak kayıp olduğunda yanlış frame'i seçer
+        for (int i = 0; i < count; i++) {
+            if (seqs[(head + i) % frames.length] == lastSeenSeq + 1) {
+                List<EncodedFrame> result = new ArrayList<>(count - i);
+                for (int j = i; j < count; j++) {
+                    result.add(frames[(head + j) % frames.length]);
+                }
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private void clear() {
+        head = 0;
+        count = 0;
+        lastSeq = 0;
+    }
+}
@@ -7,31 +7,35 @@ import com.roulettedraft.dto.CreateRoomRequest;
 import com.roulettedraft.dto.JoinRoomRequest;
 import com.roulettedraft.dto.RoomDto;
 import com.roulettedraft.dto.RoomParticipantDto;
+import com.roulettedraft.dto.websocket.ParticipantJoinedEvent;
+import com.roulettedraft.dto.websocket.StatusChangedEvent;
+import com.roulettedraft.dto.websocket.TeamsChangedEvent;
 import com.roulettedraft.mapper.DtoMapper;
-import com.roulettedraft.repository.RoomParticipantRepository;
-import com.roulettedraft.repository.RoomRepository;
+import com.roulettedraft.store.RoomStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RoomService {
-    private final RoomRepository roomRepository;
-    private final RoomParticipantRepository participantRepository;
+    private final RoomStore roomStore;
     private final DtoMapper dtoMapper;
     private final WebSocketService webSocketService;
     private final TimerService timerService;
+    private final DraftEngine draftEngine;
+    private final RoomCommandExecutor roomCommands;
+    private final RoomSnapshotCache roomSnapshots;
 
-    @Transactional
-    public RoomDto createRoom(CreateRoomRequest request) {
+    // Tek doküman insert'ü, transaction gerekmez; request thread'i Mongo'yu beklemez
+    public CompletableFuture<RoomDto> createRoom(CreateRoomRequest request) {
         log.info("Creating room: {}", request.getName());
         
         // Validate max participants (2-5)
@@ -46,39 +50,50 @@ public class RoomService {
                 .status(RoomStatus.WAITING)
                 .formation(request.getFormation())
                 .maxParticipants(maxParticipants)
+                .budget(request.getBudget())
                 .pickOrder(new ArrayList<>())
                 .currentPickIndex(0)
                 .build();
         
-        room = roomRepository.save(room);
-        log.info("Room created with id: {}", room.getId());
-        
-        RoomDto roomDto = toRoomDtoWithParticipants(room);
-        webSocketService.broadcastRoomUpdate(room.getId(), roomDto);
-        
-        return roomDto;
+        return roomCommands.submit(room.getId(), "create", () -> {
+            Room created = roomStore.createRoom(room);
+            log.info("Room created with id: {}", created.getId());
+            
+            // Yeni odanın katılımcısı ve dinleyicisi yok, yayın gerekmez
+            return cached(toRoomDto(created, List.of()));
+        });
+    }
+
+    // Odayı değiştiren komutlar odanın lane'inde sırayla çalışır; çağıran thread beklemez
+    public CompletableFuture<RoomDto> joinRoom(String roomId, JoinRoomRequest request) {
+        return roomCommands.submit(roomId, "join", () -> join(roomId, request));
+    }
+
+    public CompletableFuture<RoomDto> startDraft(String roomId) {
+        return roomCommands.submit(roomId, "start", () -> start(roomId));
+    }
+
+    public CompletableFuture<RoomDto> updateParticipantSelectedTeams(String roomId, String userId, List<String> selectedTeams) {
+        return roomCommands.submit(roomId, "update-teams", () -> updateSelectedTeams(roomId, userId, selectedTeams));
     }
 
-    @Transactional
-    public RoomDto joinRoom(String roomId, JoinRoomRequest request) {
+    private RoomDto join(String roomId, JoinRoomRequest request) {
         log.info("User {} joining room {}", request.getUserId(), roomId);
         
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found: " + roomId));
+        RoomStore.LoadedRoom loaded = loadRoom(roomId);
+        Room room = loaded.room();
         
         if (room.getStatus() != RoomStatus.WAITING) {
             throw new RuntimeException("Cannot join room in status: " + room.getStatus());
         }
         
         // Check if user already joined
-        participantRepository.findByRoomIdAndUserId(roomId, request.getUserId())
-                .ifPresent(p -> {
-                    log.debug("User {} already in room {}", request.getUserId(), roomId);
-                    return;
-                });
+        List<RoomParticipant> existing = new ArrayList<>(loaded.participants());
+        if (existing.stream().anyMatch(p -> p.getUserId().equals(request.getUserId()))) {
+            log.debug("User {} already in room {}", request.getUserId(), roomId);
+        }
         
         // Check max participants (2-5)
-        List<RoomParticipant> existing = participantRepository.findByRoomId(roomId);
         if (existing.size() >= room.getMaxParticipants()) {
             throw new RuntimeException("Room is full. Max participants: " + room.getMaxParticipants());
         }
@@ -91,27 +106,29 @@ public class RoomService {
                 .rosterSizeLimit(request.getRosterSizeLimit() != null ? request.getRosterSizeLimit() : 11)
                 .build();
         
-        participantRepository.save(participant);
+        roomStore.addParticipant(room, participant);
         log.info("User {} joined room {}", request.getUserId(), roomId);
         
-        RoomDto roomDto = toRoomDtoWithParticipants(room);
-        webSocketService.broadcastRoomUpdate(roomId, roomDto);
+        webSocketService.broadcastParticipantJoined(roomId, ParticipantJoinedEvent.builder()
+                .roomId(roomId)
+                .participant(toParticipantDto(participant))
+                .build());
         
-        return roomDto;
+        existing.add(participant);
+        return cached(toRoomDto(room, existing));
     }
 
-    @Transactional
-    public RoomDto startDraft(String roomId) {
+    private RoomDto start(String roomId) {
         log.info("Starting draft for room: {}", roomId);
         
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found: " + roomId));
+        RoomStore.LoadedRoom loaded = loadRoom(roomId);
+        Room room = loaded.room();
         
         if (room.getStatus() != RoomStatus.WAITING) {
             throw new RuntimeException("Room is not in WAITING status");
         }
         
-        List<RoomParticipant> participants = participantRepository.findByRoomId(roomId);
+        List<RoomParticipant> participants = loaded.participants();
         if (participants.size() < 2) {
             throw new RuntimeException("Need at least 2 participants to start. Current: " + participants.size());
         }
@@ -130,115 +147,104 @@ public class RoomService {
         room.setPickOrder(pickOrder);
         room.setCurrentPickIndex(0);
         
-        room = roomRepository.save(room);
+        room = roomStore.startDraft(room);
         log.info("Draft started for room {}, pick order: {}", roomId, pickOrder);
+        draftEngine.prime(room, participants);
+        RoomDto roomDto = cached(toRoomDto(room, participants));
         
-        // Start timer for first pick
-        timerService.resetTimer(roomId);
+        webSocketService.broadcastStatusChanged(roomId, StatusChangedEvent.builder()
+                .roomId(roomId)
+                .status(RoomStatus.DRAFTING)
+                .pickOrder(pickOrder)
+                .currentPickIndex(0)
+                .build());
         
-        RoomDto roomDto = toRoomDtoWithParticipants(room);
-        webSocketService.broadcastRoomUpdate(roomId, roomDto);
+        // Start timer for first pick
+        timerService.resetTimer(roomId, pickOrder.get(0), 0);
         
         return roomDto;
     }
 
     public RoomDto getRoomById(String roomId) {
-        log.debug("Fetching room: {}", roomId);
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found: " + roomId));
-        return toRoomDtoWithParticipants(room);
+        return getRoomSnapshot(roomId).room();
     }
 
-    @Transactional
-    public RoomDto updateParticipantSelectedTeams(String roomId, String userId, List<String> selectedTeams) {
-        log.info("🔵 [updateParticipantSelectedTeams] Updating selected teams for user {} in room {} with teams: {}", userId, roomId, selectedTeams);
+    // Polling için: hit'te hemen, miss'te oda lane'inde yüklenir ve request thread'i beklemez
+    public CompletableFuture<RoomSnapshotCache.RoomSnapshot> getRoomSnapshotAsync(String roomId) {
+        RoomSnapshotCache.RoomSnapshot cachedSnapshot = roomSnapshots.getIfPresent(roomId);
+        if (cachedSnapshot != null) {
+            return CompletableFuture.completedFuture(cachedSnapshot);
+        }
+        return roomCommands.submit(roomId, "load-snapshot", () -> getRoomSnapshot(roomId));
+    }
+
+    // DTO, JSON byte'ları ve ETag bellekten; DB'ye sadece miss'te gidilir
+    public RoomSnapshotCache.RoomSnapshot getRoomSnapshot(String roomId) {
+        return roomSnapshots.get(roomId, id -> {
+            log.debug("Fetching room: {}", id);
+            RoomStore.LoadedRoom loaded = loadRoom(id);
+            return toRoomDto(loaded.room(), loaded.participants());
+        });
+    }
+
+    private RoomDto updateSelectedTeams(String roomId, String userId, List<String> selectedTeams) {
+        log.info("Updating selected teams for user {} in room {}: {}", userId, roomId, selectedTeams);
         
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found: " + roomId));
+        RoomStore.LoadedRoom loaded = loadRoom(roomId);
         
-        RoomParticipant participant = participantRepository.findByRoomIdAndUserId(roomId, userId)
+        RoomParticipant participant = loaded.participants().stream()
+                .filter(p -> userId.equals(p.getUserId()))
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Participant not found in room: " + roomId));
         
-        log.info("🔵 [updateParticipantSelectedTeams] Found participant: id={}, displayName={}, current selectedTeams={}", 
-            participant.getId(), participant.getDisplayName(), participant.getSelectedTeams());
-        
         // selectedTeams null değilse, yeni ArrayList oluştur
         List<String> teamsToSave = (selectedTeams != null && !selectedTeams.isEmpty()) 
             ? new ArrayList<>(selectedTeams) 
             : new ArrayList<>();
         
-        log.info("🔵 [updateParticipantSelectedTeams] Teams to save: {}", teamsToSave);
-        
         participant.setSelectedTeams(teamsToSave);
-        participant = participantRepository.save(participant);
-        
-        log.info("🔵 [updateParticipantSelectedTeams] After save - participant.selectedTeams: {}", participant.getSelectedTeams());
-        
-        // MongoDB'den tekrar oku ve kontrol et
-        RoomParticipant savedParticipant = participantRepository.findById(participant.getId())
-            .orElseThrow(() -> new RuntimeException("Participant not found after save"));
-        
-        log.info("🔵 [updateParticipantSelectedTeams] Re-read from MongoDB - savedParticipant.selectedTeams: {}", savedParticipant.getSelectedTeams());
-        log.info("🔵 [updateParticipantSelectedTeams] Updated selected teams for user {}: {}", userId, selectedTeams);
-        
-        // Repository'den tekrar oku (fresh data için)
-        participant = participantRepository.findByRoomIdAndUserId(roomId, userId)
-                .orElseThrow(() -> new RuntimeException("Participant not found after save"));
-        
-        log.info("🔵 [updateParticipantSelectedTeams] Re-read from DB - participant.selectedTeams: {}", participant.getSelectedTeams());
-        
-        RoomDto roomDto = toRoomDtoWithParticipants(room);
+        roomStore.updateSelectedTeams(participant);
+        log.debug("Saved selected teams for participant {}: {}", participant.getId(), teamsToSave);
         
-        // Debug: RoomDto'daki participants'ı kontrol et
-        log.info("🔵 [updateParticipantSelectedTeams] RoomDto participants after mapping:");
-        if (roomDto.getParticipants() != null) {
-            for (RoomParticipantDto p : roomDto.getParticipants()) {
-                log.info("🔵   Participant {} (userId: {}): selectedTeams = {}", 
-                    p.getDisplayName(), p.getUserId(), p.getSelectedTeams());
-            }
-        } else {
-            log.warn("🔵 [updateParticipantSelectedTeams] RoomDto.getParticipants() is NULL!");
-        }
+        // participant listedeki nesnenin kendisi, güncel takımlarla
+        RoomDto roomDto = cached(toRoomDto(loaded.room(), loaded.participants()));
         
-        webSocketService.broadcastRoomUpdate(roomId, roomDto);
+        webSocketService.broadcastTeamsChanged(roomId, TeamsChangedEvent.builder()
+                .roomId(roomId)
+                .userId(userId)
+                .selectedTeams(teamsToSave)
+                .build());
         
         return roomDto;
     }
 
-    private RoomDto toRoomDtoWithParticipants(Room room) {
-        List<RoomParticipant> participants = participantRepository.findByRoomId(room.getId());
-        
-        log.info("🔵 [toRoomDtoWithParticipants] Found {} participants from DB:", participants.size());
-        for (RoomParticipant p : participants) {
-            log.info("🔵   Participant {} (userId: {}): selectedTeams = {} (type: {}, isNull: {})", 
-                p.getDisplayName(), 
-                p.getUserId(), 
-                p.getSelectedTeams(),
-                p.getSelectedTeams() != null ? p.getSelectedTeams().getClass().getName() : "null",
-                p.getSelectedTeams() == null);
-        }
-        
+    private RoomStore.LoadedRoom loadRoom(String roomId) {
+        return roomStore.load(roomId)
+                .orElseThrow(() -> new RuntimeException("Room not found: " + roomId));
+    }
+
+    // Mutasyonlar DB'ye yazıldıktan sonra snapshot cache'e write-through
+    private RoomDto cached(RoomDto roomDto) {
+        roomSnapshots.put(roomDto);
+        return roomDto;
+    }
+
+    // Katılımcılar zaten elimizdeyse DB'ye tekrar gitmeden
+    RoomDto toRoomDto(Room room, List<RoomParticipant> participants) {
         RoomDto dto = dtoMapper.toRoomDto(room);
-        List<RoomParticipantDto> participantDtos = dtoMapper.toRoomParticipantDtoList(participants);
-        
-        log.info("🔵 [toRoomDtoWithParticipants] After MapStruct mapping:");
-        for (RoomParticipantDto pd : participantDtos) {
-            log.info("🔵   Participant DTO {} (userId: {}): selectedTeams = {} (type: {}, isNull: {})", 
-                pd.getDisplayName(), 
-                pd.getUserId(), 
-                pd.getSelectedTeams(),
-                pd.getSelectedTeams() != null ? pd.getSelectedTeams().getClass().getName() : "null",
-                pd.getSelectedTeams() == null);
-            
-            // Eğer null ise, boş liste olarak set et
-            if (pd.getSelectedTeams() == null) {
-                pd.setSelectedTeams(new ArrayList<>());
-                log.warn("🔵   ⚠️ Participant DTO {} selectedTeams NULL'dı, boş liste olarak set edildi!", pd.getDisplayName());
-            }
+        List<RoomParticipantDto> participantDtos = new ArrayList<>(participants.size());
+        for (RoomParticipant p : participants) {
+            participantDtos.add(toParticipantDto(p));
         }
-        
         dto.setParticipants(participantDtos);
         return dto;
     }
-}
 
+    private RoomParticipantDto toParticipantDto(RoomParticipant participant) {
+        RoomParticipantDto dto = dtoMapper.toRoomParticipantDto(participant);
+        if (dto.getSelectedTeams() == null) {
+            dto.setSelectedTeams(new ArrayList<>());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,107 @@
+package com.roulettedraft.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roulettedraft.dto.RoomDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Fully mapped rooms together with their serialized JSON and ETag, in a bounded Caffeine
+ * (W-TinyLFU) cache. {@link RoomService} writes through after every room mutation and
+ * {@link DraftService} invalidates after a pick or turn change has been persisted, so a miss
+ * always reloads data at least as new as the last mutation.
+ *
+ * Readers outside the room's lane (the reactive profile) fill the cache through
+ * {@link #putIfUnchanged}: every put and invalidate bumps a striped per-room generation, and a
+ * snapshot read while the room changed is returned but not cached.
+ */
+@Component
+@Slf4j
+public class RoomSnapshotCache {
+    private static final int GENERATION_STRIPES = 1024; // Çakışma sadece gereksiz bir cache atlamasına yol açar
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, RoomSnapshot> snapshots;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public RoomSnapshotCache(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${draft.room-cache.max-size:10000}") long maxSize,
+                             @Value("${draft.room-cache.expire-after-access-minutes:30}") long expireAfterAccessMinutes) {
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "room-snapshots");
+    }
+
+    // Miss'te aynı oda için tek yükleme çalışır; eşzamanlı put/invalidate yüklemenin bitmesini bekler
+    public RoomSnapshot get(String roomId, Function<String, RoomDto> loader) {
+        return snapshots.get(roomId, id -> snapshotOf(loader.apply(id)));
+    }
+
+    // Yükleme yapmadan; yoksa null
+    public RoomSnapshot getIfPresent(String roomId) {
+        return snapshots.getIfPresent(roomId);
+    }
+
+    public void put(RoomDto room) {
+        RoomSnapshot snapshot = snapshotOf(room);
+        generations.incrementAndGet(stripe(room.getId()));
+        snapshots.put(room.getId(), snapshot);
+    }
+
+    public void invalidate(String roomId) {
+        generations.incrementAndGet(stripe(roomId));
+        snapshots.invalidate(roomId);
+    }
+
+    // Lane dışından okuyan, DB sorgusundan önce alır
+    public long generation(String roomId) {
+        return generations.get(stripe(roomId));
+    }
+
+    /**
+     * Caches a snapshot read without holding the room's lane, unless the room was put or
+     * invalidated since {@code generation} was taken: the read may then predate that mutation.
+     * A mutation that lands after this call replaces or removes the entry as usual.
+     */
+    public RoomSnapshot putIfUnchanged(String roomId, long generation, RoomDto room) {
+        RoomSnapshot loaded = snapshotOf(room);
+        RoomSnapshot current = snapshots.asMap().compute(roomId, (id, existing) ->
+                existing == null && generations.get(stripe(id)) == generation ? loaded : existing);
+        return current != null ? current : loaded;
+    }
+
+    private static int stripe(String roomId) {
+        return Math.floorMod(roomId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private RoomSnapshot snapshotOf(RoomDto room) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(room);
+            return new RoomSnapshot(room, json, DigestUtils.md5DigestAsHex(json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize room " + room.getId(), e);
+        }
+    }
+
+    /**
+     * Cached room. The DTO is shared between readers and must not be modified.
+     */
+    public record RoomSnapshot(RoomDto room, byte[] json, String etag) {
+    }
+}
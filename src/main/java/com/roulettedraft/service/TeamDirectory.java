@@ -0,0 +1,236 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+import com.roulettedraft.dto.TeamDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Team list built with a single $group aggregation and kept in memory, sorted by name.
+ * Player changes reported by {@link PlayerCatalog} patch only the affected teams.
+ *
+ * A team's league is the league of its first player (in {@code _id} order) that has one, and a
+ * league filter lists every team with at least one player in that league, as the original
+ * player scan did.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TeamDirectory {
+    private static final Comparator<TeamDto> BY_NAME = (t1, t2) -> t1.getName().compareToIgnoreCase(t2.getName());
+    private static final String UNKNOWN_POSITION = "UNKNOWN";
+
+    private final MongoTemplate mongoTemplate;
+    private final PlayerCatalog playerCatalog;
+
+    private volatile Directory directory;
+
+    public View view(String league) {
+        Directory current = directory();
+        if (league == null || league.isEmpty()) {
+            return current.all;
+        }
+        return current.byLeague.getOrDefault(league.toLowerCase(Locale.ROOT), current.empty);
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(PlayerCatalogRefreshedEvent event) {
+        Directory current = directory;
+        // İlk yükleme: aggregation ile ilk istekte kurulacak
+        if (current == null || event.getPrevious() == PlayerCatalogSnapshot.EMPTY || event.getChangedTeams().isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            Map<String, TeamEntry> teams = new HashMap<>(directory.teamsByName);
+            for (String teamName : event.getChangedTeams()) {
+                List<Player> players = event.getCurrent().findByTeam(teamName).stream()
+                        .filter(p -> teamName.equals(p.getTeam()))
+                        .toList();
+                if (players.isEmpty()) {
+                    teams.remove(teamName);
+                } else {
+                    teams.put(teamName, fromPlayers(teamName, players));
+                }
+            }
+            directory = new Directory(teams.values());
+            log.info("Team directory updated for {} changed teams, {} teams total",
+                    event.getChangedTeams().size(), teams.size());
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        // Ligi olan oyuncular önce, sonra _id sırası: {missing, id, league} üzerinden $min ilk oyuncunun ligini verir
+        Document noLeague = new Document("$eq", Arrays.asList(new Document("$ifNull", Arrays.asList("$league", "")), ""));
+        Document firstLeague = new Document("missing", new Document("$cond", Arrays.asList(noLeague, 1, 0)))
+                .append("id", "$_id")
+                .append("league", "$league");
+        Aggregation aggregation = Aggregation.newAggregation(
+                stage(new Document("$match", new Document("team", new Document("$nin", Arrays.asList(null, ""))))),
+                stage(new Document("$group", new Document("_id", new Document("team", "$team").append("position", "$position"))
+                        .append("count", new Document("$sum", 1))
+                        .append("first", new Document("$min", firstLeague))
+                        .append("leagues", new Document("$addToSet", "$league")))),
+                stage(new Document("$group", new Document("_id", "$_id.team")
+                        .append("first", new Document("$min", "$first"))
+                        .append("leagues", new Document("$push", "$leagues"))
+                        .append("playerCount", new Document("$sum", "$count"))
+                        .append("positions", new Document("$push", new Document("position", "$_id.position")
+                                .append("count", "$count")))))
+        );
+
+        List<Document> results = mongoTemplate.aggregate(
+                aggregation, mongoTemplate.getCollectionName(Player.class), Document.class).getMappedResults();
+
+        List<TeamEntry> teams = new ArrayList<>(results.size());
+        for (Document doc : results) {
+            Map<String, Integer> positionCounts = new TreeMap<>();
+            for (Document pos : doc.getList("positions", Document.class)) {
+                String position = pos.getString("position");
+                positionCounts.merge(position != null ? position : UNKNOWN_POSITION,
+                        ((Number) pos.get("count")).intValue(), Integer::sum);
+            }
+            String name = doc.getString("_id");
+            Document first = doc.get("first", Document.class);
+            String league = first != null && ((Number) first.get("missing")).intValue() == 0 ? first.getString("league") : null;
+            Set<String> leagues = new HashSet<>();
+            for (Object positionLeagues : doc.getList("leagues", Object.class)) {
+                for (Object l : (List<?>) positionLeagues) {
+                    if (l instanceof String value && !value.isEmpty()) {
+                        leagues.add(value);
+                    }
+                }
+            }
+            teams.add(new TeamEntry(TeamDto.builder()
+                    .id(name)
+                    .name(name)
+                    .league(league != null ? league : "")
+                    .playerCount(((Number) doc.get("playerCount")).intValue())
+                    .positionCounts(Collections.unmodifiableMap(positionCounts))
+                    .build(), leagues));
+        }
+
+        directory = new Directory(teams);
+        log.info("Team directory built: {} teams in {} ms", teams.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Directory directory() {
+        Directory current = directory;
+        if (current == null) {
+            synchronized (this) {
+                if (directory == null) {
+                    rebuild();
+                }
+                current = directory;
+            }
+        }
+        return current;
+    }
+
+    private static TeamEntry fromPlayers(String teamName, List<Player> players) {
+        Map<String, Integer> positionCounts = new TreeMap<>();
+        Set<String> leagues = new HashSet<>();
+        Player first = null;
+        for (Player p : players) {
+            positionCounts.merge(p.getPosition() != null ? p.getPosition() : UNKNOWN_POSITION, 1, Integer::sum);
+            if (p.getLeague() != null && !p.getLeague().isEmpty()) {
+                leagues.add(p.getLeague());
+                if (first == null || p.getId().compareTo(first.getId()) < 0) {
+                    first = p; // aggregation'daki gibi ligi olan ilk oyuncu (_id sırası)
+                }
+            }
+        }
+        return new TeamEntry(TeamDto.builder()
+                .id(teamName)
+                .name(teamName)
+                .league(first != null ? first.getLeague() : "")
+                .playerCount(players.size())
+                .positionCounts(Collections.unmodifiableMap(positionCounts))
+                .build(), leagues);
+    }
+
+    private static AggregationOperation stage(Document document) {
+        return context -> document;
+    }
+
+    @Getter
+    public static final class View {
+        private final List<TeamDto> teams;
+        private final String etag;
+
+        private View(List<TeamDto> teams) {
+            this.teams = Collections.unmodifiableList(teams);
+            this.etag = "\"teams-" + Integer.toHexString(teams.hashCode()) + "-" + teams.size() + "\"";
+        }
+    }
+
+    // leagues: takımın oyuncularında geçen tüm ligler (lig filtresi için)
+    private record TeamEntry(TeamDto team, Set<String> leagues) {
+    }
+
+    private static final class Directory {
+        private final Map<String, TeamEntry> teamsByName;
+        private final View all;
+        private final View empty = new View(List.of());
+        private final Map<String, View> byLeague;
+
+        private Directory(Collection<TeamEntry> entries) {
+            List<TeamEntry> sorted = new ArrayList<>(entries);
+            sorted.sort((e1, e2) -> BY_NAME.compare(e1.team(), e2.team()));
+
+            Map<String, TeamEntry> names = new HashMap<>(sorted.size() * 2);
+            List<TeamDto> teams = new ArrayList<>(sorted.size());
+            Map<String, List<TeamDto>> leagues = new LinkedHashMap<>();
+            for (TeamEntry entry : sorted) {
+                TeamDto team = entry.team();
+                names.put(team.getName(), entry);
+                teams.add(team);
+                // Filtrelenmiş listede takım, filtrelenen ligle gösterilir
+                Map<String, String> byKey = new HashMap<>();
+                entry.leagues().forEach(league -> byKey.merge(league.toLowerCase(Locale.ROOT), league,
+                        (a, b) -> a.compareTo(b) <= 0 ? a : b));
+                byKey.forEach((key, league) -> leagues.computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(league.equals(team.getLeague()) ? team : withLeague(team, league)));
+            }
+
+            Map<String, View> leagueViews = new HashMap<>(leagues.size() * 2);
+            leagues.forEach((league, list) -> leagueViews.put(league, new View(list)));
+
+            this.teamsByName = names;
+            this.all = new View(teams);
+            this.byLeague = leagueViews;
+        }
+
+        private static TeamDto withLeague(TeamDto team, String league) {
+            return TeamDto.builder()
+                    .id(team.getId())
+                    .name(team.getName())
+                    .league(league)
+                    .logoUrl(team.getLogoUrl())
+                    .playerCount(team.getPlayerCount())
+                    .positionCounts(team.getPositionCounts())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Player;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable per-team player pools for random fill, kept in a size-bounded LRU. Teams missing
+ * from the cache are loaded together with a single case-insensitive {@code $in} query (served
+ * by the team collation index) that only returns id, team and position. Teams whose players
+ * change in the {@link PlayerCatalog} are evicted.
+ */
+@Component
+@Slf4j
+public class TeamPoolCache {
+    private final MongoTemplate mongoTemplate;
+    private final int maxTeams;
+    private final Map<String, List<Player>> pools;
+    private final Counter hits;
+    private final Counter misses;
+    private long generation; // Invalidation sayacı; yükleme sırasında değiştiyse sonuç cache'e yazılmaz
+
+    public TeamPoolCache(MongoTemplate mongoTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${draft.random-fill.team-pool-cache-size:256}") int maxTeams) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxTeams = Math.max(1, maxTeams);
+        this.pools = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Player>> eldest) {
+                return size() > TeamPoolCache.this.maxTeams;
+            }
+        };
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("draft.random-fill.team-pools", this, TeamPoolCache::size)
+                .description("Team pools held in the random fill cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Players of the given teams, keyed by the team name as requested. Team names are matched
+     * case-insensitively; teams without players map to an empty list.
+     */
+    public Map<String, List<Player>> poolsFor(List<String> teams) {
+        Map<String, List<Player>> result = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (String team : teams) {
+                List<Player> pool = pools.get(key(team));
+                if (pool != null) {
+                    result.put(team, pool);
+                } else {
+                    missing.add(key(team));
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.increment(result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.increment(missing.size());
+
+        Map<String, List<Player>> loaded = load(missing);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                pools.putAll(loaded);
+            }
+        }
+        for (String team : teams) {
+            result.computeIfAbsent(team, t -> loaded.getOrDefault(key(t), List.of()));
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(PlayerCatalogRefreshedEvent event) {
+        synchronized (this) {
+            generation++;
+            if (event.getPrevious() == PlayerCatalogSnapshot.EMPTY) {
+                pools.clear(); // İlk catalog yüklemesi: neyin değiştiği bilinmiyor
+                return;
+            }
+            event.getChangedTeams().forEach(team -> pools.remove(key(team)));
+        }
+    }
+
+    public synchronized int size() {
+        return pools.size();
+    }
+
+    // Tek sorgu; PlayerSearchService'in team collation index'ini kullanır
+    private Map<String, List<Player>> load(Set<String> teamKeys) {
+        Query query = Query.query(Criteria.where("team").in(teamKeys))
+                .collation(PlayerSearchService.CASE_INSENSITIVE);
+        query.fields().include("_id", "team", "position");
+        List<Player> players = mongoTemplate.find(query, Player.class);
+
+        Map<String, List<Player>> grouped = new HashMap<>();
+        for (Player player : players) {
+            if (player.getTeam() != null) {
+                grouped.computeIfAbsent(key(player.getTeam()), k -> new ArrayList<>()).add(player);
+            }
+        }
+        Map<String, List<Player>> result = new HashMap<>();
+        for (String teamKey : teamKeys) {
+            result.put(teamKey, List.copyOf(grouped.getOrDefault(teamKey, List.of())));
+        }
+        log.debug("Loaded {} players for {} teams in one query", players.size(), teamKeys.size());
+        return result;
+    }
+
+    private static String key(String team) {
+        return team.toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("draft.random-fill.team-pool.lookups")
+                .description("Team pool lookups served from the cache or the database")
+                .tag("result", result)
+                .register(registry);
+    }
+}
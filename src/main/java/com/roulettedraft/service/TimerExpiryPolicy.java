@@ -0,0 +1,7 @@
+package com.roulettedraft.service;
+
+public enum TimerExpiryPolicy {
+    AUTO_PICK, // Slot/pozisyona uygun bir oyuncuyu otomatik seç
+    SKIP,      // Sırayı bir sonraki kullanıcıya geçir
+    FORFEIT    // Kullanıcı kalan pick'lerini kaybeder
+}
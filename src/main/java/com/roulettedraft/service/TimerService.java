@@ -1,84 +1,172 @@
 package com.roulettedraft.service;
 
-import com.roulettedraft.domain.model.Room;
-import com.roulettedraft.domain.model.RoomStatus;
+import com.roulettedraft.concurrent.HierarchicalTimingWheel;
+import com.roulettedraft.dto.websocket.PickDeadlineEvent;
 import com.roulettedraft.dto.websocket.TimerTickEvent;
-import com.roulettedraft.repository.RoomRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import jakarta.annotation.PreDestroy;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Pick timers on a hierarchical timing wheel. Each room stores an absolute deadline that is
+ * announced once per turn with a PICK_DEADLINE event; clients count down locally. The expiry
+ * (and, in legacy mode, per-second TIMER_TICK events) are wheel timeouts, so there are no
+ * database reads and rooms without an active timer cost nothing.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TimerService {
-    private final RoomRepository roomRepository;
     private final WebSocketService webSocketService;
-    private final ConcurrentHashMap<String, Integer> roomTimers = new ConcurrentHashMap<>();
-    private static final int PICK_TIMEOUT_SECONDS = 30;
-
-    @Scheduled(fixedRate = 1000) // Her saniye
-    public void tickTimers() {
-        // Sadece aktif timer'ı olan odaları işle (tüm DRAFTING odalarını sorgulamayalım)
-        if (roomTimers.isEmpty()) {
-            return; // Timer yoksa hiç sorgu yapma
+    private final ApplicationEventPublisher eventPublisher;
+    private final HierarchicalTimingWheel wheel;
+    private final ConcurrentHashMap<String, RoomTimer> roomTimers = new ConcurrentHashMap<>();
+    private final int pickTimeoutSeconds;
+    private final boolean legacyTicks;
+
+    public TimerService(WebSocketService webSocketService,
+                        ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry,
+                        @Value("${draft.timer.pick-timeout-seconds:30}") int pickTimeoutSeconds,
+                        @Value("${draft.timer.tick-ms:20}") long tickMillis,
+                        @Value("${draft.timer.shards:2}") int shards,
+                        @Value("${draft.timer.legacy-ticks:false}") boolean legacyTicks) {
+        this.webSocketService = webSocketService;
+        this.eventPublisher = eventPublisher;
+        this.pickTimeoutSeconds = pickTimeoutSeconds;
+        this.legacyTicks = legacyTicks;
+
+        Timer lag = Timer.builder("draft.timer.lag")
+                .description("Delay between a timer deadline and the moment it fired")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Timer tickLag = Timer.builder("draft.timer.tick.lag")
+                .description("Delay between a wheel tick's scheduled start and the moment it ran")
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.wheel = new HierarchicalTimingWheel("pick-timer", shards, tickMillis,
+                lagNanos -> lag.record(Math.max(0, lagNanos), TimeUnit.NANOSECONDS),
+                lagNanos -> tickLag.record(lagNanos, TimeUnit.NANOSECONDS));
+
+        Gauge.builder("draft.timer.active", roomTimers, ConcurrentHashMap::size)
+                .description("Rooms with a running pick timer")
+                .register(meterRegistry);
+        Gauge.builder("draft.timer.pending", wheel, HierarchicalTimingWheel::pendingCount)
+                .description("Timeouts scheduled on the timing wheel")
+                .register(meterRegistry);
+    }
+
+    public void resetTimer(String roomId, String currentUserId, int pickIndex) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(pickTimeoutSeconds);
+        RoomTimer timer = new RoomTimer(roomId, currentUserId, pickIndex, deadline);
+        RoomTimer previous = roomTimers.put(roomId, timer);
+        if (previous != null) {
+            previous.cancel();
         }
-        
-        // Aktif timer'ı olan room ID'lerini al
-        List<String> activeRoomIds = new ArrayList<>(roomTimers.keySet());
-        
-        // Sadece bu odaları sorgula (daha efficient)
-        List<Room> draftingRooms = roomRepository.findByIdInAndStatus(activeRoomIds, RoomStatus.DRAFTING);
-        
-        for (Room room : draftingRooms) {
-            String roomId = room.getId();
-            Integer remaining = roomTimers.getOrDefault(roomId, PICK_TIMEOUT_SECONDS);
-            
-            if (remaining > 0) {
-                remaining--;
-                roomTimers.put(roomId, remaining);
-                
-                String currentUserId = getCurrentUserId(room);
-                TimerTickEvent event = TimerTickEvent.builder()
-                        .roomId(roomId)
-                        .remainingSeconds(remaining)
-                        .currentUserId(currentUserId)
-                        .build();
-                
-                webSocketService.broadcastTimerTick(roomId, event);
-                
-                if (remaining == 0) {
-                    log.warn("[room:{}] Timer expired for user {}", roomId, currentUserId);
-                    // Timer expired - could implement auto-pick or skip logic here
-                    roomTimers.remove(roomId);
-                }
-            }
+        webSocketService.broadcastPickDeadline(roomId, toDeadlineEvent(timer));
+        if (legacyTicks) {
+            scheduleTick(timer, pickTimeoutSeconds - 1);
+        } else {
+            timer.timeout = wheel.schedule(roomId, deadline - System.currentTimeMillis(), () -> onExpired(timer));
         }
-        
-        // Aktif timer olmayan ama hala DRAFTING olan odaları temizle
-        for (String roomId : activeRoomIds) {
-            if (!draftingRooms.stream().anyMatch(r -> r.getId().equals(roomId))) {
-                roomTimers.remove(roomId);
-                log.debug("[room:{}] Removed timer - room no longer in DRAFTING status", roomId);
-            }
+        log.debug("[room:{}] Timer reset for user {}", roomId, currentUserId);
+    }
+
+    // Sonradan subscribe olan client'lar için mevcut turun deadline'ı
+    public Optional<PickDeadlineEvent> currentDeadline(String roomId) {
+        RoomTimer timer = roomTimers.get(roomId);
+        return timer != null ? Optional.of(toDeadlineEvent(timer)) : Optional.empty();
+    }
+
+    public void cancelTimer(String roomId) {
+        RoomTimer timer = roomTimers.remove(roomId);
+        if (timer != null) {
+            timer.cancel();
+            log.debug("[room:{}] Timer cancelled", roomId);
         }
     }
-    
-    public void resetTimer(String roomId) {
-        roomTimers.put(roomId, PICK_TIMEOUT_SECONDS);
-        log.debug("[room:{}] Timer reset", roomId);
+
+    public int activeTimers() {
+        return roomTimers.size();
+    }
+
+    // remainingSeconds kaldığında çalışacak tick'i planla (deadline'a göre, kayma birikmez)
+    private void scheduleTick(RoomTimer timer, int remainingSeconds) {
+        long fireAt = timer.deadline - TimeUnit.SECONDS.toMillis(remainingSeconds);
+        long delay = fireAt - System.currentTimeMillis();
+        timer.timeout = wheel.schedule(timer.roomId, delay, () -> onTick(timer, remainingSeconds));
     }
-    
-    private String getCurrentUserId(Room room) {
-        if (room.getPickOrder() == null || room.getCurrentPickIndex() >= room.getPickOrder().size()) {
-            return null;
+
+    private void onTick(RoomTimer timer, int remainingSeconds) {
+        if (roomTimers.get(timer.roomId) != timer) {
+            return; // Bu arada reset/cancel edilmiş
         }
-        return room.getPickOrder().get(room.getCurrentPickIndex());
+
+        TimerTickEvent event = TimerTickEvent.builder()
+                .roomId(timer.roomId)
+                .remainingSeconds(remainingSeconds)
+                .currentUserId(timer.userId)
+                .build();
+        webSocketService.broadcastTimerTick(timer.roomId, event);
+
+        if (remainingSeconds > 0) {
+            scheduleTick(timer, remainingSeconds - 1);
+            return;
+        }
+        onExpired(timer);
     }
-}
 
+    private void onExpired(RoomTimer timer) {
+        if (roomTimers.remove(timer.roomId, timer)) {
+            log.warn("[room:{}] Timer expired for user {}", timer.roomId, timer.userId);
+            // DraftService expiry policy'yi room lane'inde uygular
+            eventPublisher.publishEvent(new PickTimerExpiredEvent(timer.roomId, timer.userId, timer.pickIndex));
+        }
+    }
+
+    private static PickDeadlineEvent toDeadlineEvent(RoomTimer timer) {
+        return PickDeadlineEvent.builder()
+                .roomId(timer.roomId)
+                .currentUserId(timer.userId)
+                .pickIndex(timer.pickIndex)
+                .deadline(timer.deadline)
+                .serverTime(System.currentTimeMillis())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.shutdown();
+    }
+
+    private static final class RoomTimer {
+        private final String roomId;
+        private final String userId;
+        private final int pickIndex;
+        private final long deadline; // epoch millis
+        private volatile HierarchicalTimingWheel.Timeout timeout;
+
+        private RoomTimer(String roomId, String userId, int pickIndex, long deadline) {
+            this.roomId = roomId;
+            this.userId = userId;
+            this.pickIndex = pickIndex;
+            this.deadline = deadline;
+        }
+
+        private void cancel() {
+            HierarchicalTimingWheel.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
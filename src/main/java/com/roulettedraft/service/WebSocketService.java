@@ -2,39 +2,228 @@ package com.roulettedraft.service;
 
 import com.roulettedraft.dto.RoomDto;
 import com.roulettedraft.dto.websocket.ErrorEvent;
+import com.roulettedraft.dto.websocket.ParticipantJoinedEvent;
+import com.roulettedraft.dto.websocket.PickDeadlineEvent;
 import com.roulettedraft.dto.websocket.PickMadeEvent;
 import com.roulettedraft.dto.websocket.RoomUpdatedEvent;
+import com.roulettedraft.dto.websocket.SequencedEvent;
+import com.roulettedraft.dto.websocket.StatusChangedEvent;
+import com.roulettedraft.dto.websocket.TeamsChangedEvent;
 import com.roulettedraft.dto.websocket.TimerTickEvent;
+import com.roulettedraft.dto.websocket.TurnSkippedEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.roulettedraft.bus.RoomBusMessage;
+import com.roulettedraft.bus.RoomEventBus;
+import com.roulettedraft.concurrent.KeyedSerialExecutor;
+import com.roulettedraft.websocket.ClientSession;
+import com.roulettedraft.websocket.EncodedFrame;
+import com.roulettedraft.websocket.FrameEncoding;
+import com.roulettedraft.websocket.ServletClientSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
 
-import java.io.IOException;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Fans events out to the WebSocket sessions of a room. Broadcasts return immediately: the
+ * event is serialized once on the broadcast pool (in call order per room) and published to the
+ * {@link RoomEventBus}; every node appends what it receives from the bus to the bounded
+ * outbound buffers of its own sessions, see {@link ClientSession}.
+ *
+ * State changes go out as small {@link SequencedEvent} deltas numbered per room; the full room
+ * is only sent as a ROOM_UPDATED snapshot on subscribe or when explicitly requested. The last
+ * deltas of each room are kept in a {@link RoomEventLog} so a reconnecting client that sends
+ * its last seen sequence only gets what it missed.
+ *
+ * Sequence numbers are assigned when the event is broadcast, i.e. on the room's command lane
+ * right after the mutation, and snapshots are read on that same lane. A snapshot therefore
+ * always contains exactly the events up to the sequence it is labelled with. Numbering starts
+ * over under a new random epoch whenever a room's counter is (re)created, e.g. after a restart
+ * or once an idle room was evicted; a client whose last seen epoch differs gets a snapshot.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WebSocketService {
     private final ObjectMapper objectMapper;
-    private final ConcurrentHashMap<String, CopyOnWriteArraySet<org.springframework.web.socket.WebSocketSession>> roomSessions = new ConcurrentHashMap<>();
+    private final RoomEventBus eventBus;
+    private final RoomCommandExecutor roomCommands;
+    private final ConcurrentHashMap<String, ClientSession> clients = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CopyOnWriteArraySet<ClientSession>> roomSessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RoomSequence> roomSeqs = new ConcurrentHashMap<>(); // Odanın son event sırası
+    private final ConcurrentHashMap<String, RoomEventLog> eventLogs = new ConcurrentHashMap<>();
+    private final ExecutorService broadcastPool;
+    private final ExecutorService sendPool;
+    private final KeyedSerialExecutor dispatch;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+    private final int replayBufferSize;
+    private final long replayIdleTtlMillis;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary queueDepth;
+    private final Counter jsonBytes;
+    private final Counter cborBytes;
+    private final Counter resumeReplays;
+    private final Counter resumeSnapshots;
+    private final DistributionSummary fanOutRecipients;
+    private final ConcurrentHashMap<String, Counter> broadcastCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> publishTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> fanOutTimers = new ConcurrentHashMap<>();
     
-    public void registerSession(String roomId, org.springframework.web.socket.WebSocketSession session) {
-        roomSessions.computeIfAbsent(roomId, k -> new CopyOnWriteArraySet<>()).add(session);
-        log.debug("[room:{}] Session registered, total: {}", roomId, roomSessions.get(roomId).size());
+    public WebSocketService(ObjectMapper objectMapper,
+                            RoomEventBus eventBus,
+                            RoomCommandExecutor roomCommands,
+                            MeterRegistry meterRegistry,
+                            @Value("${draft.websocket.broadcast-threads:0}") int threads,
+                            @Value("${draft.websocket.send-threads:0}") int sendThreads,
+                            @Value("${draft.websocket.buffer-size-limit-bytes:524288}") int bufferSizeLimit,
+                            @Value("${draft.websocket.send-time-limit-ms:5000}") long sendTimeLimitMillis,
+                            @Value("${draft.websocket.replay-buffer-size:256}") int replayBufferSize,
+                            @Value("${draft.websocket.replay-idle-ttl-ms:600000}") long replayIdleTtlMillis) {
+        this.objectMapper = objectMapper;
+        this.eventBus = eventBus;
+        this.roomCommands = roomCommands;
+        this.meterRegistry = meterRegistry;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.replayBufferSize = replayBufferSize;
+        this.replayIdleTtlMillis = replayIdleTtlMillis;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        this.broadcastPool = newPool("ws-broadcast-", threads > 0 ? threads : Math.max(2, cpus));
+        // Yavaş client'ların yazmaları fan-out'u bekletmesin diye ayrı havuz
+        this.sendPool = newPool("ws-send-", sendThreads > 0 ? sendThreads : Math.max(4, cpus * 2));
+        this.dispatch = new KeyedSerialExecutor(broadcastPool);
+
+        this.queueDepth = DistributionSummary.builder("draft.ws.session.queue.depth")
+                .description("Outbound messages waiting in a session buffer, sampled on every send")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.jsonBytes = egressCounter(meterRegistry, FrameEncoding.JSON);
+        this.cborBytes = egressCounter(meterRegistry, FrameEncoding.CBOR);
+        this.resumeReplays = resumeCounter(meterRegistry, "replay");
+        this.resumeSnapshots = resumeCounter(meterRegistry, "snapshot");
+        this.fanOutRecipients = DistributionSummary.builder("draft.ws.broadcast.recipients")
+                .description("Local sessions a room event was fanned out to")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.rooms", roomSessions, ConcurrentHashMap::size)
+                .description("Rooms with at least one subscribed session")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.room.sessions.max", this, WebSocketService::maxSessionsPerRoom)
+                .description("Subscribed sessions of the busiest room")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.replay.rooms", eventLogs, ConcurrentHashMap::size)
+                .description("Rooms with a replay buffer")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.sessions", clients, ConcurrentHashMap::size)
+                .description("Open WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.outbound.queued", this, WebSocketService::totalQueuedMessages)
+                .description("Outbound messages buffered across all sessions")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.outbound.max-queued", this, WebSocketService::maxQueuedMessages)
+                .description("Deepest outbound buffer of a single session")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.outbound.bytes", this, WebSocketService::totalBufferedBytes)
+                .description("Outbound bytes buffered across all sessions")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("draft.ws.dispatch.pending", dispatch, KeyedSerialExecutor::queuedTasks)
+                .description("Broadcasts waiting to be serialized and fanned out")
+                .register(meterRegistry);
+
+        eventBus.subscribe(this::deliver);
+    }
+    
+    public ClientSession connect(WebSocketSession session) {
+        return clients.computeIfAbsent(session.getId(), id -> new ServletClientSession(
+                session, sendPool, bufferSizeLimit, sendTimeLimitMillis, this::onDropped));
+    }
+    
+    // Reactive profil: session kendi transport'unu taşır, sadece kaydedilir
+    public ClientSession connect(ClientSession session) {
+        ClientSession existing = clients.putIfAbsent(session.getId(), session);
+        return existing != null ? existing : session;
     }
     
-    public void unregisterSession(String roomId, org.springframework.web.socket.WebSocketSession session) {
-        CopyOnWriteArraySet<org.springframework.web.socket.WebSocketSession> sessions = roomSessions.get(roomId);
-        if (sessions != null) {
-            sessions.remove(session);
-            if (sessions.isEmpty()) {
-                roomSessions.remove(roomId);
+    public void disconnect(String sessionId) {
+        ClientSession client = clients.remove(sessionId);
+        if (client != null) {
+            List.copyOf(client.getRooms()).forEach(roomId -> unregister(roomId, client));
+        }
+    }
+    
+    /**
+     * Adds the session to the room and catches it up: with {@code lastSeenSeq} the missed deltas
+     * are replayed from the room's event log on the dispatch lane, so no live delta can overtake
+     * the catch-up or be missed in between. Otherwise (or if they were already evicted) a
+     * snapshot is read on the room's command lane and the session is registered only when it
+     * is sent; see {@link #sendSnapshot}.
+     */
+    public void subscribe(ClientSession client, String roomId, String lastSeenEpoch, Long lastSeenSeq,
+                          Supplier<RoomDto> snapshot) {
+        if (lastSeenSeq == null) {
+            resumeSnapshots.increment();
+            snapshotOnRoomLane(client, roomId, snapshot, true);
+            return;
+        }
+        dispatch.execute(roomId, () -> {
+            List<EncodedFrame> missed = missedSince(roomId, lastSeenEpoch, lastSeenSeq);
+            if (missed == null) {
+                resumeSnapshots.increment();
+                snapshotOnRoomLane(client, roomId, snapshot, true);
+                return;
             }
-            log.debug("[room:{}] Session unregistered, remaining: {}", roomId, sessions.size());
+            register(roomId, client);
+            resumeReplays.increment();
+            missed.forEach(frame -> send(client, frame));
+            log.debug("[room:{}] Replayed {} events after seq {}", roomId, missed.size(), lastSeenSeq);
+        });
+    }
+    
+    private void register(String roomId, ClientSession client) {
+        roomSessions.computeIfAbsent(roomId, k -> new CopyOnWriteArraySet<>()).add(client);
+        client.getRooms().add(roomId);
+        log.debug("[room:{}] Session registered, total: {}", roomId, roomSessions.get(roomId).size());
+    }
+    
+    private List<EncodedFrame> missedSince(String roomId, String lastSeenEpoch, long lastSeenSeq) {
+        RoomEventLog eventLog = eventLogs.get(roomId);
+        if (eventLog != null) {
+            return eventLog.since(lastSeenEpoch, lastSeenSeq);
         }
+        // Log yoksa sadece client zaten günceldeyse replay edilecek bir şey yok
+        RoomSequence current = roomSeqs.get(roomId);
+        return current != null && current.epoch().equals(lastSeenEpoch) && current.seq() == lastSeenSeq ? List.of() : null;
+    }
+    
+    public void unregisterSession(String roomId, ClientSession client) {
+        unregister(roomId, client);
+    }
+    
+    private void unregister(String roomId, ClientSession client) {
+        client.getRooms().remove(roomId);
+        roomSessions.computeIfPresent(roomId, (k, sessions) -> {
+            sessions.remove(client);
+            log.debug("[room:{}] Session unregistered, remaining: {}", roomId, sessions.size());
+            return sessions.isEmpty() ? null : sessions;
+        });
     }
     
     public void broadcastRoomUpdate(String roomId, RoomDto room) {
@@ -44,6 +233,18 @@ public class WebSocketService {
         broadcast(roomId, event);
     }
     
+    public void broadcastParticipantJoined(String roomId, ParticipantJoinedEvent event) {
+        broadcast(roomId, event);
+    }
+    
+    public void broadcastTeamsChanged(String roomId, TeamsChangedEvent event) {
+        broadcast(roomId, event);
+    }
+    
+    public void broadcastStatusChanged(String roomId, StatusChangedEvent event) {
+        broadcast(roomId, event);
+    }
+    
     public void broadcastPickMade(String roomId, PickMadeEvent event) {
         broadcast(roomId, event);
     }
@@ -56,31 +257,290 @@ public class WebSocketService {
         broadcast(roomId, event);
     }
     
+    public void broadcastPickDeadline(String roomId, PickDeadlineEvent event) {
+        broadcast(roomId, event);
+    }
+    
+    public void broadcastTurnSkipped(String roomId, TurnSkippedEvent event) {
+        broadcast(roomId, event);
+    }
+    
+    public void sendToSession(ClientSession session, Object event) {
+        // Aynı odanın yayınlarıyla sırası korunsun
+        Object roomId = session.getAttributes().get("roomId");
+        String key = roomId != null ? roomId.toString() : session.getId();
+        dispatch.execute(key, () -> {
+            try {
+                send(session, new EncodedFrame(event.getClass().getSimpleName(), objectMapper.writeValueAsString(event)));
+            } catch (Exception e) {
+                log.error("Error sending message to session {}", session.getId(), e);
+            }
+        });
+    }
+    
+    // ROOM_UPDATED snapshot'ı (RESYNC)
+    public void sendSnapshot(ClientSession session, String roomId, Supplier<RoomDto> snapshot) {
+        snapshotOnRoomLane(session, roomId, snapshot, false);
+    }
+    
+    /**
+     * Reads the snapshot on the room's command lane, where no mutation can run between reading
+     * the room and reading its sequence, and may block on MongoDB without holding a dispatch
+     * thread. The send (and registration) is queued on the dispatch lane from inside the
+     * command: deltas up to the snapshot's sequence are already queued ahead of it (the client
+     * ignores them), later ones are queued behind it.
+     */
+    private void snapshotOnRoomLane(ClientSession client, String roomId, Supplier<RoomDto> snapshot, boolean register) {
+        roomCommands.submit(roomId, "snapshot", () -> {
+            RoomSequence current = currentSequence(roomId);
+            RoomUpdatedEvent event = RoomUpdatedEvent.builder()
+                    .seq(current.seq())
+                    .epoch(current.epoch())
+                    .room(snapshot.get())
+                    .build();
+            EncodedFrame frame = new EncodedFrame(RoomUpdatedEvent.class.getSimpleName(), objectMapper.writeValueAsString(event));
+            dispatch.execute(roomId, () -> {
+                if (register) {
+                    register(roomId, client);
+                }
+                send(client, frame);
+            });
+            return null;
+        }).exceptionally(e -> {
+            log.error("[room:{}] Error sending snapshot to session {}", roomId, client.getId(), e);
+            return null;
+        });
+    }
+    
     private void broadcast(String roomId, Object event) {
-        CopyOnWriteArraySet<org.springframework.web.socket.WebSocketSession> sessions = roomSessions.get(roomId);
+        if (roomId == null) {
+            log.warn("Dropping {} without a room", event.getClass().getSimpleName());
+            return;
+        }
+        broadcastCounter(event.getClass().getSimpleName()).increment();
+        // Sıra numarası mutasyonla aynı lane'de, snapshot okumalarıyla tutarlı olarak verilir;
+        // dispatch kuyruğu oda bazında FIFO olduğundan yayın sırası da aynı kalır
+        if (event instanceof SequencedEvent sequenced) {
+            RoomSequence next = roomSeqs.compute(roomId, (k, current) ->
+                    current == null ? new RoomSequence(newEpoch(), 1) : current.next());
+            sequenced.setSeq(next.seq());
+            sequenced.setEpoch(next.epoch());
+        } else if (event instanceof RoomUpdatedEvent snapshot) {
+            RoomSequence current = currentSequence(roomId);
+            snapshot.setSeq(current.seq());
+            snapshot.setEpoch(current.epoch());
+        }
+        // Tek node'da dinleyen yoksa geçici event'leri serialize etmeye gerek yok;
+        // sıralı event'ler ise reconnect replay'i için her zaman log'a girmeli
+        if (!eventBus.isDistributed() && !(event instanceof SequencedEvent) && !roomSessions.containsKey(roomId)) {
+            return;
+        }
+        dispatch.execute(roomId, () -> publish(roomId, event));
+    }
+    
+    // Dispatch lane'inde çalışır
+    private void publish(String roomId, Object event) {
+        long start = System.nanoTime();
+        try {
+            SequencedEvent sequenced = event instanceof SequencedEvent s ? s : null;
+            eventBus.publish(RoomBusMessage.builder()
+                    .roomId(roomId)
+                    .type(event.getClass().getSimpleName())
+                    .seq(sequenced != null ? sequenced.getSeq() : null)
+                    .epoch(sequenced != null ? sequenced.getEpoch() : null)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (Exception e) {
+            log.error("[room:{}] Error publishing {}", roomId, event.getClass().getSimpleName(), e);
+        } finally {
+            publishTimer(event.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    // Bus'tan gelen (bu node'un veya diğer node'ların) event'leri yerel session'lara dağıt
+    private void deliver(RoomBusMessage message) {
+        if (message.getSeq() != null && message.getEpoch() != null) {
+            roomSeqs.merge(message.getRoomId(), new RoomSequence(message.getEpoch(), message.getSeq()), RoomSequence::newer);
+        } else if (!roomSessions.containsKey(message.getRoomId())) {
+            return;
+        }
+        dispatch.execute(message.getRoomId(), () -> record(message));
+    }
+    
+    private void record(RoomBusMessage message) {
+        String roomId = message.getRoomId();
+        // Tüm session'lar (ve replay) aynı encode edilmiş frame'i paylaşsın
+        EncodedFrame frame = new EncodedFrame(message.getType(), message.getPayload());
+        if (message.getSeq() != null) {
+            eventLogs.computeIfAbsent(roomId, k -> new RoomEventLog(replayBufferSize))
+                    .append(message.getEpoch(), message.getSeq(), frame);
+        }
+        fanOut(roomId, frame);
+    }
+    
+    private void fanOut(String roomId, EncodedFrame frame) {
+        CopyOnWriteArraySet<ClientSession> sessions = roomSessions.get(roomId);
         if (sessions == null || sessions.isEmpty()) {
             return;
         }
         
-        try {
-            String message = objectMapper.writeValueAsString(event);
-            sessions.removeIf(session -> {
-                try {
-                    if (session.isOpen()) {
-                        session.sendMessage(new org.springframework.web.socket.TextMessage(message));
-                        return false;
+        long start = System.nanoTime();
+        for (ClientSession session : sessions) {
+            if (!send(session, frame)) {
+                unregister(roomId, session);
+            }
+        }
+        fanOutTimer(frame.getType()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        fanOutRecipients.record(sessions.size());
+        
+        log.debug("[room:{}] Broadcasted {} to {} sessions", roomId, frame.getType(), sessions.size());
+    }
+    
+    // Dinleyicisi kalmamış ve bir süredir event almayan odaların replay log'unu bırak
+    @Scheduled(fixedDelayString = "${draft.websocket.replay-evict-interval-ms:60000}")
+    public void evictIdleEventLogs() {
+        long cutoff = System.currentTimeMillis() - replayIdleTtlMillis;
+        eventLogs.forEach((roomId, eventLog) -> {
+            if (eventLog.lastActivityMillis() < cutoff && !roomSessions.containsKey(roomId)) {
+                dispatch.execute(roomId, () -> {
+                    if (eventLog.lastActivityMillis() < cutoff && !roomSessions.containsKey(roomId)) {
+                        eventLogs.remove(roomId, eventLog);
+                        roomSeqs.remove(roomId);
                     }
-                    return true;
-                } catch (IOException e) {
-                    log.error("[room:{}] Error sending message to session", roomId, e);
-                    return true;
-                }
-            });
-            
-            log.debug("[room:{}] Broadcasted {} to {} sessions", roomId, event.getClass().getSimpleName(), sessions.size());
-        } catch (Exception e) {
-            log.error("[room:{}] Error broadcasting message", roomId, e);
+                });
+            }
+        });
+    }
+    
+    // Henüz event'i olmayan odanın snapshot'ı da bir epoch taşısın; sonraki event'ler aynı epoch'la devam eder
+    private RoomSequence currentSequence(String roomId) {
+        return roomSeqs.computeIfAbsent(roomId, k -> new RoomSequence(newEpoch(), 0));
+    }
+    
+    private static String newEpoch() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    }
+    
+    private boolean send(ClientSession session, EncodedFrame frame) {
+        FrameEncoding encoding = session.getEncoding();
+        boolean queued = session.send(frame);
+        if (queued) {
+            queueDepth.record(session.queuedMessages());
+            (encoding == FrameEncoding.CBOR ? cborBytes : jsonBytes).increment(frame.payloadLength(encoding));
         }
+        return queued;
     }
-}
+    
+    public void onDropped(ClientSession session, String reason) {
+        Counter.builder("draft.ws.dropped")
+                .description("Sessions dropped because they could not keep up")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        disconnect(session.getId());
+    }
+    
+    private int totalQueuedMessages() {
+        int total = 0;
+        for (ClientSession c : clients.values()) {
+            total += c.queuedMessages();
+        }
+        return total;
+    }
+    
+    private int maxQueuedMessages() {
+        int max = 0;
+        for (ClientSession c : clients.values()) {
+            max = Math.max(max, c.queuedMessages());
+        }
+        return max;
+    }
+    
+    private int maxSessionsPerRoom() {
+        int max = 0;
+        for (CopyOnWriteArraySet<ClientSession> sessions : roomSessions.values()) {
+            max = Math.max(max, sessions.size());
+        }
+        return max;
+    }
+    
+    private long totalBufferedBytes() {
+        long total = 0;
+        for (ClientSession c : clients.values()) {
+            total += c.bufferedBytes();
+        }
+        return total;
+    }
+    
+    private Counter broadcastCounter(String type) {
+        return broadcastCounters.computeIfAbsent(type, t -> Counter.builder("draft.ws.broadcasts")
+                .description("Room events handed to broadcast")
+                .tag("type", t)
+                .register(meterRegistry));
+    }
+    
+    // Sıra numarası + serialize + bus'a yayın
+    private Timer publishTimer(String type) {
+        return publishTimers.computeIfAbsent(type, t -> Timer.builder("draft.ws.broadcast.publish")
+                .description("Time to sequence, serialize and publish a room event to the bus")
+                .tag("type", t)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+    
+    // Yerel session'ların buffer'larına kuyruğa alma (gönderim ayrı havuzda)
+    private Timer fanOutTimer(String type) {
+        return fanOutTimers.computeIfAbsent(type, t -> Timer.builder("draft.ws.broadcast.fanout")
+                .description("Time to queue a room event to every local session of the room")
+                .tag("type", t)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+    
+    private static Counter egressCounter(MeterRegistry registry, FrameEncoding encoding) {
+        return Counter.builder("draft.ws.outbound.sent.bytes")
+                .description("Payload bytes queued to sessions")
+                .baseUnit("bytes")
+                .tag("encoding", encoding.name().toLowerCase())
+                .register(registry);
+    }
+    
+    private static Counter resumeCounter(MeterRegistry registry, String result) {
+        return Counter.builder("draft.ws.resume")
+                .description("Subscribes caught up by replaying missed events or by a snapshot")
+                .tag("result", result)
+                .register(registry);
+    }
+    
+    private static ExecutorService newPool(String prefix, int size) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, prefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        broadcastPool.shutdown();
+        sendPool.shutdown();
+    }
+
+    // Bir odanın numaralandırması: epoch sayaç her yeniden oluştuğunda değişir
+    private record RoomSequence(String epoch, long seq) {
+        RoomSequence next() {
+            return new RoomSequence(epoch, seq + 1);
+        }
 
+        // Bus'tan gelen: aynı epoch'ta büyük olan, farklı epoch'ta yeni numaralandırma kazanır
+        static RoomSequence newer(RoomSequence current, RoomSequence incoming) {
+            if (!current.epoch.equals(incoming.epoch)) {
+                return incoming;
+            }
+            return incoming.seq > current.seq ? incoming : current;
+        }
+    }
+}
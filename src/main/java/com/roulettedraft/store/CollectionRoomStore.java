@@ -0,0 +1,288 @@
+package com.roulettedraft.store;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.roulettedraft.domain.model.DraftPick;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.domain.model.RoomStatus;
+import com.roulettedraft.repository.RoomParticipantRepository;
+import com.roulettedraft.repository.RoomRepository;
+import com.roulettedraft.service.PickRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Room, participants and picks in three collections. A pick is one bulk insert into
+ * draft_picks plus one bulk update per projection collection; the draft_picks insert is the
+ * commit point: its unique (roomId, playerId) and (roomId, pickNo) indexes reject a second
+ * writer racing on the same room, and only picks whose insert succeeded get their
+ * participant/room projection updates.
+ *
+ * A pick counts as committed once its insert is stored, even if the projection updates fail
+ * afterwards. Rosters and the turn are therefore rebuilt from draft_picks on load, and stale
+ * projections are repaired there.
+ */
+@Component
+@ConditionalOnProperty(name = "draft.storage.layout", havingValue = "collections", matchIfMissing = true)
+@Slf4j
+public class CollectionRoomStore implements RoomStore {
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final RoomRepository roomRepository;
+    private final RoomParticipantRepository participantRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public CollectionRoomStore(RoomRepository roomRepository,
+                               RoomParticipantRepository participantRepository,
+                               MongoTemplate mongoTemplate) {
+        this.roomRepository = roomRepository;
+        this.participantRepository = participantRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Room createRoom(Room room) {
+        room.setStorageLayout(COLLECTIONS);
+        return roomRepository.save(room);
+    }
+
+    @Override
+    public Optional<LoadedRoom> load(String roomId) {
+        return roomRepository.findById(roomId).map(room -> {
+            List<RoomParticipant> participants = participantRepository.findByRoomId(roomId);
+            List<DraftPick> picks = mongoTemplate.find(
+                    Query.query(Criteria.where("roomId").is(roomId)).with(Sort.by("pickNo")), DraftPick.class);
+            if (!picks.isEmpty()) {
+                repairProjections(room, participants, picks);
+            }
+            return new LoadedRoom(room, participants);
+        });
+    }
+
+    @Override
+    public void addParticipant(Room room, RoomParticipant participant) {
+        participantRepository.save(participant);
+        markWritten(room.getId());
+    }
+
+    @Override
+    public Room startDraft(Room room) {
+        room.setStorageLayout(COLLECTIONS);
+        return roomRepository.save(room);
+    }
+
+    @Override
+    public void updateSelectedTeams(RoomParticipant participant) {
+        participantRepository.save(participant);
+        markWritten(participant.getRoomId());
+    }
+
+    @Override
+    public List<RuntimeException> writePicks(List<PickRecord> picks) {
+        RuntimeException[] errors = insertPicks(picks);
+        confirmStoredInserts(picks, errors);
+        List<PickRecord> committed = new ArrayList<>(picks.size());
+        for (int i = 0; i < picks.size(); i++) {
+            if (errors[i] == null) {
+                committed.add(picks.get(i));
+            }
+        }
+        if (committed.isEmpty()) {
+            return Arrays.asList(errors);
+        }
+
+        try {
+            BulkOperations participants = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomParticipant.class);
+            for (PickRecord record : committed) {
+                participants.updateOne(
+                        Query.query(Criteria.where("_id").is(record.getParticipantId())),
+                        new Update().push("selectedPlayerIds", record.getPick().getPlayerId()));
+            }
+
+            // Aynı odaya ait birden fazla pick varsa tek update'te birleştir
+            Map<String, Update> roomUpdates = new HashMap<>();
+            for (PickRecord record : committed) {
+                roomUpdates.merge(record.getPick().getRoomId(),
+                        turnUpdate(record.getNextPickIndex(), record.isDraftComplete())
+                                .set("storageLayout", COLLECTIONS), (a, b) -> b);
+            }
+            BulkOperations rooms = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Room.class);
+            roomUpdates.forEach((roomId, update) ->
+                    rooms.updateOne(Query.query(Criteria.where("_id").is(roomId)), update));
+
+            participants.execute();
+            rooms.execute();
+        } catch (RuntimeException e) {
+            // Pick'ler draft_picks'te, yani commit edildi; projeksiyonlar oda bir sonraki yüklendiğinde onarılır
+            log.error("Failed to update roster/room projections for {} committed picks", committed.size(), e);
+        }
+        return Arrays.asList(errors);
+    }
+
+    @Override
+    public void advanceTurn(String roomId, String userId, Integer rosterSizeLimit, int nextPickIndex, boolean draftComplete) {
+        if (userId != null && rosterSizeLimit != null) {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("roomId").is(roomId).and("userId").is(userId)),
+                    new Update().set("rosterSizeLimit", rosterSizeLimit),
+                    RoomParticipant.class);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(roomId)),
+                turnUpdate(nextPickIndex, draftComplete).set("storageLayout", COLLECTIONS), Room.class);
+    }
+
+    // EmbeddedLayoutMigration bu odanın embedded kopyasının eskidiğini bu işaretten anlar
+    private void markWritten(String roomId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(roomId)),
+                new Update().set("storageLayout", COLLECTIONS), Room.class);
+    }
+
+    // Hatalı insert'lerin sebebi, başarılılar için null
+    private RuntimeException[] insertPicks(List<PickRecord> batch) {
+        RuntimeException[] errors = new RuntimeException[batch.size()];
+        List<DraftPick> picks = new ArrayList<>(batch.size());
+        batch.forEach(record -> picks.add(record.getPick()));
+
+        BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DraftPick.class);
+        inserts.insert(picks);
+        try {
+            inserts.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors[error.getIndex()] = error.getCode() == DUPLICATE_KEY
+                        ? new DuplicateKeyException(error.getMessage())
+                        : new RuntimeException(error.getMessage());
+            }
+        } catch (RuntimeException e) {
+            Arrays.fill(errors, e);
+        }
+        return errors;
+    }
+
+    // Insert'ün cevabı kaybolmuş olabilir (timeout, bağlantı kopması); id rastgele olduğundan kayıt varsa bizimdir
+    private void confirmStoredInserts(List<PickRecord> batch, RuntimeException[] errors) {
+        List<String> failedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (errors[i] != null) {
+                failedIds.add(batch.get(i).getPick().getId());
+            }
+        }
+        if (failedIds.isEmpty()) {
+            return;
+        }
+        Set<String> stored = new HashSet<>();
+        try {
+            Query query = Query.query(Criteria.where("_id").in(failedIds));
+            query.fields().include("_id");
+            mongoTemplate.find(query, DraftPick.class).forEach(pick -> stored.add(pick.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Could not check whether {} failed pick inserts were stored", failedIds.size(), e);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (errors[i] != null && stored.contains(batch.get(i).getPick().getId())) {
+                errors[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Whether the room and participant documents already reflect every pick in draft_picks, so
+     * {@link #load} would not repair anything. For readers that must not write.
+     */
+    public static boolean projectionsMatch(Room room, List<RoomParticipant> participants, List<DraftPick> picks) {
+        if (picks.isEmpty()) {
+            return true;
+        }
+        Map<String, List<String>> rosters = rostersOf(picks);
+        int picked = 0;
+        int needed = 0;
+        for (RoomParticipant participant : participants) {
+            List<String> roster = rosters.getOrDefault(participant.getUserId(), new ArrayList<>());
+            if (!roster.equals(participant.getSelectedPlayerIds())) {
+                return false;
+            }
+            picked += roster.size();
+            needed += participant.getRosterSizeLimit() != null ? participant.getRosterSizeLimit() : 0;
+        }
+        return !turnBehind(room, picks) && !(picked >= needed && room.getStatus() == RoomStatus.DRAFTING);
+    }
+
+    // draft_picks esas kayıt: kadrolar, sıra ve status ondan türetilir, geride kalan projeksiyonlar düzeltilir
+    private void repairProjections(Room room, List<RoomParticipant> participants, List<DraftPick> picks) {
+        Map<String, List<String>> rosters = rostersOf(picks);
+        int picked = 0;
+        int needed = 0;
+        for (RoomParticipant participant : participants) {
+            List<String> roster = rosters.getOrDefault(participant.getUserId(), new ArrayList<>());
+            if (!roster.equals(participant.getSelectedPlayerIds())) {
+                log.warn("[room:{}] Repairing roster of user {} from draft_picks", room.getId(), participant.getUserId());
+                participant.setSelectedPlayerIds(roster);
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(participant.getId())),
+                        new Update().set("selectedPlayerIds", roster), RoomParticipant.class);
+            }
+            picked += roster.size();
+            needed += participant.getRosterSizeLimit() != null ? participant.getRosterSizeLimit() : 0;
+        }
+
+        int currentPickIndex = room.getCurrentPickIndex() != null ? room.getCurrentPickIndex() : 0;
+        boolean turnBehind = turnBehind(room, picks);
+        boolean completeButOpen = picked >= needed && room.getStatus() == RoomStatus.DRAFTING;
+        if (turnBehind || completeButOpen) {
+            log.warn("[room:{}] Repairing turn/status from draft_picks", room.getId());
+            int repairedIndex = turnBehind ? picks.get(picks.size() - 1).getNextPickIndex() : currentPickIndex;
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(room.getId())),
+                    turnUpdate(repairedIndex, completeButOpen).set("storageLayout", COLLECTIONS), Room.class);
+            room.setCurrentPickIndex(repairedIndex);
+            if (completeButOpen) {
+                room.setStatus(RoomStatus.DONE);
+            }
+            if (room.getVersion() != null) {
+                room.setVersion(room.getVersion() + 1);
+            }
+        }
+    }
+
+    private static Map<String, List<String>> rostersOf(List<DraftPick> picks) {
+        Map<String, List<String>> rosters = new HashMap<>();
+        for (DraftPick pick : picks) {
+            rosters.computeIfAbsent(pick.getUserId(), id -> new ArrayList<>()).add(pick.getPlayerId());
+        }
+        return rosters;
+    }
+
+    // Son pick'in kaydettiği sıra odadakinden ileride mi
+    private static boolean turnBehind(Room room, List<DraftPick> picks) {
+        Integer nextPickIndex = picks.get(picks.size() - 1).getNextPickIndex();
+        int currentPickIndex = room.getCurrentPickIndex() != null ? room.getCurrentPickIndex() : 0;
+        return nextPickIndex != null && nextPickIndex > currentPickIndex;
+    }
+
+    static Update turnUpdate(int nextPickIndex, boolean draftComplete) {
+        Update update = new Update()
+                .max("currentPickIndex", nextPickIndex)
+                .inc("version", 1);
+        if (draftComplete) {
+            update.set("status", RoomStatus.DONE);
+        }
+        return update;
+    }
+}
@@ -0,0 +1,126 @@
+package com.roulettedraft.store;
+
+import com.roulettedraft.domain.model.DraftPick;
+import com.roulettedraft.domain.model.ParticipantEntry;
+import com.roulettedraft.domain.model.PickEntry;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Copies room_participants and draft_picks into the room documents (the embedded layout)
+ * before the server starts accepting requests. Only runs with {@code draft.storage.layout=embedded}.
+ *
+ * A room is (re)migrated unless its {@code storageLayout} marker says it was last written by
+ * the embedded layout, so an interrupted run can simply be repeated, and rooms written under
+ * the collections layout after an earlier migration get a fresh copy instead of keeping a
+ * stale one. Rosters are rebuilt from draft_picks, the commit log of the collections layout.
+ *
+ * The source collections are left in place but are not kept up to date: rooms written under
+ * the embedded layout cannot be moved back. No node may be writing with the collections
+ * layout while the migration runs.
+ */
+@Component
+@ConditionalOnProperty(name = "draft.storage.migrate-on-startup", havingValue = "true")
+@Slf4j
+public class EmbeddedLayoutMigration {
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public EmbeddedLayoutMigration(MongoTemplate mongoTemplate,
+                                   @Value("${draft.storage.layout:collections}") String layout,
+                                   @Value("${draft.storage.migration-batch-size:500}") int batchSize) {
+        if (!RoomStore.EMBEDDED.equals(layout)) {
+            // Collections düzeninde çalışan node'un yazdıkları embedded kopyayı hemen eskitirdi
+            throw new IllegalStateException("draft.storage.migrate-on-startup requires draft.storage.layout=embedded, was: " + layout);
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Web sunucusu açılmadan, bean oluşturulurken çalışır
+    @PostConstruct
+    public void migrate() {
+        long start = System.nanoTime();
+        int migrated = 0;
+        Query pending = Query.query(Criteria.where("storageLayout").ne(RoomStore.EMBEDDED));
+        pending.fields().include("_id");
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<Room> rooms = mongoTemplate.stream(pending, Room.class)) {
+            Iterator<Room> it = rooms.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next().getId());
+                if (batch.size() == batchSize) {
+                    migrated += migrateBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(batch);
+        }
+        log.info("Migrated {} rooms to the embedded layout in {} ms", migrated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int migrateBatch(List<String> roomIds) {
+        Map<String, List<PickEntry>> picks = new HashMap<>();
+        // roomId -> userId -> kadro; participant projeksiyonu geride kalmış olabilir, esas kayıt draft_picks
+        Map<String, Map<String, List<String>>> rosters = new HashMap<>();
+        Map<String, Integer> nextPickIndexes = new HashMap<>();
+        for (DraftPick pick : mongoTemplate.find(
+                Query.query(Criteria.where("roomId").in(roomIds)).with(Sort.by("pickNo")), DraftPick.class)) {
+            picks.computeIfAbsent(pick.getRoomId(), id -> new ArrayList<>()).add(PickEntry.builder()
+                    .pickNo(pick.getPickNo())
+                    .userId(pick.getUserId())
+                    .playerId(pick.getPlayerId())
+                    .createdAt(pick.getCreatedAt())
+                    .build());
+            rosters.computeIfAbsent(pick.getRoomId(), id -> new HashMap<>())
+                    .computeIfAbsent(pick.getUserId(), id -> new ArrayList<>())
+                    .add(pick.getPlayerId());
+            if (pick.getNextPickIndex() != null) {
+                nextPickIndexes.put(pick.getRoomId(), pick.getNextPickIndex());
+            }
+        }
+        Map<String, List<ParticipantEntry>> participants = new HashMap<>();
+        for (RoomParticipant p : mongoTemplate.find(
+                Query.query(Criteria.where("roomId").in(roomIds)).with(Sort.by("createdAt")), RoomParticipant.class)) {
+            p.setSelectedPlayerIds(rosters.getOrDefault(p.getRoomId(), Map.of())
+                    .getOrDefault(p.getUserId(), new ArrayList<>()));
+            participants.computeIfAbsent(p.getRoomId(), id -> new ArrayList<>()).add(EmbeddedRoomStore.toEntry(p));
+        }
+
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Room.class);
+        for (String roomId : roomIds) {
+            Update update = new Update()
+                    .set("participants", participants.getOrDefault(roomId, List.of()))
+                    .set("picks", picks.getOrDefault(roomId, List.of()))
+                    .set("storageLayout", RoomStore.EMBEDDED);
+            if (nextPickIndexes.containsKey(roomId)) {
+                // Room projeksiyonu son pick'in gerisinde kalmışsa sırayı da taşı
+                update.max("currentPickIndex", nextPickIndexes.get(roomId));
+            }
+            updates.updateOne(
+                    Query.query(Criteria.where("_id").is(roomId).and("storageLayout").ne(RoomStore.EMBEDDED)),
+                    update);
+        }
+        return updates.execute().getModifiedCount();
+    }
+}
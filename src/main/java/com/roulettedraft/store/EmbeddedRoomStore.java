@@ -0,0 +1,210 @@
+package com.roulettedraft.store;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.roulettedraft.domain.model.DraftPick;
+import com.roulettedraft.domain.model.ParticipantEntry;
+import com.roulettedraft.domain.model.PickEntry;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.domain.model.RoomStatus;
+import com.roulettedraft.repository.RoomRepository;
+import com.roulettedraft.service.PickRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Participants and the ordered pick log live inside the room document, so loading a room is
+ * one {@code _id} fetch and every mutation is a single-document update that needs no
+ * transaction. Writers on other nodes are kept out by guards in the update filters (room
+ * status, free seat, pickNo/playerId not yet in the log) instead of unique indexes.
+ *
+ * Rooms last written under the collections layout have no (or a stale) embedded copy until
+ * {@link EmbeddedLayoutMigration} has copied them over.
+ */
+@Component
+@ConditionalOnProperty(name = "draft.storage.layout", havingValue = "embedded")
+@Slf4j
+public class EmbeddedRoomStore implements RoomStore {
+    private final RoomRepository roomRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public EmbeddedRoomStore(RoomRepository roomRepository, MongoTemplate mongoTemplate) {
+        this.roomRepository = roomRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Room createRoom(Room room) {
+        room.setParticipants(new ArrayList<>());
+        room.setPicks(new ArrayList<>());
+        room.setStorageLayout(EMBEDDED);
+        return roomRepository.save(room);
+    }
+
+    @Override
+    public Optional<LoadedRoom> load(String roomId) {
+        return roomRepository.findById(roomId).map(room -> new LoadedRoom(room, toParticipants(room)));
+    }
+
+    @Override
+    public void addParticipant(Room room, RoomParticipant participant) {
+        // Dolu oda: participants.<max-1> elemanı zaten var; aynı kullanıcı ikinci kez eklenmez
+        Query query = Query.query(Criteria.where("_id").is(room.getId())
+                .and("status").is(RoomStatus.WAITING)
+                .and("participants." + (room.getMaxParticipants() - 1)).exists(false)
+                .and("participants.userId").ne(participant.getUserId()));
+        Update update = new Update()
+                .push("participants", toEntry(participant))
+                .inc("version", 1);
+        if (mongoTemplate.updateFirst(query, update, Room.class).getModifiedCount() == 0) {
+            throw new RuntimeException("Room is full, already joined or no longer accepting participants");
+        }
+    }
+
+    @Override
+    public Room startDraft(Room room) {
+        Query query = Query.query(Criteria.where("_id").is(room.getId()).and("status").is(RoomStatus.WAITING));
+        Update update = new Update()
+                .set("status", room.getStatus())
+                .set("pickOrder", room.getPickOrder())
+                .set("currentPickIndex", room.getCurrentPickIndex())
+                .inc("version", 1);
+        if (mongoTemplate.updateFirst(query, update, Room.class).getModifiedCount() == 0) {
+            throw new RuntimeException("Room is not in WAITING status");
+        }
+        if (room.getVersion() != null) {
+            room.setVersion(room.getVersion() + 1);
+        }
+        return room;
+    }
+
+    @Override
+    public void updateSelectedTeams(RoomParticipant participant) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(participant.getRoomId())
+                        .and("participants.userId").is(participant.getUserId())),
+                new Update().set("participants.$.selectedTeams", participant.getSelectedTeams()),
+                Room.class);
+    }
+
+    @Override
+    public List<RuntimeException> writePicks(List<PickRecord> picks) {
+        RuntimeException[] errors = new RuntimeException[picks.size()];
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Room.class);
+        for (PickRecord record : picks) {
+            updates.updateOne(pickQuery(record.getPick()), pickUpdate(record));
+        }
+
+        long modified;
+        try {
+            modified = updates.execute().getModifiedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors[error.getIndex()] = new RuntimeException(error.getMessage());
+            }
+            BulkWriteResult result = e.getResult();
+            modified = result != null ? result.getModifiedCount() : -1;
+        } catch (RuntimeException e) {
+            Arrays.fill(errors, e);
+            return Arrays.asList(errors);
+        }
+
+        // Guard'ı tutmayan update'ler bulk sonucunda tek tek görünmez; eksik varsa pick log'undan doğrula
+        long attempted = Arrays.stream(errors).filter(error -> error == null).count();
+        if (modified != attempted) {
+            for (int i = 0; i < picks.size(); i++) {
+                if (errors[i] == null && !isCommitted(picks.get(i).getPick())) {
+                    errors[i] = new DuplicateKeyException("Pick " + picks.get(i).getPick().getPickNo()
+                            + " of room " + picks.get(i).getPick().getRoomId() + " conflicts with the room state");
+                }
+            }
+        }
+        return Arrays.asList(errors);
+    }
+
+    @Override
+    public void advanceTurn(String roomId, String userId, Integer rosterSizeLimit, int nextPickIndex, boolean draftComplete) {
+        Update update = CollectionRoomStore.turnUpdate(nextPickIndex, draftComplete);
+        if (userId != null && rosterSizeLimit != null) {
+            update.set("participants.$[p].rosterSizeLimit", rosterSizeLimit)
+                    .filterArray(Criteria.where("p.userId").is(userId));
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(roomId)), update, Room.class);
+    }
+
+    // Oda hâlâ draft'ta, kullanıcı odada, ne bu pickNo ne bu oyuncu log'da
+    private static Query pickQuery(DraftPick pick) {
+        return Query.query(Criteria.where("_id").is(pick.getRoomId())
+                .and("status").is(RoomStatus.DRAFTING)
+                .and("participants.userId").is(pick.getUserId())
+                .and("picks.pickNo").ne(pick.getPickNo())
+                .and("picks.playerId").ne(pick.getPlayerId()));
+    }
+
+    private static Update pickUpdate(PickRecord record) {
+        DraftPick pick = record.getPick();
+        return CollectionRoomStore.turnUpdate(record.getNextPickIndex(), record.isDraftComplete())
+                .push("picks", PickEntry.builder()
+                        .pickNo(pick.getPickNo())
+                        .userId(pick.getUserId())
+                        .playerId(pick.getPlayerId())
+                        .createdAt(pick.getCreatedAt())
+                        .build())
+                .push("participants.$[p].selectedPlayerIds", pick.getPlayerId())
+                .filterArray(Criteria.where("p.userId").is(pick.getUserId()));
+    }
+
+    private boolean isCommitted(DraftPick pick) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(pick.getRoomId())
+                .and("picks").elemMatch(Criteria.where("pickNo").is(pick.getPickNo())
+                        .and("playerId").is(pick.getPlayerId())
+                        .and("userId").is(pick.getUserId()))), Room.class);
+    }
+
+    // Reactive okumalar da kullanır
+    public static List<RoomParticipant> toParticipants(Room room) {
+        if (room.getParticipants() == null) {
+            return new ArrayList<>();
+        }
+        List<RoomParticipant> participants = new ArrayList<>(room.getParticipants().size());
+        for (ParticipantEntry entry : room.getParticipants()) {
+            participants.add(RoomParticipant.builder()
+                    .id(entry.getId())
+                    .roomId(room.getId())
+                    .userId(entry.getUserId())
+                    .displayName(entry.getDisplayName())
+                    .selectedPlayerIds(entry.getSelectedPlayerIds() != null ? entry.getSelectedPlayerIds() : new ArrayList<>())
+                    .selectedTeams(entry.getSelectedTeams() != null ? entry.getSelectedTeams() : new ArrayList<>())
+                    .rosterSizeLimit(entry.getRosterSizeLimit())
+                    .createdAt(entry.getCreatedAt())
+                    .build());
+        }
+        return participants;
+    }
+
+    static ParticipantEntry toEntry(RoomParticipant participant) {
+        return ParticipantEntry.builder()
+                .id(participant.getId())
+                .userId(participant.getUserId())
+                .displayName(participant.getDisplayName())
+                .selectedPlayerIds(new ArrayList<>(participant.getSelectedPlayerIds() != null ? participant.getSelectedPlayerIds() : List.of()))
+                .selectedTeams(new ArrayList<>(participant.getSelectedTeams() != null ? participant.getSelectedTeams() : List.of()))
+                .rosterSizeLimit(participant.getRosterSizeLimit())
+                .createdAt(participant.getCreatedAt())
+                .build();
+    }
+}
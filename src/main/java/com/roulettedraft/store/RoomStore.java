@@ -0,0 +1,46 @@
+package com.roulettedraft.store;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.service.PickRecord;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence of rooms, their participants and picks. Callers run on the room's lane, so
+ * implementations only have to guard against writers on other nodes.
+ *
+ * Implementations are selected with {@code draft.storage.layout}: {@code collections}
+ * (default; rooms, room_participants and draft_picks) or {@code embedded} (participants and
+ * the pick log inside the room document, every mutation a single-document update).
+ */
+public interface RoomStore {
+    String COLLECTIONS = "collections";
+    String EMBEDDED = "embedded";
+
+    Room createRoom(Room room);
+
+    Optional<LoadedRoom> load(String roomId);
+
+    // Oda WAITING değilse veya doluysa RuntimeException
+    void addParticipant(Room room, RoomParticipant participant);
+
+    // room'un status/pickOrder/currentPickIndex alanları set edilmiş olarak gelir
+    Room startDraft(Room room);
+
+    void updateSelectedTeams(RoomParticipant participant);
+
+    /**
+     * Writes a batch of picks, possibly from many rooms. Returns one entry per record in the
+     * same order: {@code null} if the pick was committed, otherwise the reason it was not
+     * ({@link org.springframework.dao.DuplicateKeyException} when another writer got there first).
+     */
+    List<RuntimeException> writePicks(List<PickRecord> picks);
+
+    // Pick olmadan sıra değişimi; userId/rosterSizeLimit null değilse kadro limiti de güncellenir
+    void advanceTurn(String roomId, String userId, Integer rosterSizeLimit, int nextPickIndex, boolean draftComplete);
+
+    record LoadedRoom(Room room, List<RoomParticipant> participants) {
+    }
+}
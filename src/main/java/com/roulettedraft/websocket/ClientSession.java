@@ -0,0 +1,89 @@
+package com.roulettedraft.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Outbound side of one WebSocket connection, independent of the server stack. Sends never
+ * block: frames go to a bounded per-session buffer that the transport drains at the pace the
+ * client reads. A session that falls too far behind is dropped (closed with
+ * SESSION_NOT_RELIABLE) and reported to {@code onDropped}; the client is expected to reconnect
+ * and resubscribe.
+ *
+ * @see ServletClientSession
+ * @see ReactiveClientSession
+ */
+@Slf4j
+public abstract class ClientSession {
+    private final String id;
+    private final Map<String, Object> attributes;
+    private final BiConsumer<ClientSession, String> onDropped;
+    private final AtomicBoolean dropped = new AtomicBoolean();
+    private volatile FrameEncoding encoding = FrameEncoding.JSON;
+    private final Set<String> rooms = ConcurrentHashMap.newKeySet(); // Abone olunan odalar
+
+    protected ClientSession(String id, Map<String, Object> attributes, BiConsumer<ClientSession, String> onDropped) {
+        this.id = id;
+        this.attributes = attributes;
+        this.onDropped = onDropped;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // roomId, uçuştaki pick sayısı vb. bağlantıya ait durum
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public FrameEncoding getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(FrameEncoding encoding) {
+        this.encoding = encoding;
+    }
+
+    // Disconnect'te sadece bu odalardan çıkarmak için
+    public Set<String> getRooms() {
+        return rooms;
+    }
+
+    public boolean isOpen() {
+        return !dropped.get() && isConnected();
+    }
+
+    /**
+     * Queues a frame in the session's encoding without blocking. Returns {@code false} if the
+     * session is closed or was dropped because of this frame.
+     */
+    public abstract boolean send(EncodedFrame frame);
+
+    public abstract int queuedMessages();
+
+    public abstract int bufferedBytes();
+
+    protected abstract boolean isConnected();
+
+    // Buffer'ı bırakır ve bağlantıyı SESSION_NOT_RELIABLE ile kapatır
+    protected abstract void discard();
+
+    protected boolean isDropped() {
+        return dropped.get();
+    }
+
+    protected void drop(String reason) {
+        if (!dropped.compareAndSet(false, true)) {
+            return;
+        }
+        log.warn("Dropping slow WebSocket session {} ({})", id, reason);
+        discard();
+        onDropped.accept(this, reason);
+    }
+}
@@ -0,0 +1,73 @@
+package com.roulettedraft.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * One event, encoded once and shared by every session that receives it. The JSON text message
+ * is built up front; the CBOR form is derived from the JSON on first use, so rooms without
+ * binary clients never pay for it.
+ */
+public final class EncodedFrame {
+    private static final ObjectMapper JSON_READER = new ObjectMapper();
+    private static final CBORMapper CBOR_WRITER = new CBORMapper();
+
+    private final String type;
+    private final TextMessage text;
+    private volatile byte[] cbor;
+    private volatile int jsonLength = -1; // UTF-8 byte sayısı, ilk sorulduğunda hesaplanır
+
+    public EncodedFrame(String type, String json) {
+        this.type = type;
+        this.text = new TextMessage(json);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public WebSocketMessage<?> messageFor(FrameEncoding encoding) {
+        if (encoding == FrameEncoding.CBOR) {
+            // Gönderim buffer'ın position'ını ilerletir; her session kendi görünümünü alır
+            return new BinaryMessage(ByteBuffer.wrap(cbor()).asReadOnlyBuffer());
+        }
+        return text;
+    }
+
+    public String getJson() {
+        return text.getPayload();
+    }
+
+    public int payloadLength(FrameEncoding encoding) {
+        if (encoding == FrameEncoding.CBOR) {
+            return cbor().length;
+        }
+        int length = jsonLength;
+        if (length < 0) {
+            length = text.getPayloadLength();
+            jsonLength = length;
+        }
+        return length;
+    }
+
+    // Paylaşılır: çağıran değiştirmemeli
+    public byte[] cbor() {
+        byte[] bytes = cbor;
+        if (bytes == null) {
+            try {
+                bytes = CBOR_WRITER.writeValueAsBytes(JSON_READER.readTree(text.getPayload()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            cbor = bytes; // Yarış durumunda iki kez encode edilebilir, sonuç aynı
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,11 @@
+package com.roulettedraft.websocket;
+
+public enum FrameEncoding {
+    JSON, // TextMessage (varsayılan)
+    CBOR; // BinaryMessage, aynı alanlar CBOR ile
+
+    // SUBSCRIBE_ROOM içindeki "encoding" alanı; bilinmeyen değerler JSON kabul edilir
+    public static FrameEncoding from(String value) {
+        return "cbor".equalsIgnoreCase(value) ? CBOR : JSON;
+    }
+}
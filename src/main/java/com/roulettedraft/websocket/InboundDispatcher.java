@@ -0,0 +1,98 @@
+package com.roulettedraft.websocket;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.roulettedraft.dto.websocket.ErrorEvent;
+import com.roulettedraft.dto.websocket.InboundMessage;
+import com.roulettedraft.service.WebSocketService;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes client text frames and hands them to the {@link InboundMessageHandler} registered for
+ * their type. Shared by the servlet {@link WebSocketHandler} and the reactive
+ * {@link ReactiveWebSocketHandler}; handlers only queue work and never block the caller.
+ */
+@Component
+@Slf4j
+public class InboundDispatcher {
+    private final ObjectReader messageReader;
+    private final WebSocketService webSocketService;
+    private final Map<Class<?>, InboundMessageHandler<?>> handlers = new HashMap<>();
+    private final int maxMessageBytes;
+
+    public InboundDispatcher(ObjectMapper objectMapper,
+                             WebSocketService webSocketService,
+                             List<InboundMessageHandler<?>> messageHandlers,
+                             @Value("${draft.websocket.max-message-bytes:8192}") int maxMessageBytes) {
+        // Mesaj "type" alanına göre tek geçişte doğru request sınıfına decode edilir
+        this.messageReader = objectMapper.readerFor(InboundMessage.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.webSocketService = webSocketService;
+        this.maxMessageBytes = maxMessageBytes;
+        for (InboundMessageHandler<?> handler : messageHandlers) {
+            handlers.put(handler.messageType(), handler);
+        }
+    }
+
+    public void dispatch(ClientSession session, String payload, int payloadBytes) {
+        if (payloadBytes > maxMessageBytes) {
+            log.warn("Message of {} bytes from session {} exceeds limit", payloadBytes, session.getId());
+            sendError(session, "MESSAGE_TOO_LARGE", "Message exceeds " + maxMessageBytes + " bytes");
+            return;
+        }
+
+        InboundMessage request;
+        try {
+            request = messageReader.readValue(payload);
+        } catch (InvalidTypeIdException e) {
+            log.warn("Unknown message type from session {}: {}", session.getId(), e.getTypeId());
+            sendError(session, "UNKNOWN_TYPE", "Unknown message type: " + e.getTypeId());
+            return;
+        } catch (IOException e) {
+            log.warn("Invalid message format from session {}: {}", session.getId(), e.getMessage());
+            sendError(session, "INVALID_MESSAGE", "Invalid message format");
+            return;
+        }
+
+        String roomId = (String) session.getAttributes().get("roomId");
+        if (roomId != null) {
+            MDC.put("roomId", roomId);
+        }
+        try {
+            handle(session, request);
+        } catch (Exception e) {
+            log.error("Error handling WebSocket message {}", request.getType(), e);
+            sendError(session, "PROCESSING_ERROR", "Error processing message: " + e.getMessage());
+        } finally {
+            MDC.remove("roomId");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends InboundMessage> void handle(ClientSession session, T request) throws Exception {
+        InboundMessageHandler<T> handler = (InboundMessageHandler<T>) handlers.get(request.getClass());
+        if (handler == null) {
+            sendError(session, "UNKNOWN_TYPE", "Unsupported message type: " + request.getType());
+            return;
+        }
+        handler.handle(session, request);
+    }
+
+    // Hatalar sadece mesajı gönderen session'a gider
+    private void sendError(ClientSession session, String reason, String message) {
+        webSocketService.sendToSession(session, ErrorEvent.builder()
+                .reason(reason)
+                .message(message)
+                .build());
+    }
+}
@@ -0,0 +1,14 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.dto.websocket.InboundMessage;
+
+/**
+ * Handles one client message type. Implementations are Spring beans; {@link InboundDispatcher}
+ * collects them into a registry keyed by {@link #messageType()}.
+ */
+public interface InboundMessageHandler<T extends InboundMessage> {
+
+    Class<T> messageType();
+
+    void handle(ClientSession session, T message) throws Exception;
+}
@@ -0,0 +1,83 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.dto.websocket.ErrorEvent;
+import com.roulettedraft.dto.websocket.PickPlayerRequest;
+import com.roulettedraft.service.DraftService;
+import com.roulettedraft.service.WebSocketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks are handed to the room's lane without waiting, so the connection's reader thread is
+ * free for the next frame. Each session may have at most {@code max-inflight-picks} picks
+ * waiting for a result; beyond that the pick is rejected with TOO_MANY_PICKS instead of
+ * queueing without bound.
+ */
+@Component
+@Slf4j
+public class PickPlayerMessageHandler implements InboundMessageHandler<PickPlayerRequest> {
+    private static final String INFLIGHT_ATTRIBUTE = "inflightPicks";
+
+    private final DraftService draftService;
+    private final WebSocketService webSocketService;
+    private final int maxInflightPicks;
+
+    public PickPlayerMessageHandler(DraftService draftService,
+                                    WebSocketService webSocketService,
+                                    @Value("${draft.websocket.max-inflight-picks:1}") int maxInflightPicks) {
+        this.draftService = draftService;
+        this.webSocketService = webSocketService;
+        this.maxInflightPicks = Math.max(1, maxInflightPicks);
+    }
+
+    @Override
+    public Class<PickPlayerRequest> messageType() {
+        return PickPlayerRequest.class;
+    }
+
+    @Override
+    public void handle(ClientSession session, PickPlayerRequest request) {
+        String roomId = request.getRoomId();
+        AtomicInteger inflight = inflight(session);
+        if (inflight.incrementAndGet() > maxInflightPicks) {
+            inflight.decrementAndGet();
+            sendError(session, "TOO_MANY_PICKS", "Previous pick is still being processed");
+            return;
+        }
+        try {
+            draftService.makePickAsync(roomId, request.getUserId(), request.getPlayerId())
+                    .whenComplete((ignored, error) -> {
+                        inflight.decrementAndGet();
+                        if (error != null) {
+                            pickFailed(session, roomId, error);
+                        }
+                    });
+        } catch (Exception e) {
+            // Lane'e bırakılamadı (ör. executor kapanıyor)
+            inflight.decrementAndGet();
+            pickFailed(session, roomId, e);
+        }
+    }
+
+    private void pickFailed(ClientSession session, String roomId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        log.error("[room:{}] Error making pick", roomId, cause);
+        sendError(session, "PICK_FAILED", cause.getMessage());
+    }
+
+    // Sadece isteği gönderen session'a
+    private void sendError(ClientSession session, String reason, String message) {
+        webSocketService.sendToSession(session, ErrorEvent.builder()
+                .reason(reason)
+                .message(message)
+                .build());
+    }
+
+    private static AtomicInteger inflight(ClientSession session) {
+        return (AtomicInteger) session.getAttributes().computeIfAbsent(INFLIGHT_ATTRIBUTE, key -> new AtomicInteger());
+    }
+}
@@ -0,0 +1,26 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.dto.websocket.PingRequest;
+import com.roulettedraft.dto.websocket.PongEvent;
+import com.roulettedraft.service.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PingMessageHandler implements InboundMessageHandler<PingRequest> {
+    private final WebSocketService webSocketService;
+
+    @Override
+    public Class<PingRequest> messageType() {
+        return PingRequest.class;
+    }
+
+    @Override
+    public void handle(ClientSession session, PingRequest request) {
+        webSocketService.sendToSession(session, PongEvent.builder()
+                .clientTime(request.getClientTime())
+                .serverTime(System.currentTimeMillis())
+                .build());
+    }
+}
@@ -0,0 +1,122 @@
+package com.roulettedraft.websocket;
+
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link ClientSession} of a WebFlux (Reactor Netty) WebSocket connection. Frames go into a
+ * unicast sink that is the publisher of {@code session.send(...)}, so Reactor Netty pulls them
+ * only as fast as the channel accepts writes; nothing is written from the caller's thread.
+ *
+ * The servlet limits apply to what waits in the sink: the session is dropped when the waiting
+ * bytes exceed the buffer limit, or when frames have been waiting without the transport taking
+ * one for longer than the send-time limit.
+ */
+public class ReactiveClientSession extends ClientSession {
+    // Servlet CloseStatus.SESSION_NOT_RELIABLE ile aynı kod; reactive CloseStatus'ta sabiti yok
+    private static final CloseStatus SESSION_NOT_RELIABLE = new CloseStatus(4500);
+
+    private final WebSocketSession session;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+
+    private final Sinks.Many<Outbound> outbound = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger bufferedBytes = new AtomicInteger();
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+    private volatile long lastProgressAt; // Transport'un son frame aldığı an (kuyruk boşken başlar)
+
+    public ReactiveClientSession(WebSocketSession session, int bufferSizeLimit, long sendTimeLimitMillis,
+                                 BiConsumer<ClientSession, String> onDropped) {
+        super(session.getId(), new ConcurrentHashMap<>(session.getAttributes()), onDropped);
+        this.session = session;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+    }
+
+    @Override
+    public int queuedMessages() {
+        return queuedMessages.get();
+    }
+
+    @Override
+    public int bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    @Override
+    protected boolean isConnected() {
+        return session.isOpen();
+    }
+
+    @Override
+    public boolean send(EncodedFrame frame) {
+        if (!isOpen()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (queuedMessages.get() > 0 && now - lastProgressAt > sendTimeLimitMillis) {
+            drop("send-time");
+            return false;
+        }
+        FrameEncoding encoding = getEncoding();
+        int length = frame.payloadLength(encoding);
+        if (bufferedBytes.addAndGet(length) > bufferSizeLimit) {
+            drop("buffer-size");
+            return false;
+        }
+        if (queuedMessages.getAndIncrement() == 0) {
+            lastProgressAt = now;
+        }
+        Sinks.EmitResult result;
+        synchronized (this) { // Sink'e aynı anda tek yayıncı
+            result = outbound.tryEmitNext(new Outbound(frame, encoding, length));
+        }
+        if (result.isFailure()) {
+            drop("error");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Frames for {@code session.send(...)}. Each frame leaves the buffer when the transport
+     * requests it, in the encoding the session had when it was queued.
+     */
+    public Flux<WebSocketMessage> outbound() {
+        return outbound.asFlux()
+                .doOnNext(out -> {
+                    lastProgressAt = System.currentTimeMillis();
+                    if (!isDropped()) { // drop sayaçları zaten sıfırladı
+                        queuedMessages.decrementAndGet();
+                        bufferedBytes.addAndGet(-out.length());
+                    }
+                })
+                .map(out -> out.encoding() == FrameEncoding.CBOR
+                        ? session.binaryMessage(factory -> factory.wrap(out.frame().cbor()))
+                        : session.textMessage(out.frame().getJson()));
+    }
+
+    // Client bağlantıyı kapattı: gönderim akışı da bitsin
+    public void complete() {
+        synchronized (this) {
+            outbound.tryEmitComplete();
+        }
+    }
+
+    @Override
+    protected void discard() {
+        queuedMessages.set(0);
+        bufferedBytes.set(0);
+        session.close(SESSION_NOT_RELIABLE).subscribe();
+    }
+
+    private record Outbound(EncodedFrame frame, FrameEncoding encoding, int length) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.service.WebSocketService;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of the servlet {@link com.roulettedraft.websocket.WebSocketHandler}, mapped
+ * to {@code /ws} by {@code ReactiveWebConfig}. Inbound frames are requested one at a time and
+ * handed to the {@link InboundDispatcher}, whose handlers only queue work, so a client that
+ * floods the socket is throttled by TCP instead of filling a queue. Outbound frames are pulled
+ * from the session's {@link ReactiveClientSession} buffer as the channel becomes writable.
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class ReactiveWebSocketHandler implements WebSocketHandler {
+    private final WebSocketService webSocketService;
+    private final InboundDispatcher inboundDispatcher;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+
+    public ReactiveWebSocketHandler(WebSocketService webSocketService,
+                                    InboundDispatcher inboundDispatcher,
+                                    @Value("${draft.websocket.buffer-size-limit-bytes:524288}") int bufferSizeLimit,
+                                    @Value("${draft.websocket.send-time-limit-ms:5000}") long sendTimeLimitMillis) {
+        this.webSocketService = webSocketService;
+        this.inboundDispatcher = inboundDispatcher;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        ReactiveClientSession client = new ReactiveClientSession(
+                session, bufferSizeLimit, sendTimeLimitMillis, webSocketService::onDropped);
+        webSocketService.connect(client);
+        log.info("WebSocket connection established: {}", session.getId());
+
+        Mono<Void> input = session.receive()
+                .concatMap(message -> {
+                    if (message.getType() == WebSocketMessage.Type.BINARY) {
+                        // Servlet TextWebSocketHandler ile aynı
+                        return session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Binary messages not supported"));
+                    }
+                    if (message.getType() == WebSocketMessage.Type.TEXT) {
+                        int bytes = message.getPayload().readableByteCount();
+                        inboundDispatcher.dispatch(client, message.getPayloadAsText(), bytes);
+                    }
+                    return Mono.empty();
+                }, 1)
+                .doFinally(signal -> client.complete())
+                .then();
+        Mono<Void> output = session.send(client.outbound());
+
+        return Mono.when(input, output)
+                .doOnError(e -> transportError(client, e))
+                .doFinally(signal -> {
+                    webSocketService.disconnect(session.getId());
+                    closed(client);
+                });
+    }
+
+    private static void closed(ClientSession client) {
+        String roomId = (String) client.getAttributes().get("roomId");
+        if (roomId != null) {
+            MDC.put("roomId", roomId);
+            log.info("[room:{}] WebSocket connection closed: {}", roomId, client.getId());
+            MDC.clear();
+        } else {
+            log.info("WebSocket connection closed: {}", client.getId());
+        }
+    }
+
+    private static void transportError(ClientSession client, Throwable exception) {
+        String roomId = (String) client.getAttributes().get("roomId");
+        if (roomId != null) {
+            MDC.put("roomId", roomId);
+            log.error("[room:{}] WebSocket transport error", roomId, exception);
+            MDC.clear();
+        } else {
+            log.error("WebSocket transport error", exception);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.dto.websocket.ResyncRequest;
+import com.roulettedraft.service.RoomService;
+import com.roulettedraft.service.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Client state'inin bozulduğunu düşünüyorsa tam snapshot ister
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResyncMessageHandler implements InboundMessageHandler<ResyncRequest> {
+    private final WebSocketService webSocketService;
+    private final RoomService roomService;
+
+    @Override
+    public Class<ResyncRequest> messageType() {
+        return ResyncRequest.class;
+    }
+
+    @Override
+    public void handle(ClientSession session, ResyncRequest request) {
+        String roomId = request.getRoomId();
+        log.debug("[room:{}] Resync requested by session {}", roomId, session.getId());
+        webSocketService.sendSnapshot(session, roomId, () -> roomService.getRoomById(roomId));
+    }
+}
@@ -0,0 +1,139 @@
+package com.roulettedraft.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link ClientSession} of a servlet WebSocket connection. Messages are appended to a bounded
+ * buffer and written by a single drain task on the sender executor, so callers never block on
+ * network IO and a session is never written from two threads at once.
+ *
+ * Same limits as Spring's ConcurrentWebSocketSessionDecorator: if the buffered bytes exceed
+ * the buffer limit, or a single write has been in progress longer than the send-time limit,
+ * the session is dropped and closed with {@link CloseStatus#SESSION_NOT_RELIABLE}.
+ */
+@Slf4j
+public class ServletClientSession extends ClientSession {
+    private static final int MAX_MESSAGES_PER_DRAIN = 64;
+
+    private final WebSocketSession session;
+    private final Executor sender;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitMillis;
+
+    private final Queue<WebSocketMessage<?>> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedBytes = new AtomicInteger();
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartedAt; // 0 = şu an yazma yok
+
+    public ServletClientSession(WebSocketSession session, Executor sender, int bufferSizeLimit,
+                                long sendTimeLimitMillis, BiConsumer<ClientSession, String> onDropped) {
+        super(session.getId(), session.getAttributes(), onDropped);
+        this.session = session;
+        this.sender = sender;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    @Override
+    public int queuedMessages() {
+        return queuedMessages.get();
+    }
+
+    @Override
+    public int bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    @Override
+    protected boolean isConnected() {
+        return session.isOpen();
+    }
+
+    @Override
+    public boolean send(EncodedFrame frame) {
+        if (!isOpen()) {
+            return false;
+        }
+        WebSocketMessage<?> message = frame.messageFor(getEncoding());
+        buffer.add(message);
+        queuedMessages.incrementAndGet();
+        int bytes = bufferedBytes.addAndGet(message.getPayloadLength());
+
+        if (bytes > bufferSizeLimit) {
+            drop("buffer-size");
+            return false;
+        }
+        long started = sendStartedAt;
+        if (started != 0 && System.currentTimeMillis() - started > sendTimeLimitMillis) {
+            drop("send-time");
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < MAX_MESSAGES_PER_DRAIN && !isDropped(); i++) {
+                WebSocketMessage<?> message = buffer.poll();
+                if (message == null) {
+                    break;
+                }
+                int length = message.getPayloadLength(); // Binary mesajlarda gönderimden sonra 0 olur
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    session.sendMessage(message);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Send to session {} failed: {}", getId(), e.getMessage());
+                    drop("error");
+                } finally {
+                    sendStartedAt = 0;
+                    if (!isDropped()) { // drop sayaçları zaten sıfırladı
+                        queuedMessages.decrementAndGet();
+                        bufferedBytes.addAndGet(-length);
+                    }
+                }
+            }
+        } finally {
+            draining.set(false);
+            // Drain bitmeden eklenen mesajlar için tekrar planla
+            if (!buffer.isEmpty() && !isDropped()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    @Override
+    protected void discard() {
+        buffer.clear();
+        queuedMessages.set(0);
+        bufferedBytes.set(0);
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Error closing session {}", getId(), e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.dto.websocket.SubscribeRoomRequest;
+import com.roulettedraft.service.RoomService;
+import com.roulettedraft.service.TimerService;
+import com.roulettedraft.service.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubscribeRoomMessageHandler implements InboundMessageHandler<SubscribeRoomRequest> {
+    private final WebSocketService webSocketService;
+    private final RoomService roomService;
+    private final TimerService timerService;
+
+    @Override
+    public Class<SubscribeRoomRequest> messageType() {
+        return SubscribeRoomRequest.class;
+    }
+
+    @Override
+    public void handle(ClientSession session, SubscribeRoomRequest request) {
+        String roomId = request.getRoomId();
+        log.info("[room:{}] User {} subscribing", roomId, request.getUserId());
+
+        session.setEncoding(FrameEncoding.from(request.getEncoding()));
+        // Store roomId in session attributes for cleanup
+        session.getAttributes().put("roomId", roomId);
+
+        // Kaçırılan event'ler replay edilir; mümkün değilse tam snapshot gider
+        webSocketService.subscribe(session, roomId, request.getLastSeenEpoch(), request.getLastSeenSeq(),
+                () -> roomService.getRoomById(roomId));
+
+        // Draft devam ediyorsa mevcut turun deadline'ını gönder
+        timerService.currentDeadline(roomId)
+                .ifPresent(event -> webSocketService.sendToSession(session, event));
+    }
+}
@@ -0,0 +1,27 @@
+package com.roulettedraft.websocket;
+
+import com.roulettedraft.dto.websocket.UnsubscribeRoomRequest;
+import com.roulettedraft.service.WebSocketService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnsubscribeRoomMessageHandler implements InboundMessageHandler<UnsubscribeRoomRequest> {
+    private final WebSocketService webSocketService;
+
+    @Override
+    public Class<UnsubscribeRoomRequest> messageType() {
+        return UnsubscribeRoomRequest.class;
+    }
+
+    @Override
+    public void handle(ClientSession session, UnsubscribeRoomRequest request) {
+        String roomId = request.getRoomId();
+        log.info("[room:{}] Session {} unsubscribing", roomId, session.getId());
+        webSocketService.unregisterSession(roomId, session);
+        session.getAttributes().remove("roomId", roomId);
+    }
+}
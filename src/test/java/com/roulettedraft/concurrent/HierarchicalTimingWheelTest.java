@@ -0,0 +1,118 @@
+package com.roulettedraft.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+    private static final long TICK_MILLIS = 1;
+    private static final String KEY = "room-1";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final HierarchicalTimingWheel wheel =
+            new HierarchicalTimingWheel("test", 1, TICK_MILLIS, null, null, clock::get, false);
+
+    @AfterEach
+    void shutdown() {
+        wheel.shutdown();
+    }
+
+    @Test
+    void firesExactlyAtADeadlineOnALevelOneSlotBoundary() {
+        AtomicInteger fired = new AtomicInteger();
+        // 64 tick: seviye 0'ın kapsamı dışında, seviye 1'in bir slot sınırında
+        wheel.schedule(KEY, 64, fired::incrementAndGet);
+
+        advanceToMillis(63);
+        assertThat(fired).hasValue(0);
+
+        advanceToMillis(64);
+        assertThat(fired).hasValue(1);
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void doesNotFireOneNanosecondBeforeTheDeadline() {
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(KEY, 4096, fired::incrementAndGet);
+
+        clock.set(TimeUnit.MILLISECONDS.toNanos(4096) - 1);
+        wheel.tick();
+        assertThat(fired).hasValue(0);
+
+        advanceToMillis(4096);
+        assertThat(fired).hasValue(1);
+    }
+
+    @Test
+    void cascadesThroughEveryLevelDownToTheDeadlineTick() {
+        List<Long> firedAt = new ArrayList<>();
+        long[] delays = {5, 100, 5_000, 300_000}; // Seviye 0, 1, 2 ve 3
+        for (long delay : delays) {
+            wheel.schedule(KEY, delay, () -> firedAt.add(TimeUnit.NANOSECONDS.toMillis(clock.get())));
+        }
+
+        // Her tick'te ilerleyerek, her timer'ın tam kendi tick'inde çalıştığını doğrula
+        for (long millis = 1; millis <= 300_000; millis++) {
+            advanceToMillis(millis);
+        }
+
+        assertThat(firedAt).containsExactly(5L, 100L, 5_000L, 300_000L);
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void cascadesWhenTheClockJumpsOverManyTicks() {
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(KEY, 5_000, fired::incrementAndGet);
+
+        advanceToMillis(4_999);
+        assertThat(fired).hasValue(0);
+
+        advanceToMillis(5_000);
+        assertThat(fired).hasValue(1);
+    }
+
+    @Test
+    void cancelledTimeoutsAreSkippedAndReleased() {
+        AtomicInteger fired = new AtomicInteger();
+        HierarchicalTimingWheel.Timeout nearTimeout = wheel.schedule(KEY, 10, fired::incrementAndGet);
+        HierarchicalTimingWheel.Timeout farTimeout = wheel.schedule(KEY, 1_000, fired::incrementAndGet);
+        wheel.schedule(KEY, 20, fired::incrementAndGet);
+        advanceToMillis(1);
+
+        // Lazy iptal: slot'ta kalır, sayaç zamanı gelince düşer
+        nearTimeout.cancel();
+        farTimeout.cancel();
+        assertThat(nearTimeout.isCancelled()).isTrue();
+        assertThat(wheel.pendingCount()).isEqualTo(3);
+
+        advanceToMillis(1_000);
+        assertThat(fired).hasValue(1);
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void timeoutCancelledBeforeTheFirstTickNeverEntersTheWheel() {
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(KEY, 10, fired::incrementAndGet).cancel();
+
+        advanceToMillis(1);
+        assertThat(wheel.pendingCount()).isZero();
+
+        advanceToMillis(10);
+        assertThat(fired).hasValue(0);
+    }
+
+    private void advanceToMillis(long millis) {
+        clock.set(TimeUnit.MILLISECONDS.toNanos(millis));
+        wheel.tick();
+    }
+}
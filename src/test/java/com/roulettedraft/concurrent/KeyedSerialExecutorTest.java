@@ -0,0 +1,144 @@
+package com.roulettedraft.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedSerialExecutorTest {
+    private static final String KEY = "room-1";
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void runsTasksOfOneKeyInSubmissionOrderAndNeverConcurrently() throws Exception {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        List<Integer> order = new ArrayList<>(); // Lane sıralı çalıştırdığı için senkronizasyon gerekmez
+        AtomicBoolean inside = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            last = executor.submit(KEY, () -> {
+                if (!inside.compareAndSet(false, true)) {
+                    overlapped.set(true);
+                }
+                order.add(n);
+                inside.set(false);
+                return null;
+            });
+        }
+        last.get(5, TimeUnit.SECONDS);
+
+        assertThat(overlapped).isFalse();
+        assertThat(order).hasSize(1000).isSorted();
+    }
+
+    @Test
+    @Timeout(10)
+    void differentKeysRunInParallel() throws Exception {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        CountDownLatch other = new CountDownLatch(1);
+
+        // İlk key ikincisini bekler; key'ler aynı lane'de olsaydı kilitlenirdi
+        CompletableFuture<Boolean> waiting = executor.submit("a", () -> other.await(5, TimeUnit.SECONDS));
+        executor.submit("b", () -> {
+            other.countDown();
+            return null;
+        });
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submitAsyncHoldsTheLaneUntilItsStageCompletes() {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(Runnable::run);
+        CompletableFuture<String> write = new CompletableFuture<>();
+        List<String> order = new ArrayList<>();
+
+        CompletableFuture<String> pick = executor.submitAsync(KEY, () -> {
+            order.add("pick started");
+            return write.thenApply(v -> {
+                order.add("pick done");
+                return v;
+            });
+        });
+        CompletableFuture<Void> next = executor.submit(KEY, () -> {
+            order.add("next");
+            return null;
+        });
+        CompletableFuture<Void> otherKey = executor.submit("room-2", () -> null);
+
+        assertThat(pick).isNotDone();
+        assertThat(next).isNotDone();
+        assertThat(otherKey).isDone();
+        assertThat(executor.queuedTasks()).isEqualTo(1);
+
+        write.complete("ok");
+
+        assertThat(pick).isCompletedWithValue("ok");
+        assertThat(next).isDone();
+        assertThat(order).containsExactly("pick started", "pick done", "next");
+        assertThat(executor.activeLanes()).isZero();
+    }
+
+    @Test
+    void failedAsyncStageFailsItsFutureAndReleasesTheLane() {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(Runnable::run);
+        CompletableFuture<String> write = new CompletableFuture<>();
+
+        CompletableFuture<String> pick = executor.submitAsync(KEY, () -> write);
+        CompletableFuture<String> next = executor.submit(KEY, () -> "next");
+        write.completeExceptionally(new CompletionException(new IllegalStateException("duplicate")));
+
+        // CompletionException sarmalı açılır, çağıran asıl sebebi görür
+        assertThatThrownBy(pick::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(next).isCompletedWithValue("next");
+    }
+
+    @Test
+    void taskThatThrowsBeforeReturningAStageDoesNotBlockTheLane() {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(Runnable::run);
+
+        CompletableFuture<String> failed = executor.submitAsync(KEY, () -> {
+            throw new IllegalArgumentException("invalid pick");
+        });
+        CompletableFuture<String> next = executor.submit(KEY, () -> "next");
+
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(next).isCompletedWithValue("next");
+    }
+
+    @Test
+    void taskSubmittedFromItsOwnLaneQueuesBehindTheCurrentTask() {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(Runnable::run);
+        List<String> order = new ArrayList<>();
+
+        executor.execute(KEY, () -> {
+            executor.execute(KEY, () -> order.add("inner"));
+            order.add("outer");
+        });
+
+        assertThat(order).containsExactly("outer", "inner");
+        assertThat(executor.activeLanes()).isZero();
+    }
+}
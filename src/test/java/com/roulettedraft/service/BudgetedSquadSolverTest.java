@@ -0,0 +1,67 @@
+package com.roulettedraft.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetedSquadSolverTest {
+    private static final Map<String, Long> VALUES = Map.of(
+            "star", 100L,
+            "backup", 10L,
+            "striker", 100L,
+            "bench", 10L,
+            "x", 1L,
+            "y", 1L);
+
+    @Test
+    void takesTheFirstAffordableAssignmentInPreferenceOrder() {
+        String[] squad = solve(List.of(
+                List.of("star", "backup"),
+                List.of("striker", "bench")), 120);
+
+        // İki yıldız bütçeyi aşar; ilk slot tercihini korur, ikinci slot ucuz adaya düşer
+        assertThat(squad).containsExactly("star", "bench");
+    }
+
+    @Test
+    void neverPicksTheSamePlayerTwiceAndLeavesSlotsWithoutCandidatesEmpty() {
+        String[] squad = solve(List.of(
+                List.of("x", "y"),
+                List.of("x", "y"),
+                List.of()), 120);
+
+        assertThat(squad).containsExactly("x", "y", null);
+    }
+
+    @Test
+    void fallsBackToGreedyWithinBudgetWhenNoCompleteSquadFits() {
+        Map<String, Long> values = Map.of("a", 50L, "b", 50L);
+
+        String[] squad = BudgetedSquadSolver.solve(List.of(List.of("a"), List.of("b")),
+                values::get, 70, deadline());
+
+        assertThat(squad).containsExactly("a", null);
+    }
+
+    @Test
+    void neverChoosesPlayersWithUnknownValue() {
+        Map<String, Long> values = Map.of("free", MarketValue.UNKNOWN, "paid", 50L);
+
+        String[] squad = BudgetedSquadSolver.solve(List.of(List.of("free", "paid"), List.of("free")),
+                values::get, 100, deadline());
+
+        assertThat(squad).containsExactly("paid", null);
+    }
+
+    private static String[] solve(List<List<String>> slots, long budget) {
+        return BudgetedSquadSolver.solve(slots, VALUES::get, budget, deadline());
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    }
+}
@@ -0,0 +1,170 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.DraftPick;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.store.RoomStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DraftPickWriterTest {
+    private static final long LONG_WINDOW_MS = 10_000; // Batch dolunca flush edilir, pencere beklenmez
+
+    private DraftPickWriter writer;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void mapsEachRecordOfAMixedBatchToItsOwnOutcome() {
+        FakeRoomStore store = new FakeRoomStore(records -> {
+            List<RuntimeException> errors = new ArrayList<>();
+            for (PickRecord record : records) {
+                switch (record.getPick().getPlayerId()) {
+                    case "taken" -> errors.add(new DuplicateKeyException("E11000 duplicate key"));
+                    case "invalid" -> errors.add(new RuntimeException("Document failed validation"));
+                    default -> errors.add(null);
+                }
+            }
+            return errors;
+        });
+        writer = new DraftPickWriter(store, LONG_WINDOW_MS, 4, 100);
+
+        CompletableFuture<Void> first = writer.append(record("room-1", "p1"));
+        CompletableFuture<Void> duplicate = writer.append(record("room-2", "taken"));
+        CompletableFuture<Void> failed = writer.append(record("room-3", "invalid"));
+        CompletableFuture<Void> last = writer.append(record("room-1", "p2"));
+
+        assertThat(last).succeedsWithin(5, TimeUnit.SECONDS);
+        assertThat(first).isCompleted();
+        assertThatThrownBy(duplicate::join).hasCauseInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(failed::join)
+                .hasCauseExactlyInstanceOf(RuntimeException.class)
+                .hasRootCauseMessage("Document failed validation");
+
+        // Dört pick tek batch olarak yazıldı, sıra korundu
+        assertThat(store.batches).hasSize(1);
+        assertThat(store.batches.get(0)).extracting(r -> r.getPick().getPlayerId())
+                .containsExactly("p1", "taken", "invalid", "p2");
+    }
+
+    @Test
+    @Timeout(10)
+    void failureOfTheWholeBatchFailsEveryPick() {
+        writer = new DraftPickWriter(new FakeRoomStore(records -> {
+            throw new IllegalStateException("connection reset");
+        }), LONG_WINDOW_MS, 2, 100);
+
+        CompletableFuture<Void> a = writer.append(record("room-1", "p1"));
+        CompletableFuture<Void> b = writer.append(record("room-2", "p2"));
+
+        assertThat(a).failsWithin(5, TimeUnit.SECONDS);
+        assertThatThrownBy(a::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(b::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectsAppendsWhileTheQueueIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = new DraftPickWriter(new FakeRoomStore(records -> {
+            writing.countDown();
+            await(release);
+            return new ArrayList<>(Collections.nCopies(records.size(), null));
+        }), 0, 1, 1);
+
+        CompletableFuture<Void> inFlight = writer.append(record("room-1", "p1"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> queued = writer.append(record("room-1", "p2"));
+        CompletableFuture<Void> rejected = writer.append(record("room-1", "p3"));
+
+        assertThatThrownBy(rejected::join).hasRootCauseMessage("Pick writer is overloaded, try again");
+
+        release.countDown();
+        assertThat(inFlight).succeedsWithin(5, TimeUnit.SECONDS);
+        assertThat(queued).succeedsWithin(5, TimeUnit.SECONDS);
+    }
+
+    private static PickRecord record(String roomId, String playerId) {
+        return PickRecord.builder()
+                .pick(DraftPick.builder().id(roomId + "-" + playerId).roomId(roomId).playerId(playerId).build())
+                .participantId("participant-1")
+                .nextPickIndex(1)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Sadece writePicks kullanılır
+    private static final class FakeRoomStore implements RoomStore {
+        private final Function<List<PickRecord>, List<RuntimeException>> writes;
+        private final List<List<PickRecord>> batches = new CopyOnWriteArrayList<>();
+
+        private FakeRoomStore(Function<List<PickRecord>, List<RuntimeException>> writes) {
+            this.writes = writes;
+        }
+
+        @Override
+        public List<RuntimeException> writePicks(List<PickRecord> picks) {
+            batches.add(List.copyOf(picks));
+            return writes.apply(picks);
+        }
+
+        @Override
+        public Room createRoom(Room room) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<LoadedRoom> load(String roomId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addParticipant(Room room, RoomParticipant participant) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Room startDraft(Room room) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateSelectedTeams(RoomParticipant participant) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void advanceTurn(String roomId, String userId, Integer rosterSizeLimit, int nextPickIndex, boolean draftComplete) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.roulettedraft.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarketValueTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "€250k       | 25000000",
+            "€1.50m      | 150000000",
+            "€1,5m       | 150000000",
+            "€1bn        | 100000000000",
+            "€500Th.     | 50000000",
+            "€1,500,000  | 150000000",
+            "€1.500.000  | 150000000",
+            "€1,500      | 150000",
+            "€1.500,50   | 150050",
+            "€1,500.50   | 150050",
+            "€0          | 0"
+    })
+    void parsesDisplayStringsToCents(String display, long cents) {
+        assertThat(MarketValue.toCents(display)).isEqualTo(cents);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-", "€", "€1,50,000", "€1.2.3,4,5", "€1,"})
+    void unparseableValuesAreUnknown(String display) {
+        assertThat(MarketValue.toCents(display)).isEqualTo(MarketValue.UNKNOWN);
+        assertThat(MarketValue.isKnown(MarketValue.toCents(display))).isFalse();
+    }
+
+    @Test
+    void missingValueIsUnknown() {
+        assertThat(MarketValue.toCents(null)).isEqualTo(MarketValue.UNKNOWN);
+    }
+
+    @Test
+    void budgetInEurosIsConvertedToCents() {
+        assertThat(MarketValue.eurosToCents(1_500_000L)).isEqualTo(150_000_000L);
+        assertThat(MarketValue.eurosToCents(null)).isNull();
+    }
+}
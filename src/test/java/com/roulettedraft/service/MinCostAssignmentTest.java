@@ -0,0 +1,51 @@
+package com.roulettedraft.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinCostAssignmentTest {
+
+    @Test
+    void picksTheCheapestTotalRatherThanEachRowsCheapestGroup() {
+        // Satır 0 tek başına grup 0'ı seçerdi, ama toplamda 1 + 1 < 1 + 100
+        long[][] costs = {
+                {1, 2},
+                {1, 100}
+        };
+
+        int[] assignment = MinCostAssignment.solve(costs, new int[]{1, 1});
+
+        assertThat(assignment).containsExactly(1, 0);
+    }
+
+    @Test
+    void respectsGroupCapacity() {
+        long[][] costs = {
+                {0, 5},
+                {0, 5},
+                {0, 5}
+        };
+
+        int[] assignment = MinCostAssignment.solve(costs, new int[]{1, 2});
+
+        assertThat(assignment).containsOnly(0, 1);
+        assertThat(Arrays.stream(assignment).filter(g -> g == 0).count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRowsBeyondTotalCapacity() {
+        long[][] costs = {
+                {1, 1},
+                {1, 1},
+                {1, 1}
+        };
+
+        assertThatThrownBy(() -> MinCostAssignment.solve(costs, new int[]{1, 1}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3 rows");
+    }
+}
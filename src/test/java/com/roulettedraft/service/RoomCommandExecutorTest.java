@@ -0,0 +1,112 @@
+package com.roulettedraft.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Timeout(10)
+class RoomCommandExecutorTest {
+    private static final String ROOM = "room-1";
+
+    // Java 17 yolu: sabit boyutlu platform havuzu
+    private final RoomCommandExecutor executor = new RoomCommandExecutor(new SimpleMeterRegistry(), false, 2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void commandsOfOneRoomRunInSubmissionOrder() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            last = executor.submit(ROOM, "test", () -> {
+                order.add(n);
+                return null;
+            });
+        }
+        last.get(5, TimeUnit.SECONDS);
+
+        assertThat(order).hasSize(200).isSorted();
+    }
+
+    @Test
+    void callFromInsideTheSameRoomRunsInline() {
+        // Kuyruğa girseydi kendi arkasında beklerdi
+        String[] threads = executor.call(ROOM, "outer", () -> {
+            String outer = Thread.currentThread().getName();
+            String inner = executor.call(ROOM, "inner", () -> Thread.currentThread().getName());
+            return new String[]{outer, inner};
+        });
+
+        assertThat(threads[1]).isEqualTo(threads[0]);
+    }
+
+    @Test
+    void callForAnotherRoomFromALaneGoesThroughThatRoomsLane() {
+        String result = executor.call("room-a", "outer", () -> executor.call("room-b", "inner", () -> "b"));
+
+        assertThat(result).isEqualTo("b");
+    }
+
+    @Test
+    void callRethrowsTheCommandsRuntimeExceptionUnchanged() {
+        IllegalStateException failure = new IllegalStateException("Not your turn");
+
+        assertThatThrownBy(() -> executor.call(ROOM, "pick", () -> {
+            throw failure;
+        })).isSameAs(failure);
+    }
+
+    @Test
+    void submitAsyncHoldsTheLaneAndItsContinuationRunsAsTheCommand() throws Exception {
+        CompletableFuture<Integer> write = new CompletableFuture<>();
+        CountDownLatch started = new CountDownLatch(1);
+        List<String> order = new ArrayList<>();
+
+        CompletableFuture<Integer> pick = executor.submitAsync(ROOM, "pick", () -> {
+            order.add("pick");
+            started.countDown();
+            // Devamı lane'de: aynı odaya call inline çalışır, kuyruktaki komut beklemez
+            return write.thenApplyAsync(v -> executor.call(ROOM, "apply", () -> {
+                order.add("apply");
+                return v + 1;
+            }), executor.onLane(ROOM));
+        });
+        CompletableFuture<Void> next = executor.submit(ROOM, "join", () -> {
+            order.add("join");
+            return null;
+        });
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(next).isNotDone();
+
+        write.complete(41);
+
+        assertThat(pick.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("pick", "apply", "join");
+    }
+
+    @Test
+    void failedAsyncCommandReleasesTheLane() throws Exception {
+        CompletableFuture<Integer> pick = executor.submitAsync(ROOM, "pick",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("Player already picked")));
+        CompletableFuture<String> next = executor.submit(ROOM, "join", () -> "joined");
+
+        assertThatThrownBy(() -> pick.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("joined");
+    }
+}
@@ -0,0 +1,157 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.domain.model.RoomStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomDraftStateTest {
+
+    @Test
+    void turnsFollowThePickOrderRoundRobin() {
+        RoomDraftState state = state(participant("a", 2), participant("b", 2), participant("c", 2));
+
+        List<String> turns = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String userId = state.currentUserId();
+            turns.add(userId);
+            pick(state, userId, "p" + i);
+        }
+
+        assertThat(turns).containsExactly("a", "b", "c", "a", "b", "c");
+        assertThat(state.isComplete()).isTrue();
+        assertThat(state.getStatus()).isEqualTo(RoomStatus.DONE);
+        assertThat(state.currentUserId()).isNull();
+    }
+
+    @Test
+    void usersWithAFullRosterAreSkipped() {
+        RoomDraftState state = state(participant("a", 1), participant("b", 2), participant("c", 2));
+
+        List<String> turns = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String userId = state.currentUserId();
+            turns.add(userId);
+            pick(state, userId, "p" + i);
+        }
+
+        assertThat(turns).containsExactly("a", "b", "c", "b", "c");
+    }
+
+    @Test
+    void pickIndexKeepsGrowingAcrossRounds() {
+        RoomDraftState state = state(participant("a", 2), participant("b", 2));
+
+        pick(state, "a", "p1");
+        pick(state, "b", "p2");
+
+        // Index mod alınmaz; $max ile saklanan sıra geri gitmesin diye hep artar
+        assertThat(state.getCurrentPickIndex()).isEqualTo(2);
+        assertThat(state.currentUserId()).isEqualTo("a");
+    }
+
+    @Test
+    void skippedTurnMovesToTheNextUserWithoutAPick() {
+        RoomDraftState state = state(participant("a", 2), participant("b", 2), participant("c", 2));
+
+        state.skipTurn(state.nextPickIndex("a", 0));
+
+        assertThat(state.getCurrentPickIndex()).isEqualTo(1);
+        assertThat(state.currentUserId()).isEqualTo("b");
+        assertThat(state.rosterOf("a")).isEmpty();
+        assertThat(state.getPickCount()).isZero();
+    }
+
+    @Test
+    void skipOfTheLastUserWrapsAroundAndSkipsFullRosters() {
+        RoomDraftState state = state(participant("a", 1), participant("b", 2), participant("c", 2));
+        pick(state, "a", "p1");
+        pick(state, "b", "p2");
+
+        state.skipTurn(state.nextPickIndex("c", 0));
+
+        // a'nın kadrosu dolu: c'den sonra b gelir
+        assertThat(state.getCurrentPickIndex()).isEqualTo(4);
+        assertThat(state.currentUserId()).isEqualTo("b");
+    }
+
+    @Test
+    void forfeitShrinksTheLimitAndRemovesTheUserFromLaterTurns() {
+        RoomDraftState state = state(participant("a", 2), participant("b", 2), participant("c", 2));
+        pick(state, "a", "p1");
+
+        state.forfeit("b");
+        state.skipTurn(state.nextPickIndex("b", 0));
+
+        assertThat(state.getRosterLimits()).containsEntry("b", 0);
+        assertThat(state.getTotalPicksNeeded()).isEqualTo(4);
+        assertThat(state.picksLeft("b")).isZero();
+        assertThat(state.currentUserId()).isEqualTo("c");
+
+        pick(state, "c", "p2");
+        assertThat(state.currentUserId()).isEqualTo("a");
+    }
+
+    @Test
+    void forfeitOfTheLastOpenRosterCompletesTheDraft() {
+        RoomDraftState state = state(participant("a", 1), participant("b", 2));
+        pick(state, "a", "p1");
+        pick(state, "b", "p2");
+
+        state.forfeit("b");
+
+        assertThat(state.isComplete()).isTrue();
+        assertThat(state.getStatus()).isEqualTo(RoomStatus.DONE);
+        assertThat(state.rosterOf("b")).containsExactly("p2");
+    }
+
+    @Test
+    void stateIsRestoredFromPersistedRosters() {
+        RoomParticipant a = participant("a", 2);
+        a.getSelectedPlayerIds().add("p1");
+        Room room = room(List.of("a", "b"));
+        room.setCurrentPickIndex(1);
+
+        RoomDraftState state = new RoomDraftState(room, List.of(a, participant("b", 2)));
+
+        assertThat(state.getPickCount()).isEqualTo(1);
+        assertThat(state.isPicked("p1")).isTrue();
+        assertThat(state.currentUserId()).isEqualTo("b");
+    }
+
+    private static void pick(RoomDraftState state, String userId, String playerId) {
+        assertThat(state.currentUserId()).isEqualTo(userId);
+        state.applyPick(userId, playerId, state.nextPickIndex(userId, 1));
+    }
+
+    private static RoomDraftState state(RoomParticipant... participants) {
+        List<String> order = new ArrayList<>();
+        for (RoomParticipant p : participants) {
+            order.add(p.getUserId());
+        }
+        return new RoomDraftState(room(order), List.of(participants));
+    }
+
+    private static Room room(List<String> pickOrder) {
+        return Room.builder()
+                .id("room-1")
+                .status(RoomStatus.DRAFTING)
+                .formation("4-3-3")
+                .pickOrder(new ArrayList<>(pickOrder))
+                .build();
+    }
+
+    private static RoomParticipant participant(String userId, int rosterSizeLimit) {
+        return RoomParticipant.builder()
+                .id("participant-" + userId)
+                .roomId("room-1")
+                .userId(userId)
+                .rosterSizeLimit(rosterSizeLimit)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.roulettedraft.service;
+
+import com.roulettedraft.websocket.EncodedFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomEventLogTest {
+    private static final String EPOCH = "e1";
+
+    @Test
+    void replaysEverythingAfterTheLastSeenSeq() {
+        RoomEventLog log = logWith(EPOCH, 1, 2, 3, 4);
+
+        assertThat(types(log.since(EPOCH, 2))).containsExactly("3", "4");
+        assertThat(types(log.since(EPOCH, 0))).containsExactly("1", "2", "3", "4");
+        assertThat(log.since(EPOCH, 4)).isEmpty();
+    }
+
+    @Test
+    void clientAheadOfTheRoomGetsNoReplay() {
+        RoomEventLog log = logWith(EPOCH, 1, 2);
+
+        assertThat(log.since(EPOCH, 3)).isNull();
+    }
+
+    @Test
+    void duplicateEventsAreIgnored() {
+        RoomEventLog log = logWith(EPOCH, 1, 2);
+        log.append(EPOCH, 2, frame(99));
+
+        assertThat(types(log.since(EPOCH, 1))).containsExactly("2");
+    }
+
+    @Test
+    void gapRestartsTheBufferSoNoReplaySkipsAnEvent() {
+        RoomEventLog log = logWith(EPOCH, 1, 2, 3);
+        log.append(EPOCH, 5, frame(5)); // 4 bus'ta kayboldu
+        log.append(EPOCH, 6, frame(6));
+
+        // 4'ü tutmayan bir replay eksik olurdu: 2 veya 3'ten devam edemez
+        assertThat(log.since(EPOCH, 2)).isNull();
+        assertThat(log.since(EPOCH, 3)).isNull();
+        assertThat(types(log.since(EPOCH, 5))).containsExactly("6");
+        assertThat(log.since(EPOCH, 6)).isEmpty();
+        assertThat(log.lastSeq()).isEqualTo(6);
+    }
+
+    @Test
+    void newEpochRestartsTheBuffer() {
+        RoomEventLog log = logWith(EPOCH, 1, 2, 3);
+        log.append("e2", 1, frame(1));
+        log.append("e2", 2, frame(2));
+
+        // Eski epoch'taki pozisyon yeni numaralandırmada anlamsız
+        assertThat(log.since(EPOCH, 3)).isNull();
+        assertThat(log.since(EPOCH, 1)).isNull();
+        assertThat(types(log.since("e2", 0))).containsExactly("1", "2");
+        assertThat(types(log.since("e2", 1))).containsExactly("2");
+    }
+
+    @Test
+    void lowerSeqInANewEpochIsNotTreatedAsADuplicate() {
+        RoomEventLog log = logWith(EPOCH, 1, 2, 3, 4, 5);
+        log.append("e2", 1, frame(1));
+
+        assertThat(log.lastSeq()).isEqualTo(1);
+        assertThat(types(log.since("e2", 0))).containsExactly("1");
+    }
+
+    @Test
+    void positionsThatFellOutOfTheRingAreNotReplayed() {
+        RoomEventLog log = new RoomEventLog(3);
+        for (long seq = 1; seq <= 5; seq++) {
+            log.append(EPOCH, seq, frame(seq));
+        }
+
+        assertThat(log.since(EPOCH, 1)).isNull();
+        assertThat(types(log.since(EPOCH, 2))).containsExactly("3", "4", "5");
+    }
+
+    @Test
+    void resumesRepeatedlyAsNewEventsArrive() {
+        RoomEventLog log = logWith(EPOCH, 1, 2);
+        List<EncodedFrame> first = log.since(EPOCH, 1);
+
+        log.append(EPOCH, 3, frame(3));
+        log.append(EPOCH, 4, frame(4));
+
+        assertThat(types(first)).containsExactly("2");
+        assertThat(types(log.since(EPOCH, 2))).containsExactly("3", "4");
+    }
+
+    private static RoomEventLog logWith(String epoch, long... seqs) {
+        RoomEventLog log = new RoomEventLog(16);
+        for (long seq : seqs) {
+            log.append(epoch, seq, frame(seq));
+        }
+        return log;
+    }
+
+    // Frame tipi olarak seq taşınır; replay'in hangi event'leri döndürdüğü buradan okunur
+    private static EncodedFrame frame(long seq) {
+        return new EncodedFrame(String.valueOf(seq), "{\"seq\":" + seq + "}");
+    }
+
+    private static List<String> types(List<EncodedFrame> frames) {
+        assertThat(frames).isNotNull();
+        return frames.stream().map(EncodedFrame::getType).toList();
+    }
+}
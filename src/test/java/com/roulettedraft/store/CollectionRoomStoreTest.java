@@ -0,0 +1,110 @@
+package com.roulettedraft.store;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.roulettedraft.domain.model.DraftPick;
+import com.roulettedraft.domain.model.Room;
+import com.roulettedraft.domain.model.RoomParticipant;
+import com.roulettedraft.repository.RoomParticipantRepository;
+import com.roulettedraft.repository.RoomRepository;
+import com.roulettedraft.service.PickRecord;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CollectionRoomStoreTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations inserts = mock(BulkOperations.class);
+    private final BulkOperations participants = mock(BulkOperations.class);
+    private final BulkOperations rooms = mock(BulkOperations.class);
+    private final CollectionRoomStore store = new CollectionRoomStore(
+            mock(RoomRepository.class), mock(RoomParticipantRepository.class), mongoTemplate);
+
+    @BeforeEach
+    void bulkOperations() {
+        when(mongoTemplate.bulkOps(any(), eq(DraftPick.class))).thenReturn(inserts);
+        when(mongoTemplate.bulkOps(any(), eq(RoomParticipant.class))).thenReturn(participants);
+        when(mongoTemplate.bulkOps(any(), eq(Room.class))).thenReturn(rooms);
+    }
+
+    @Test
+    void mapsBulkInsertErrorsToTheirRecordsAndProjectsOnlyCommittedPicks() {
+        when(inserts.execute()).thenThrow(bulkFailure(
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1),
+                new BulkWriteError(121, "Document failed validation", new BsonDocument(), 2)));
+        when(mongoTemplate.find(any(Query.class), eq(DraftPick.class))).thenReturn(List.of());
+
+        List<RuntimeException> errors = store.writePicks(List.of(
+                record("pick-1", "room-1"), record("pick-2", "room-2"),
+                record("pick-3", "room-3"), record("pick-4", "room-4")));
+
+        assertThat(errors.get(0)).isNull();
+        assertThat(errors.get(1)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(errors.get(2)).isNotInstanceOf(DuplicateKeyException.class)
+                .hasMessage("Document failed validation");
+        assertThat(errors.get(3)).isNull();
+        verify(participants, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(rooms, times(2)).updateOne(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void failedInsertThatWasStoredCountsAsCommitted() {
+        when(inserts.execute()).thenThrow(new IllegalStateException("socket timeout"));
+        when(mongoTemplate.find(any(Query.class), eq(DraftPick.class)))
+                .thenReturn(List.of(DraftPick.builder().id("pick-1").build()));
+
+        List<RuntimeException> errors = store.writePicks(List.of(record("pick-1", "room-1"), record("pick-2", "room-2")));
+
+        // Cevap kayboldu ama pick-1 yazılmış; pick-2 gerçekten yazılamadı
+        assertThat(errors.get(0)).isNull();
+        assertThat(errors.get(1)).hasMessage("socket timeout");
+        verify(participants, times(1)).updateOne(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void batchWithoutCommittedPicksSkipsTheProjections() {
+        when(inserts.execute()).thenThrow(bulkFailure(
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 0)));
+        when(mongoTemplate.find(any(Query.class), eq(DraftPick.class))).thenReturn(List.of());
+
+        List<RuntimeException> errors = store.writePicks(List.of(record("pick-1", "room-1")));
+
+        assertThat(errors.get(0)).isInstanceOf(DuplicateKeyException.class);
+        verify(mongoTemplate, never()).bulkOps(any(), eq(RoomParticipant.class));
+        verify(inserts).insert(anyList());
+    }
+
+    private static BulkOperationException bulkFailure(BulkWriteError... errors) {
+        return new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), List.of(errors), null, new ServerAddress(), Set.of()));
+    }
+
+    private static PickRecord record(String pickId, String roomId) {
+        return PickRecord.builder()
+                .pick(DraftPick.builder().id(pickId).roomId(roomId).userId("user-1").playerId("player-" + pickId).build())
+                .participantId("participant-" + roomId)
+                .nextPickIndex(1)
+                .build();
+    }
+}